@@ -0,0 +1,171 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Generated inputs of benchmarks. Each corpus is about {@code TARGET_SIZE} bytes and is generated
+ * with fixed seed, so all runs and all versions of parser read the same json.
+ */
+public enum Corpus {
+    /**
+     * Arrays of integers, longs and doubles.
+     */
+    NUMERIC {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append("{\"series\":[");
+            for (int i = 0; sb.length() < TARGET_SIZE; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"id\":").append(i)
+                        .append(",\"timestamp\":").append(1_600_000_000_000L + random.nextInt(1_000_000))
+                        .append(",\"values\":[");
+                for (int j = 0; j < 16; j++) {
+                    if (j > 0) {
+                        sb.append(',');
+                    }
+                    sb.append(random.nextDouble() * 1000);
+                }
+                sb.append("],\"counts\":[");
+                for (int j = 0; j < 16; j++) {
+                    if (j > 0) {
+                        sb.append(',');
+                    }
+                    sb.append(random.nextInt(100_000) - 50_000);
+                }
+                sb.append("]}");
+            }
+            sb.append("]}");
+        }
+    },
+
+    /**
+     * Objects with long text, escape sequences and non-ASCII characters.
+     */
+    STRINGS {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append('[');
+            for (int i = 0; sb.length() < TARGET_SIZE; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"title\":\"").append(text(random, 40))
+                        .append("\",\"body\":\"").append(text(random, 400))
+                        .append("\",\"author\":\"Пользователь ").append(i)
+                        .append("\",\"url\":\"https:\\/\\/example.com\\/posts\\/").append(i)
+                        .append("\"}");
+            }
+            sb.append(']');
+        }
+    },
+
+    /**
+     * Deeply nested objects and arrays.
+     */
+    NESTED {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append('[');
+            for (int i = 0; sb.length() < TARGET_SIZE; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendNested(sb, random, 0);
+            }
+            sb.append(']');
+        }
+
+        private void appendNested(StringBuilder sb, Random random, int depth) {
+            if (depth == NESTING_DEPTH) {
+                sb.append(random.nextInt(1000));
+                return;
+            }
+            if (depth % 2 == 0) {
+                sb.append("{\"level\":").append(depth).append(",\"child\":");
+                appendNested(sb, random, depth + 1);
+                sb.append('}');
+            } else {
+                sb.append("[true,null,");
+                appendNested(sb, random, depth + 1);
+                sb.append(']');
+            }
+        }
+    },
+
+    /**
+     * Single object with many keys.
+     */
+    WIDE {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            sb.append('{');
+            for (int i = 0; sb.length() < TARGET_SIZE; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("\"property_").append(i).append("\":");
+                switch (i % 4) {
+                    case 0 -> sb.append(random.nextInt());
+                    case 1 -> sb.append('"').append(text(random, 12)).append('"');
+                    case 2 -> sb.append(random.nextBoolean());
+                    default -> sb.append("null");
+                }
+            }
+            sb.append('}');
+        }
+    },
+
+    /**
+     * Newline-delimited records of events.
+     */
+    NDJSON {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            for (int i = 0; sb.length() < TARGET_SIZE; i++) {
+                sb.append("{\"event\":\"").append(EVENTS[random.nextInt(EVENTS.length)])
+                        .append("\",\"user\":").append(random.nextInt(1_000_000))
+                        .append(",\"duration\":").append(random.nextDouble() * 10)
+                        .append(",\"tags\":[\"").append(text(random, 6)).append("\",\"").append(text(random, 6))
+                        .append("\"],\"ok\":").append(random.nextBoolean())
+                        .append("}\n");
+            }
+        }
+    };
+
+    static final int TARGET_SIZE = 256 * 1024;
+
+    private static final int NESTING_DEPTH = 64;
+    private static final String[] EVENTS = {"click", "view", "purchase", "login", "logout"};
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz    .,";
+
+    abstract void append(StringBuilder sb, Random random);
+
+    /**
+     * @return json in UTF-8.
+     */
+    public byte[] generate() {
+        var sb = new StringBuilder(TARGET_SIZE + 1024);
+        append(sb, new Random(42));
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(Random random, int length) {
+        var sb = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(50);
+            if (kind == 0) {
+                sb.append("\\n");
+            } else if (kind == 1) {
+                sb.append("\\\"");
+            } else if (kind == 2) {
+                sb.append("é");
+            } else {
+                sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+        }
+        return sb.toString();
+    }
+}
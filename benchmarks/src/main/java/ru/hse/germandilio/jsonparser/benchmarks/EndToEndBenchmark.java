@@ -0,0 +1,63 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+import ru.hse.germandilio.jsonparser.parsing.parser.StructuralParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing by public entry points of {@code JsonParser}, from input to model.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    @Param({"NUMERIC", "STRINGS", "NESTED", "WIDE"})
+    public Corpus corpus;
+
+    private byte[] bytes;
+    private String string;
+
+    @Setup
+    public void setUp() {
+        bytes = corpus.generate();
+        string = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object fromString() throws IOException {
+        return JsonParser.fromJSON(string);
+    }
+
+    @Benchmark
+    public Object fromBytes() throws IOException {
+        return JsonParser.fromJSON(bytes);
+    }
+
+    @Benchmark
+    public Object fromStream() throws IOException {
+        return JsonParser.fromJSON(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public Object structural() throws IOException {
+        return new StructuralParser().parse(bytes);
+    }
+}
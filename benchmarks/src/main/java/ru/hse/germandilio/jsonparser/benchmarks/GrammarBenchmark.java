@@ -0,0 +1,59 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.germandilio.jsonparser.parsing.parser.GrammarAnalizer;
+import ru.hse.germandilio.jsonparser.parsing.parser.LexicalAnalyzer;
+import ru.hse.germandilio.jsonparser.parsing.parser.Utf8Wrapper;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenSequence;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of model by {@code GrammarAnalizer}: together with lexing and from prepared tokens.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GrammarBenchmark {
+    @Param({"NUMERIC", "STRINGS", "NESTED", "WIDE"})
+    public Corpus corpus;
+
+    private byte[] bytes;
+    private TokenSequence tokens;
+
+    @Setup
+    public void setUp() throws IOException {
+        bytes = corpus.generate();
+        tokens = new LexicalAnalyzer(new Utf8Wrapper(bytes)).convertToTokens();
+    }
+
+    /**
+     * Lexing and grammar in single pass.
+     */
+    @Benchmark
+    public Object lexerAndGrammar() throws IOException {
+        return new GrammarAnalizer().parse(new LexicalAnalyzer(new Utf8Wrapper(bytes)));
+    }
+
+    /**
+     * Grammar only, over tokens lexed in setup.
+     */
+    @Benchmark
+    public Object grammar() throws IOException {
+        return new GrammarAnalizer().parse(tokens);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.hse.germandilio.jsonparser.parsing.parser.LexicalAnalyzer;
+import ru.hse.germandilio.jsonparser.parsing.parser.Utf8Wrapper;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenSequence;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexing only: tokens are taken from {@code LexicalAnalyzer} and dropped.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LexerBenchmark {
+    @Param({"NUMERIC", "STRINGS", "NESTED", "WIDE", "NDJSON"})
+    public Corpus corpus;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = corpus.generate();
+    }
+
+    /**
+     * Tokens by cursor, without creating {@code Token} objects.
+     */
+    @Benchmark
+    public void cursor(Blackhole blackhole) throws IOException {
+        var lexer = new LexicalAnalyzer(new Utf8Wrapper(bytes));
+        TokenType type;
+        while ((type = lexer.advance()) != TokenType.END_DOCUMENT) {
+            blackhole.consume(type);
+        }
+    }
+
+    /**
+     * Tokens with text, collected to sequence.
+     */
+    @Benchmark
+    public TokenSequence tokenSequence() throws IOException {
+        return new LexicalAnalyzer(new Utf8Wrapper(bytes)).convertToTokens();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.hse.germandilio.jsonparser.parsing.parser.NdjsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Parsing of newline-delimited records.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class NdjsonBenchmark {
+    private byte[] bytes;
+    private NdjsonParser parser;
+
+    @Setup
+    public void setUp() {
+        bytes = Corpus.NDJSON.generate();
+        parser = new NdjsonParser();
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        try (Stream<Object> records = parser.stream(new ByteArrayInputStream(bytes))) {
+            records.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void batches(Blackhole blackhole) throws IOException {
+        parser.forEachBatch(new ByteArrayInputStream(bytes), 1000, blackhole::consume);
+    }
+}
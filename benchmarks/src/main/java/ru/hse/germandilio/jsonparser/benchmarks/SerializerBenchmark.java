@@ -0,0 +1,68 @@
+package ru.hse.germandilio.jsonparser.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+import ru.hse.germandilio.jsonparser.utils.JsonDisplayUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of parsed model to json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializerBenchmark {
+    @Param({"NUMERIC", "STRINGS", "NESTED", "WIDE"})
+    public Corpus corpus;
+
+    private Object json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = JsonParser.fromJSON(corpus.generate());
+    }
+
+    @Benchmark
+    public String toJson() {
+        return json instanceof JsonObject object
+                ? JsonDisplayUtils.convertToString(object)
+                : JsonDisplayUtils.convertToString((JsonArray) json);
+    }
+
+    @Benchmark
+    public String toCompactJson() {
+        return json instanceof JsonObject object
+                ? JsonDisplayUtils.convertToCompactString(object)
+                : JsonDisplayUtils.convertToCompactString((JsonArray) json);
+    }
+
+    /**
+     * Writing to stream in UTF-8 without building {@code String}.
+     */
+    @Benchmark
+    public void toStream() throws IOException {
+        if (json instanceof JsonObject object) {
+            JsonParser.toJson(object, OutputStream.nullOutputStream());
+        } else {
+            JsonParser.toJson((JsonArray) json, OutputStream.nullOutputStream());
+        }
+    }
+}
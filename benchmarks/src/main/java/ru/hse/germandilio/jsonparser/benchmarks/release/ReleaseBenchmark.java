@@ -0,0 +1,78 @@
+package ru.hse.germandilio.jsonparser.benchmarks.release;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.germandilio.jsonparser.benchmarks.Corpus;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.GrammarAnalizer;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+import ru.hse.germandilio.jsonparser.parsing.parser.LexicalAnalyzer;
+import ru.hse.germandilio.jsonparser.parsing.parser.ReaderWrapper;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenSequence;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suite for comparison of releases. It uses only API of the first release (v1.0): {@code fromJSON(String)},
+ * {@code LexicalAnalyzer} over {@code ReaderWrapper}, {@code GrammarAnalizer.parse(TokenSequence)} and
+ * {@code toJson}, so it's compiled against any version by profile {@code release}. Corpora are only ones
+ * without escape sequences, lexer of v1.0 fails on them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReleaseBenchmark {
+    @Param({"NUMERIC", "NESTED"})
+    public Corpus corpus;
+
+    private String string;
+    private TokenSequence tokens;
+    private Object json;
+
+    @Setup
+    public void setUp() throws Exception {
+        string = new String(corpus.generate(), StandardCharsets.UTF_8);
+        tokens = new LexicalAnalyzer(new ReaderWrapper(new StringReader(string))).convertToTokens();
+        json = JsonParser.fromJSON(string);
+    }
+
+    @Benchmark
+    public Object fromJSON() throws Exception {
+        return JsonParser.fromJSON(string);
+    }
+
+    @Benchmark
+    public TokenSequence lexer() throws Exception {
+        return new LexicalAnalyzer(new ReaderWrapper(new StringReader(string))).convertToTokens();
+    }
+
+    /**
+     * Grammar only, over tokens lexed in setup.
+     */
+    @Benchmark
+    public Object grammar() throws Exception {
+        return new GrammarAnalizer().parse(tokens);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return json instanceof JsonObject object
+                ? JsonParser.toJson(object)
+                : JsonParser.toJson((JsonArray) json);
+    }
+}
@@ -0,0 +1,241 @@
+package ru.hse.germandilio.jsonparser.binary;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reader of binary format from absolute positions of buffer. Position of buffer isn't changed,
+ * so several cursors can read one buffer at once. Each read is checked against limit of buffer,
+ * so truncated or damaged document fails with {@code JSONParseException}.
+ */
+final class BinaryCursor {
+    private static final int INITIAL_DEPTH = 16;
+
+    private final ByteBuffer buffer;
+    private final String[] keys;
+    private final int limit;
+    int position;
+
+    BinaryCursor(ByteBuffer buffer, String[] keys, int position) {
+        this.buffer = buffer;
+        this.keys = keys;
+        this.position = position;
+        limit = buffer.limit();
+    }
+
+    byte readByte() {
+        require(1);
+        return buffer.get(position++);
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if (current >= 0) {
+                return value;
+            }
+        }
+        throw new JSONParseException("Invalid binary json: varint is too long");
+    }
+
+    int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new JSONParseException("Invalid binary json: length " + length);
+        }
+        return (int) length;
+    }
+
+    String readKey() {
+        int index = readLength();
+        if (index >= keys.length) {
+            throw new JSONParseException("Invalid binary json: key index " + index);
+        }
+        return keys[index];
+    }
+
+    String readString() {
+        int length = readLength();
+        require(length);
+        String text;
+        if (buffer.hasArray()) {
+            text = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            var bytes = new byte[length];
+            buffer.get(position, bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        position += length;
+        return text;
+    }
+
+    double readDouble() {
+        require(Double.BYTES);
+        double value = buffer.getDouble(position);
+        position += Double.BYTES;
+        return value;
+    }
+
+    BigInteger readBigInteger() {
+        int length = readLength();
+        if (length == 0) {
+            throw new JSONParseException("Invalid binary json: number without bytes");
+        }
+        require(length);
+        var bytes = new byte[length];
+        buffer.get(position, bytes);
+        position += bytes.length;
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Skip value, content of containers is skipped by its size.
+     */
+    void skipValue() {
+        byte tag = readByte();
+        switch (tag) {
+            case BinaryFormat.NULL, BinaryFormat.FALSE, BinaryFormat.TRUE -> {
+            }
+            case BinaryFormat.INT, BinaryFormat.LONG -> readVarint();
+            case BinaryFormat.DOUBLE -> {
+                require(Double.BYTES);
+                position += Double.BYTES;
+            }
+            case BinaryFormat.BIG_DECIMAL -> {
+                readVarint();
+                skipBytes();
+            }
+            case BinaryFormat.BIG_INTEGER, BinaryFormat.STRING, BinaryFormat.OBJECT, BinaryFormat.ARRAY -> skipBytes();
+            default -> throw unknownTag(tag);
+        }
+    }
+
+    /**
+     * Decode value with all nested values. Nested containers are kept in explicit stack instead of recursion,
+     * so depth of document doesn't depend on size of thread stack.
+     *
+     * @return {@code JsonObject}, {@code JsonArray}, {@code String}, number, {@code Boolean} or null.
+     */
+    Object readValue() {
+        byte tag = readByte();
+        if (tag != BinaryFormat.OBJECT && tag != BinaryFormat.ARRAY) {
+            return readScalar(tag);
+        }
+
+        // open containers, their keys in parent and count of their entries left to read
+        Object[] parents = new Object[INITIAL_DEPTH];
+        String[] parentKeys = new String[INITIAL_DEPTH];
+        int[] parentCounts = new int[INITIAL_DEPTH];
+        int depth = 0;
+
+        Object container = openContainer(tag);
+        int count = readLength();
+        while (true) {
+            while (count > 0) {
+                --count;
+                String key = container instanceof JsonObject ? readKey() : null;
+                tag = readByte();
+                if (tag != BinaryFormat.OBJECT && tag != BinaryFormat.ARRAY) {
+                    add(container, key, readScalar(tag));
+                    continue;
+                }
+                if (depth == parents.length) {
+                    parents = Arrays.copyOf(parents, depth * 2);
+                    parentKeys = Arrays.copyOf(parentKeys, depth * 2);
+                    parentCounts = Arrays.copyOf(parentCounts, depth * 2);
+                }
+                parents[depth] = container;
+                parentKeys[depth] = key;
+                parentCounts[depth] = count;
+                ++depth;
+                container = openContainer(tag);
+                count = readLength();
+            }
+
+            if (depth == 0) {
+                return container;
+            }
+            // continue parent container
+            --depth;
+            Object finished = container;
+            container = parents[depth];
+            count = parentCounts[depth];
+            add(container, parentKeys[depth], finished);
+        }
+    }
+
+    private Object readScalar(byte tag) {
+        switch (tag) {
+            case BinaryFormat.NULL:
+                return null;
+            case BinaryFormat.FALSE:
+                return Boolean.FALSE;
+            case BinaryFormat.TRUE:
+                return Boolean.TRUE;
+            case BinaryFormat.INT:
+                return (int) BinaryFormat.unzigzag(readVarint());
+            case BinaryFormat.LONG:
+                return BinaryFormat.unzigzag(readVarint());
+            case BinaryFormat.DOUBLE:
+                return readDouble();
+            case BinaryFormat.BIG_INTEGER:
+                return readBigInteger();
+            case BinaryFormat.BIG_DECIMAL:
+                int scale = (int) BinaryFormat.unzigzag(readVarint());
+                return new BigDecimal(readBigInteger(), scale);
+            case BinaryFormat.STRING:
+                return readString();
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    /**
+     * @return empty container, cursor is moved to count of its entries or elements.
+     */
+    private Object openContainer(byte tag) {
+        // size is needed only for skipping, but content shouldn't be longer than document
+        require(readLength());
+        return tag == BinaryFormat.OBJECT ? new JsonObject() : new JsonArray();
+    }
+
+    private static void add(Object container, String key, Object value) {
+        if (container instanceof JsonObject object) {
+            object.put(key, value);
+        } else {
+            ((JsonArray) container).add(value);
+        }
+    }
+
+    static JSONParseException unknownTag(byte tag) {
+        return new JSONParseException("Invalid binary json: unknown tag " + tag);
+    }
+
+    static JSONParseException truncated() {
+        return new JSONParseException("Invalid binary json: unexpected end of document");
+    }
+
+    /**
+     * @throws JSONParseException buffer has less than {@code count} bytes after position.
+     */
+    private void require(int count) {
+        if (count > limit - position) {
+            throw truncated();
+        }
+    }
+
+    private void skipBytes() {
+        int length = readLength();
+        require(length);
+        position += length;
+    }
+}
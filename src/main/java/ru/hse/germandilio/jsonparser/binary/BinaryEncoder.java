@@ -0,0 +1,318 @@
+package ru.hse.germandilio.jsonparser.binary;
+
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming encoder of {@code JsonObject}, {@code JsonArray} and their values to binary format of {@code BinaryFormat}.
+ * Document is encoded by two passes over tree: first pass collects distinct keys and sizes of containers,
+ * second pass writes bytes through one reusable buffer, so output isn't kept in memory.
+ * Extra memory is table of keys and one int for each container and each entry of objects.
+ * Encoder isn't thread-safe, it can be reused for several documents.
+ */
+public final class BinaryEncoder implements Flushable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final OutputStream stream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+
+    // state of current document
+    private final Map<String, Integer> keyIndexes = new HashMap<>();
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int keyCount;
+    /**
+     * Size of content of each container in order of first pass.
+     */
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    private int containerCount;
+    /**
+     * Index of key of each entry in order of first pass.
+     */
+    private int[] keyReferences = new int[INITIAL_CAPACITY];
+    private int entryCount;
+
+    public BinaryEncoder(OutputStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Encode value to byte array.
+     *
+     * @param value {@code JsonObject}, {@code JsonArray}, {@code String}, number, {@code Boolean} or null.
+     * @return encoded document.
+     * @throws SerializationException type of value isn't supported.
+     */
+    public static byte[] toBytes(Object value) {
+        var output = new ByteArrayOutputStream();
+        try {
+            new BinaryEncoder(output).encode(value).flush();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode value", e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Write document with {@code value} and all nested values. Output isn't flushed.
+     *
+     * @param value {@code JsonObject}, {@code JsonArray}, {@code String}, number, {@code Boolean} or null.
+     * @return this encoder.
+     * @throws IOException Cannot write to output.
+     * @throws SerializationException type of value isn't supported.
+     */
+    public BinaryEncoder encode(Object value) throws IOException {
+        keyCount = 0;
+        containerCount = 0;
+        entryCount = 0;
+        try {
+            measure(value);
+
+            writeByte(BinaryFormat.MAGIC_FIRST);
+            writeByte(BinaryFormat.MAGIC_SECOND);
+            writeByte(BinaryFormat.VERSION);
+            writeVarint(keyCount);
+            for (int i = 0; i < keyCount; i++) {
+                writeString(keys[i]);
+            }
+
+            containerCount = 0;
+            entryCount = 0;
+            writeValue(value);
+        } finally {
+            // keys of document aren't kept by reused encoder
+            Arrays.fill(keys, 0, keyCount, null);
+            keyIndexes.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Write buffered bytes to output and flush it.
+     *
+     * @throws IOException Cannot write to output.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        stream.flush();
+    }
+
+    /**
+     * First pass: registers keys and sizes of containers.
+     *
+     * @return size of encoded value in bytes.
+     */
+    private int measure(Object value) {
+        if (value instanceof JsonObject object) {
+            int container = reserveContainer();
+            int size = BinaryFormat.varintSize(object.size());
+            for (int i = 0; i < object.size(); i++) {
+                int key = keyIndex(object.getKey(i));
+                size += BinaryFormat.varintSize(key) + measure(object.getValue(i));
+            }
+            sizes[container] = size;
+            return 1 + BinaryFormat.varintSize(size) + size;
+        }
+        if (value instanceof JsonArray array) {
+            int container = reserveContainer();
+            int size = BinaryFormat.varintSize(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                size += measure(array.get(i));
+            }
+            sizes[container] = size;
+            return 1 + BinaryFormat.varintSize(size) + size;
+        }
+        if (value instanceof String string) {
+            int length = BinaryFormat.utf8Length(string);
+            return 1 + BinaryFormat.varintSize(length) + length;
+        }
+        if (value == null || value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return 1 + BinaryFormat.varintSize(BinaryFormat.zigzag(((Number) value).longValue()));
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return 1 + Long.BYTES;
+        }
+        if (value instanceof BigInteger integer) {
+            int length = integer.bitLength() / 8 + 1;
+            return 1 + BinaryFormat.varintSize(length) + length;
+        }
+        if (value instanceof BigDecimal decimal) {
+            int length = decimal.unscaledValue().bitLength() / 8 + 1;
+            return 1 + BinaryFormat.varintSize(BinaryFormat.zigzag(decimal.scale()))
+                    + BinaryFormat.varintSize(length) + length;
+        }
+        throw new SerializationException("Unsupported type of value: " + value.getClass().getName());
+    }
+
+    private int reserveContainer() {
+        if (containerCount == sizes.length) {
+            sizes = Arrays.copyOf(sizes, containerCount * 2);
+        }
+        return containerCount++;
+    }
+
+    private int keyIndex(String key) {
+        if (key == null) {
+            throw new SerializationException("Key of object is null");
+        }
+        Integer index = keyIndexes.get(key);
+        if (index == null) {
+            index = keyCount;
+            keyIndexes.put(key, index);
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keyCount * 2);
+            }
+            keys[keyCount++] = key;
+        }
+
+        if (entryCount == keyReferences.length) {
+            keyReferences = Arrays.copyOf(keyReferences, entryCount * 2);
+        }
+        keyReferences[entryCount++] = index;
+        return index;
+    }
+
+    /**
+     * Second pass: writes value by keys and sizes of first pass.
+     */
+    private void writeValue(Object value) throws IOException {
+        if (value instanceof JsonObject object) {
+            writeByte(BinaryFormat.OBJECT);
+            writeVarint(sizes[containerCount++]);
+            writeVarint(object.size());
+            for (int i = 0; i < object.size(); i++) {
+                writeVarint(keyReferences[entryCount++]);
+                writeValue(object.getValue(i));
+            }
+        } else if (value instanceof JsonArray array) {
+            writeByte(BinaryFormat.ARRAY);
+            writeVarint(sizes[containerCount++]);
+            writeVarint(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                writeValue(array.get(i));
+            }
+        } else if (value instanceof String string) {
+            writeByte(BinaryFormat.STRING);
+            writeString(string);
+        } else if (value == null) {
+            writeByte(BinaryFormat.NULL);
+        } else if (value instanceof Boolean bool) {
+            writeByte(bool ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+        } else if (value instanceof Long number) {
+            writeByte(BinaryFormat.LONG);
+            writeVarint(BinaryFormat.zigzag(number));
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeByte(BinaryFormat.INT);
+            writeVarint(BinaryFormat.zigzag(((Number) value).longValue()));
+        } else if (value instanceof Double || value instanceof Float) {
+            writeByte(BinaryFormat.DOUBLE);
+            writeLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof BigInteger integer) {
+            writeByte(BinaryFormat.BIG_INTEGER);
+            writeBytes(integer.toByteArray());
+        } else {
+            var decimal = (BigDecimal) value;
+            writeByte(BinaryFormat.BIG_DECIMAL);
+            writeVarint(BinaryFormat.zigzag(decimal.scale()));
+            writeBytes(decimal.unscaledValue().toByteArray());
+        }
+    }
+
+    private void writeString(String text) throws IOException {
+        writeVarint(BinaryFormat.utf8Length(text));
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                writeByte(ch);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(ch, text.charAt(++i)));
+            } else {
+                // unpaired surrogate is replaced, as String.getBytes does
+                writeCodePoint(Character.isSurrogate(ch) ? '?' : ch);
+            }
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        if (count + 4 > buffer.length) {
+            flushBuffer();
+        }
+        if (codePoint < 0x80) {
+            buffer[count++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[count++] = (byte) (0xC0 | codePoint >> 6);
+            buffer[count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            buffer[count++] = (byte) (0xE0 | codePoint >> 12);
+            buffer[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            buffer[count++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            buffer[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[count++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        writeVarint(bytes.length);
+        if (bytes.length > buffer.length - count) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                stream.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        if (count + 10 > buffer.length) {
+            flushBuffer();
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (count + Long.BYTES > buffer.length) {
+            flushBuffer();
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[count++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void flushBuffer() throws IOException {
+        stream.write(buffer, 0, count);
+        count = 0;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.hse.germandilio.jsonparser.binary;
+
+/**
+ * Binary encoding of {@code JsonObject}, {@code JsonArray} and their values.
+ * <p>
+ * Document: magic bytes "JB", version, table of keys and root value.
+ * Table of keys is count of distinct keys and each key in order of first use as length and UTF-8 bytes.
+ * Keys in objects are indexes in table, so repeated key takes one or two bytes.
+ * <p>
+ * Value is tag byte followed by payload:
+ * <ul>
+ *     <li>NULL, FALSE, TRUE - no payload;</li>
+ *     <li>INT, LONG - zigzag varint;</li>
+ *     <li>DOUBLE - 8 bytes of IEEE 754 in big-endian order;</li>
+ *     <li>BIG_INTEGER - length and two's-complement bytes;</li>
+ *     <li>BIG_DECIMAL - zigzag varint scale, length and two's-complement bytes of unscaled value;</li>
+ *     <li>STRING - length and UTF-8 bytes;</li>
+ *     <li>OBJECT - size of content in bytes, count of entries, entries as index of key and value;</li>
+ *     <li>ARRAY - size of content in bytes, count of elements, elements.</li>
+ * </ul>
+ * Sizes, lengths, counts and indexes are unsigned varints: 7 bits per byte, lower bits first.
+ * Size of container lets reader skip it without reading its content.
+ */
+final class BinaryFormat {
+    static final byte MAGIC_FIRST = 'J';
+    static final byte MAGIC_SECOND = 'B';
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte BIG_INTEGER = 6;
+    static final byte BIG_DECIMAL = 7;
+    static final byte STRING = 8;
+    static final byte OBJECT = 9;
+    static final byte ARRAY = 10;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * @return number of bytes of unsigned varint.
+     */
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return number of bytes of {@code text} in UTF-8, unpaired surrogate takes one byte as String.getBytes does.
+     */
+    static int utf8Length(String text) {
+        int length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch >= 0x80) {
+                if (ch < 0x800) {
+                    length += 1;
+                } else if (Character.isHighSurrogate(ch) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // 4 bytes for 2 chars
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(ch)) {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,308 @@
+package ru.hse.germandilio.jsonparser.binary;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * View of value in binary format of {@code BinaryFormat}. Value is read from buffer on each call and nothing
+ * is decoded in advance, so field of large document is read without rebuilding tree: nested containers
+ * are skipped by their sizes. Whole value is decoded to {@code JsonObject} or {@code JsonArray} by {@code toValue}.
+ * Buffer isn't copied and shouldn't be changed while it's read. View is immutable and can be shared by threads.
+ * Damaged or truncated document fails with {@code JSONParseException} when invalid part of it is read.
+ */
+public final class BinaryValue {
+    /**
+     * Buffer and keys of document, shared by all views of it.
+     */
+    private static final class Document {
+        private final ByteBuffer buffer;
+        private final String[] keys;
+        private volatile Map<String, Integer> keyIndexes;
+
+        private Document(ByteBuffer buffer, String[] keys) {
+            this.buffer = buffer;
+            this.keys = keys;
+        }
+
+        /**
+         * @return index of key in table, -1 if document has no such key.
+         */
+        private int indexOf(String key) {
+            Map<String, Integer> indexes = keyIndexes;
+            if (indexes == null) {
+                // the same table can be built by several threads at once
+                indexes = new HashMap<>(keys.length * 2);
+                for (int i = 0; i < keys.length; i++) {
+                    indexes.put(keys[i], i);
+                }
+                keyIndexes = indexes;
+            }
+            Integer index = indexes.get(key);
+            return index == null ? -1 : index;
+        }
+    }
+
+    private final Document document;
+    /**
+     * Position of tag of value in buffer.
+     */
+    private final int position;
+
+    private BinaryValue(Document document, int position) {
+        this.document = document;
+        this.position = position;
+    }
+
+    /**
+     * Open document from remaining bytes of {@code buffer}. Only table of keys is read.
+     *
+     * @param buffer encoded document, its position isn't changed.
+     * @return view of root value.
+     * @throws JSONParseException buffer doesn't start with binary document.
+     */
+    public static BinaryValue of(ByteBuffer buffer) {
+        ByteBuffer input = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (input.remaining() < 3
+                || input.get(input.position()) != BinaryFormat.MAGIC_FIRST
+                || input.get(input.position() + 1) != BinaryFormat.MAGIC_SECOND) {
+            throw new JSONParseException("Invalid binary json: no header");
+        }
+        if (input.get(input.position() + 2) != BinaryFormat.VERSION) {
+            throw new JSONParseException("Unsupported version of binary json: " + input.get(input.position() + 2));
+        }
+
+        var cursor = new BinaryCursor(input, null, input.position() + 3);
+        int keyCount = cursor.readLength();
+        // each key takes at least one byte, so damaged count doesn't allocate huge table
+        if (keyCount > input.limit() - cursor.position) {
+            throw BinaryCursor.truncated();
+        }
+        var keys = new String[keyCount];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = cursor.readString();
+        }
+        return new BinaryValue(new Document(input, keys), cursor.position);
+    }
+
+    /**
+     * Open document from {@code bytes}.
+     *
+     * @see #of(ByteBuffer)
+     */
+    public static BinaryValue of(byte[] bytes) {
+        return of(ByteBuffer.wrap(bytes));
+    }
+
+    public boolean isObject() {
+        return tag() == BinaryFormat.OBJECT;
+    }
+
+    public boolean isArray() {
+        return tag() == BinaryFormat.ARRAY;
+    }
+
+    public boolean isString() {
+        return tag() == BinaryFormat.STRING;
+    }
+
+    public boolean isNumber() {
+        byte tag = tag();
+        return tag >= BinaryFormat.INT && tag <= BinaryFormat.BIG_DECIMAL;
+    }
+
+    public boolean isBoolean() {
+        byte tag = tag();
+        return tag == BinaryFormat.TRUE || tag == BinaryFormat.FALSE;
+    }
+
+    public boolean isNull() {
+        return tag() == BinaryFormat.NULL;
+    }
+
+    /**
+     * @return count of entries of object or elements of array.
+     */
+    public int size() {
+        return content().readLength();
+    }
+
+    /**
+     * Find value of object by key. Values before it are skipped without decoding.
+     *
+     * @param key key of entry.
+     * @return view of value, null if object has no such key.
+     */
+    public BinaryValue get(String key) {
+        BinaryCursor cursor = expect(BinaryFormat.OBJECT, "object");
+        int size = cursor.readLength();
+        int keyIndex = document.indexOf(key);
+        if (keyIndex < 0) {
+            return null;
+        }
+        for (int i = 0; i < size; i++) {
+            if (cursor.readLength() == keyIndex) {
+                return new BinaryValue(document, cursor.position);
+            }
+            cursor.skipValue();
+        }
+        return null;
+    }
+
+    /**
+     * @param index index of element of array.
+     * @return view of element.
+     */
+    public BinaryValue get(int index) {
+        BinaryCursor cursor = expect(BinaryFormat.ARRAY, "array");
+        int size = cursor.readLength();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        for (int i = 0; i < index; i++) {
+            cursor.skipValue();
+        }
+        return new BinaryValue(document, cursor.position);
+    }
+
+    /**
+     * @param index position of entry of object.
+     * @return key of entry.
+     */
+    public String getKey(int index) {
+        BinaryCursor cursor = entry(index);
+        return cursor.readKey();
+    }
+
+    /**
+     * @param index position of entry of object.
+     * @return view of value of entry.
+     */
+    public BinaryValue getValue(int index) {
+        BinaryCursor cursor = entry(index);
+        cursor.readKey();
+        return new BinaryValue(document, cursor.position);
+    }
+
+    public String asString() {
+        return expect(BinaryFormat.STRING, "string").readString();
+    }
+
+    public boolean asBoolean() {
+        byte tag = tag();
+        if (tag != BinaryFormat.TRUE && tag != BinaryFormat.FALSE) {
+            throw new JSONTypeException("Value isn't boolean");
+        }
+        return tag == BinaryFormat.TRUE;
+    }
+
+    /**
+     * @return {@code Integer}, {@code Long}, {@code Double}, {@code BigInteger} or {@code BigDecimal}.
+     */
+    public Number asNumber() {
+        if (!isNumber()) {
+            throw new JSONTypeException("Value isn't number");
+        }
+        return (Number) toValue();
+    }
+
+    public int asInt() {
+        long value = asLong();
+        if ((int) value != value) {
+            throw new JSONTypeException("Number " + value + " isn't int");
+        }
+        return (int) value;
+    }
+
+    public long asLong() {
+        byte tag = tag();
+        if (tag == BinaryFormat.INT || tag == BinaryFormat.LONG) {
+            var cursor = new BinaryCursor(document.buffer, document.keys, position + 1);
+            return BinaryFormat.unzigzag(cursor.readVarint());
+        }
+        Number number = asNumber();
+        try {
+            if (number instanceof BigInteger integer) {
+                return integer.longValueExact();
+            }
+            if (number instanceof BigDecimal decimal) {
+                return decimal.longValueExact();
+            }
+        } catch (ArithmeticException cause) {
+            // not exact
+        }
+        throw new JSONTypeException("Number " + number + " isn't long");
+    }
+
+    public double asDouble() {
+        if (tag() == BinaryFormat.DOUBLE) {
+            return new BinaryCursor(document.buffer, document.keys, position + 1).readDouble();
+        }
+        return asNumber().doubleValue();
+    }
+
+    /**
+     * Decode value with all nested values.
+     *
+     * @return {@code JsonObject}, {@code JsonArray}, {@code String}, number, {@code Boolean} or null.
+     */
+    public Object toValue() {
+        return new BinaryCursor(document.buffer, document.keys, position).readValue();
+    }
+
+    private byte tag() {
+        if (position >= document.buffer.limit()) {
+            throw BinaryCursor.truncated();
+        }
+        return document.buffer.get(position);
+    }
+
+    /**
+     * @return cursor after size in bytes of object or array, at count of its entries or elements.
+     */
+    private BinaryCursor content() {
+        byte tag = tag();
+        if (tag != BinaryFormat.OBJECT && tag != BinaryFormat.ARRAY) {
+            throw new JSONTypeException("Value isn't object or array");
+        }
+        var cursor = new BinaryCursor(document.buffer, document.keys, position + 1);
+        cursor.readVarint();
+        return cursor;
+    }
+
+    /**
+     * @return cursor after tag, after size in bytes for containers.
+     */
+    private BinaryCursor expect(byte expected, String name) {
+        if (tag() != expected) {
+            throw new JSONTypeException("Value isn't " + name);
+        }
+        var cursor = new BinaryCursor(document.buffer, document.keys, position + 1);
+        if (expected == BinaryFormat.OBJECT || expected == BinaryFormat.ARRAY) {
+            cursor.readVarint();
+        }
+        return cursor;
+    }
+
+    /**
+     * @return cursor at key of entry of object.
+     */
+    private BinaryCursor entry(int index) {
+        BinaryCursor cursor = expect(BinaryFormat.OBJECT, "object");
+        int size = cursor.readLength();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        for (int i = 0; i < index; i++) {
+            cursor.readKey();
+            cursor.skipValue();
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.hse.germandilio.jsonparser.binding;
+
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+import ru.hse.germandilio.jsonparser.utils.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes values of one type. Codec is created once for type and is shared by all threads.
+ */
+interface Codec {
+    /**
+     * Read value, which first token was already taken from {@code tokens}.
+     *
+     * @param tokens source of tokens, positioned after {@code start} token.
+     * @param start first token of value, except NULL.
+     * @param remainingDepth count of objects and arrays, which can be opened by value and its nested values.
+     * @return value.
+     * @throws IOException cannot read next token from source.
+     */
+    Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException;
+
+    /**
+     * @param writer output.
+     * @param value value, not null.
+     * @throws IOException cannot write to output.
+     */
+    void write(JsonWriter writer, Object value) throws IOException;
+
+    /**
+     * @return value for json null.
+     */
+    default Object readNull() {
+        return null;
+    }
+}
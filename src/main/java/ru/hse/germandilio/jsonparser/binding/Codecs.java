@@ -0,0 +1,779 @@
+package ru.hse.germandilio.jsonparser.binding;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+import ru.hse.germandilio.jsonparser.utils.JsonWriter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codecs of types. Codec of class is created once and is kept in {@code ClassValue},
+ * codecs of parameterized types are kept by properties, which use them.
+ */
+final class Codecs {
+    /**
+     * expected tokens: BOOLEAN(512) | STRING(256) | NUMBER(128) | NULL(64) | START_OBJECT(1) | START_ARRAY(4).
+     */
+    private static final int VALUE = 965;
+    /**
+     * expected tokens: STRING(256) | END_OBJECT(2).
+     */
+    private static final int OBJECT_START = 258;
+    /**
+     * expected tokens: VALUE | END_ARRAY(8).
+     */
+    private static final int ARRAY_START = 973;
+    /**
+     * expected tokens: SEPARATOR_COLON(16).
+     */
+    private static final int AFTER_KEY = 16;
+    /**
+     * expected tokens: SEPARATOR_COMMA(32) | END_OBJECT(2).
+     */
+    private static final int OBJECT_AFTER_VALUE = 34;
+    /**
+     * expected tokens: SEPARATOR_COMMA(32) | END_ARRAY(8).
+     */
+    private static final int ARRAY_AFTER_VALUE = 40;
+    /**
+     * expected tokens: STRING(256).
+     */
+    private static final int NEXT_KEY = 256;
+
+    private static final Codec STRING = new StringCodec();
+    private static final Codec CHARACTER = new CharacterCodec(false);
+    private static final Codec PRIMITIVE_CHARACTER = new CharacterCodec(true);
+    private static final Codec BOOLEAN = new BooleanCodec(false);
+    private static final Codec PRIMITIVE_BOOLEAN = new BooleanCodec(true);
+    private static final Codec ANY = new TreeCodec(Object.class);
+
+    private static final ClassValue<Codec> CODECS = new ClassValue<>() {
+        @Override
+        protected Codec computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private Codecs() {
+    }
+
+    static Codec forType(Type type) {
+        if (type instanceof Class<?> raw) {
+            return CODECS.get(raw);
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw) || raw == Iterable.class) {
+                return new CollectionCodec(raw, arguments[0]);
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return new MapCodec(raw, arguments[0], arguments[1]);
+            }
+            return CODECS.get(raw);
+        }
+        if (type instanceof GenericArrayType array) {
+            Type component = array.getGenericComponentType();
+            return new ArrayCodec(rawClass(component), component);
+        }
+        if (type instanceof WildcardType wildcard) {
+            return forType(wildcard.getUpperBounds()[0]);
+        }
+        // type variable
+        return ANY;
+    }
+
+    /**
+     * Codecs read nested values by recursion, so depth is limited before stack of thread is exhausted.
+     *
+     * @param remainingDepth count of objects and arrays, which can be opened by value and its nested values.
+     * @return value or {@code readNull} of codec for NULL token.
+     * @throws JSONParseException {@code start} can't start value, or value is nested too deep.
+     */
+    static Object read(Codec codec, TokenCursor tokens, TokenType start, int remainingDepth)
+            throws IOException {
+        checkValue(tokens, start);
+        if (start == TokenType.NULL) {
+            return codec.readNull();
+        }
+        checkDepth(start, remainingDepth);
+        return codec.read(tokens, start, remainingDepth);
+    }
+
+    static void write(Codec codec, JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            codec.write(writer, value);
+        }
+    }
+
+    /**
+     * @throws SerializationException value of json can't be converted to {@code target}.
+     */
+    static void expect(TokenType start, TokenType expected, Class<?> target) {
+        if (start != expected) {
+            throw new SerializationException("Cannot convert " + start + " to " + target.getName());
+        }
+    }
+
+    /**
+     * @throws JSONParseException token doesn't follow grammar of json.
+     */
+    static void checkToken(TokenCursor tokens, TokenType type, TokenType expected) {
+        if (type != expected) {
+            throw new JSONParseException("Invalid token:" + new Token(type, tokens.getText()));
+        }
+    }
+
+    /**
+     * Skip value, which first token was already taken. Tokens are checked by the same rules as
+     * {@code GrammarAnalizer} does, so skipped part of json should be valid too.
+     */
+    static void skip(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+        if (start != TokenType.START_OBJECT && start != TokenType.START_ARRAY) {
+            checkValue(tokens, start);
+            return;
+        }
+        // true for object, false for array on each level of nesting
+        boolean[] objects = new boolean[16];
+        int level = 0;
+        TokenType type = start;
+        int expected = VALUE;
+        while (true) {
+            if (type == null || !type.isValidTokenTypeByMask(expected)) {
+                throw type == null
+                        ? new JSONParseException("Invalid sequence of tokens")
+                        : new JSONParseException("Invalid token:" + new Token(type, tokens.getText()));
+            }
+            switch (type) {
+                case START_OBJECT, START_ARRAY -> {
+                    checkDepth(type, remainingDepth - level);
+                    if (level == objects.length) {
+                        objects = Arrays.copyOf(objects, level * 2);
+                    }
+                    objects[level++] = type == TokenType.START_OBJECT;
+                    expected = type == TokenType.START_OBJECT ? OBJECT_START : ARRAY_START;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (--level == 0) {
+                        return;
+                    }
+                    expected = objects[level - 1] ? OBJECT_AFTER_VALUE : ARRAY_AFTER_VALUE;
+                }
+                case SEPARATOR_COLON -> expected = VALUE;
+                case SEPARATOR_COMMA -> expected = objects[level - 1] ? NEXT_KEY : VALUE;
+                case STRING -> {
+                    // in object string before colon is key
+                    if (objects[level - 1] && expected != VALUE) {
+                        expected = AFTER_KEY;
+                    } else {
+                        expected = objects[level - 1] ? OBJECT_AFTER_VALUE : ARRAY_AFTER_VALUE;
+                    }
+                }
+                default -> expected = objects[level - 1] ? OBJECT_AFTER_VALUE : ARRAY_AFTER_VALUE;
+            }
+            type = tokens.advance();
+        }
+    }
+
+    private static void checkDepth(TokenType start, int remainingDepth) {
+        if (remainingDepth <= 0 && (start == TokenType.START_OBJECT || start == TokenType.START_ARRAY)) {
+            throw new JSONParseException("Depth of nesting exceeds max depth");
+        }
+    }
+
+    /**
+     * Decode escape sequences of text of string, as it's written in json.
+     *
+     * @throws JSONParseException text has invalid escape sequence.
+     */
+    static String unescape(String text) {
+        int backslash = text.indexOf('\\');
+        if (backslash < 0) {
+            return text;
+        }
+        var sb = new StringBuilder(text.length());
+        sb.append(text, 0, backslash);
+        for (int i = backslash; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch != '\\') {
+                sb.append(ch);
+                continue;
+            }
+            if (++i == text.length()) {
+                throw new JSONParseException("Invalid escape sequence");
+            }
+            switch (text.charAt(i)) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= text.length()) {
+                        throw new JSONParseException("Invalid escape sequence");
+                    }
+                    int code = 0;
+                    for (int j = i + 1; j <= i + 4; j++) {
+                        int digit = Character.digit(text.charAt(j), 16);
+                        if (digit < 0) {
+                            throw new JSONParseException("Invalid escape sequence");
+                        }
+                        code = code << 4 | digit;
+                    }
+                    sb.append((char) code);
+                    i += 4;
+                }
+                default -> throw new JSONParseException("Invalid escape sequence");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void checkValue(TokenCursor tokens, TokenType type) {
+        if (type == null || !type.isValidTokenTypeByMask(VALUE)) {
+            throw new JSONParseException("Invalid token:" + new Token(type, tokens.getText()));
+        }
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> raw) {
+            return raw;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType array) {
+            return Array.newInstance(rawClass(array.getGenericComponentType()), 0).getClass();
+        }
+        return Object.class;
+    }
+
+    private static Codec create(Class<?> type) {
+        if (type == String.class) {
+            return STRING;
+        }
+        if (type == boolean.class) {
+            return PRIMITIVE_BOOLEAN;
+        }
+        if (type == Boolean.class) {
+            return BOOLEAN;
+        }
+        if (type == char.class) {
+            return PRIMITIVE_CHARACTER;
+        }
+        if (type == Character.class) {
+            return CHARACTER;
+        }
+        if (NumberCodec.supports(type)) {
+            return new NumberCodec(type);
+        }
+        if (type == Object.class) {
+            return ANY;
+        }
+        if (type == JsonObject.class || type == JsonArray.class) {
+            return new TreeCodec(type);
+        }
+        if (Enum.class.isAssignableFrom(type)) {
+            // constant with body has its own class
+            return new EnumCodec(type.isEnum() ? type : type.getSuperclass());
+        }
+        if (type.isArray()) {
+            return new ArrayCodec(type.getComponentType(), type.getComponentType());
+        }
+        if (Collection.class.isAssignableFrom(type) || type == Iterable.class) {
+            return new CollectionCodec(type, Object.class);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new MapCodec(type, String.class, Object.class);
+        }
+        if (type.isRecord()) {
+            return ObjectCodec.forRecord(type);
+        }
+        if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || type.getName().startsWith("java.")) {
+            throw new SerializationException("Type isn't supported by binding: " + type.getName());
+        }
+        return ObjectCodec.forBean(type);
+    }
+
+    private static final class StringCodec implements Codec {
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) {
+            expect(start, TokenType.STRING, String.class);
+            return unescape(tokens.getText());
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.escapedValue((String) value);
+        }
+    }
+
+    private static final class CharacterCodec implements Codec {
+        private final boolean primitive;
+
+        private CharacterCodec(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) {
+            expect(start, TokenType.STRING, Character.class);
+            String text = unescape(tokens.getText());
+            if (text.length() != 1) {
+                throw new SerializationException("Cannot convert \"" + text + "\" to character");
+            }
+            return text.charAt(0);
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.escapedValue(value.toString());
+        }
+
+        @Override
+        public Object readNull() {
+            if (primitive) {
+                throw new SerializationException("Cannot convert null to char");
+            }
+            return null;
+        }
+    }
+
+    private static final class BooleanCodec implements Codec {
+        private final boolean primitive;
+
+        private BooleanCodec(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) {
+            expect(start, TokenType.BOOLEAN, Boolean.class);
+            return Boolean.valueOf(tokens.getText());
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.value(((Boolean) value).booleanValue());
+        }
+
+        @Override
+        public Object readNull() {
+            if (primitive) {
+                throw new SerializationException("Cannot convert null to boolean");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Numbers of all primitive and boxed types, {@code BigInteger}, {@code BigDecimal} and {@code Number}.
+     * Integer types are checked for overflow.
+     */
+    private static final class NumberCodec implements Codec {
+        private final Class<?> type;
+        private final Class<?> boxed;
+
+        private NumberCodec(Class<?> type) {
+            this.type = type;
+            boxed = MethodType.methodType(type).wrap().returnType();
+        }
+
+        static boolean supports(Class<?> type) {
+            return type.isPrimitive() && type != void.class
+                    || type == Integer.class || type == Long.class || type == Double.class || type == Float.class
+                    || type == Short.class || type == Byte.class
+                    || type == BigInteger.class || type == BigDecimal.class || type == Number.class;
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) {
+            expect(start, TokenType.NUMBER, type);
+            if (boxed == BigDecimal.class) {
+                return new BigDecimal(tokens.getText());
+            }
+            if (boxed == BigInteger.class) {
+                try {
+                    return new BigInteger(tokens.getText());
+                } catch (NumberFormatException e) {
+                    throw outOfRange(tokens);
+                }
+            }
+
+            Number number = tokens.getNumber(false);
+            if (boxed == Double.class) {
+                return number.doubleValue();
+            }
+            if (boxed == Float.class) {
+                return number.floatValue();
+            }
+            if (boxed == Number.class) {
+                return number;
+            }
+
+            if (!(number instanceof Integer) && !(number instanceof Long)) {
+                throw outOfRange(tokens);
+            }
+            long value = number.longValue();
+            if (boxed == Long.class) {
+                return value;
+            }
+            if (boxed == Integer.class && value == (int) value) {
+                return (int) value;
+            }
+            if (boxed == Short.class && value == (short) value) {
+                return (short) value;
+            }
+            if (boxed == Byte.class && value == (byte) value) {
+                return (byte) value;
+            }
+            throw outOfRange(tokens);
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.value((Number) value);
+        }
+
+        @Override
+        public Object readNull() {
+            if (type.isPrimitive()) {
+                throw new SerializationException("Cannot convert null to " + type.getName());
+            }
+            return null;
+        }
+
+        private SerializationException outOfRange(TokenCursor tokens) {
+            return new SerializationException("Cannot convert " + tokens.getText() + " to " + type.getName());
+        }
+    }
+
+    private static final class EnumCodec implements Codec {
+        private final Class<?> type;
+        private final Map<String, Object> constants = new HashMap<>();
+
+        private EnumCodec(Class<?> type) {
+            this.type = type;
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) {
+            expect(start, TokenType.STRING, type);
+            String name = unescape(tokens.getText());
+            Object constant = constants.get(name);
+            if (constant == null) {
+                throw new SerializationException("Unknown constant " + name + " of " + type.getName());
+            }
+            return constant;
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.escapedValue(((Enum<?>) value).name());
+        }
+    }
+
+    /**
+     * Values without type: {@code JsonObject}, {@code JsonArray} and values of scalars.
+     * Strings in {@code JsonObject} and {@code JsonArray} keep text as it's written in json,
+     * other strings are decoded and escaped, as typed strings are.
+     */
+    private static final class TreeCodec implements Codec {
+        private final Class<?> type;
+
+        private TreeCodec(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+            Object value = readTree(tokens, start, remainingDepth);
+            if (value instanceof String text) {
+                value = unescape(text);
+            }
+            if (!type.isInstance(value)) {
+                throw new SerializationException("Cannot convert " + start + " to " + type.getName());
+            }
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            if (value instanceof String text) {
+                writer.escapedValue(text);
+            } else if (value instanceof JsonObject || value instanceof JsonArray
+                    || value instanceof Number || value instanceof Boolean) {
+                writer.write(value);
+            } else {
+                CODECS.get(value.getClass()).write(writer, value);
+            }
+        }
+
+        private static Object readTree(TokenCursor tokens, TokenType start, int remainingDepth)
+                throws IOException {
+            checkValue(tokens, start);
+            checkDepth(start, remainingDepth);
+            return switch (start) {
+                case START_OBJECT -> readObject(tokens, remainingDepth);
+                case START_ARRAY -> readArray(tokens, remainingDepth);
+                case NUMBER -> tokens.getNumber(false);
+                case BOOLEAN -> Boolean.valueOf(tokens.getText());
+                case STRING -> tokens.getText();
+                default -> null;
+            };
+        }
+
+        private static JsonObject readObject(TokenCursor tokens, int remainingDepth) throws IOException {
+            JsonObject object = new JsonObject();
+            TokenType type = tokens.advance();
+            if (type == TokenType.END_OBJECT) {
+                return object;
+            }
+            while (true) {
+                checkToken(tokens, type, TokenType.STRING);
+                String key = tokens.getName();
+                checkToken(tokens, tokens.advance(), TokenType.SEPARATOR_COLON);
+                object.put(key, readTree(tokens, tokens.advance(), remainingDepth - 1));
+
+                type = tokens.advance();
+                if (type == TokenType.END_OBJECT) {
+                    return object;
+                }
+                checkToken(tokens, type, TokenType.SEPARATOR_COMMA);
+                type = tokens.advance();
+            }
+        }
+
+        private static JsonArray readArray(TokenCursor tokens, int remainingDepth) throws IOException {
+            JsonArray array = new JsonArray();
+            TokenType type = tokens.advance();
+            if (type == TokenType.END_ARRAY) {
+                return array;
+            }
+            while (true) {
+                array.add(readTree(tokens, type, remainingDepth - 1));
+                type = tokens.advance();
+                if (type == TokenType.END_ARRAY) {
+                    return array;
+                }
+                checkToken(tokens, type, TokenType.SEPARATOR_COMMA);
+                type = tokens.advance();
+            }
+        }
+    }
+
+    /**
+     * Elements of json array, which are collected to {@code List}.
+     */
+    private abstract static class ElementsCodec implements Codec {
+        private final Codec elementCodec;
+
+        ElementsCodec(Type elementType) {
+            elementCodec = forType(elementType);
+        }
+
+        List<Object> readElements(TokenCursor tokens, TokenType start, int remainingDepth, Class<?> target)
+                throws IOException {
+            expect(start, TokenType.START_ARRAY, target);
+            List<Object> elements = new ArrayList<>();
+            TokenType type = tokens.advance();
+            if (type == TokenType.END_ARRAY) {
+                return elements;
+            }
+            while (true) {
+                elements.add(Codecs.read(elementCodec, tokens, type, remainingDepth - 1));
+                type = tokens.advance();
+                if (type == TokenType.END_ARRAY) {
+                    return elements;
+                }
+                checkToken(tokens, type, TokenType.SEPARATOR_COMMA);
+                type = tokens.advance();
+            }
+        }
+
+        void writeElement(JsonWriter writer, Object element) throws IOException {
+            Codecs.write(elementCodec, writer, element);
+        }
+    }
+
+    private static final class CollectionCodec extends ElementsCodec {
+        private final Class<?> type;
+        private final boolean set;
+        /**
+         * Collection is read to {@code ArrayList} or {@code LinkedHashSet}, any collection can be written.
+         */
+        private final boolean readable;
+
+        private CollectionCodec(Class<?> type, Type elementType) {
+            super(elementType);
+            this.type = type;
+            set = Set.class.isAssignableFrom(type);
+            readable = type.isAssignableFrom(set ? LinkedHashSet.class : ArrayList.class);
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+            if (!readable) {
+                throw new SerializationException("Type isn't supported by binding: " + type.getName());
+            }
+            List<Object> elements = readElements(tokens, start, remainingDepth, type);
+            return set ? new LinkedHashSet<>(elements) : elements;
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.beginArray();
+            for (Object element : (Iterable<?>) value) {
+                writeElement(writer, element);
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Arrays of objects and primitives, elements are accessed by method handles.
+     */
+    private static final class ArrayCodec extends ElementsCodec {
+        private final Class<?> type;
+        private final Class<?> componentType;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle length;
+
+        private ArrayCodec(Class<?> componentType, Type genericComponentType) {
+            super(genericComponentType);
+            this.componentType = componentType;
+            type = componentType.arrayType();
+            getter = MethodHandles.arrayElementGetter(type)
+                    .asType(MethodType.methodType(Object.class, Object.class, int.class));
+            setter = MethodHandles.arrayElementSetter(type)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            length = MethodHandles.arrayLength(type)
+                    .asType(MethodType.methodType(int.class, Object.class));
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+            List<Object> elements = readElements(tokens, start, remainingDepth, type);
+            Object array = Array.newInstance(componentType, elements.size());
+            try {
+                for (int i = 0; i < elements.size(); i++) {
+                    setter.invokeExact(array, i, elements.get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SerializationException("Cannot create " + type.getName(), e);
+            }
+            return array;
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.beginArray();
+            try {
+                int size = (int) length.invokeExact(value);
+                for (int i = 0; i < size; i++) {
+                    writeElement(writer, (Object) getter.invokeExact(value, i));
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SerializationException("Cannot write " + type.getName(), e);
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Json object as {@code Map} with keys of {@code String}.
+     */
+    private static final class MapCodec implements Codec {
+        private final Class<?> type;
+        private final Codec valueCodec;
+        /**
+         * Map is read to {@code LinkedHashMap}, any map can be written.
+         */
+        private final boolean readable;
+
+        private MapCodec(Class<?> type, Type keyType, Type valueType) {
+            this.type = type;
+            if (keyType != String.class && keyType != Object.class) {
+                throw new SerializationException("Type isn't supported by binding: " + type.getName()
+                        + ", only maps with keys of String are supported");
+            }
+            valueCodec = forType(valueType);
+            readable = type.isAssignableFrom(LinkedHashMap.class);
+        }
+
+        @Override
+        public Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+            if (!readable) {
+                throw new SerializationException("Type isn't supported by binding: " + type.getName());
+            }
+            expect(start, TokenType.START_OBJECT, type);
+            Map<String, Object> map = new LinkedHashMap<>();
+            TokenType token = tokens.advance();
+            if (token == TokenType.END_OBJECT) {
+                return map;
+            }
+            while (true) {
+                checkToken(tokens, token, TokenType.STRING);
+                String key = unescape(tokens.getName());
+                checkToken(tokens, tokens.advance(), TokenType.SEPARATOR_COLON);
+                map.put(key, Codecs.read(valueCodec, tokens, tokens.advance(), remainingDepth - 1));
+
+                token = tokens.advance();
+                if (token == TokenType.END_OBJECT) {
+                    return map;
+                }
+                checkToken(tokens, token, TokenType.SEPARATOR_COMMA);
+                token = tokens.advance();
+            }
+        }
+
+        @Override
+        public void write(JsonWriter writer, Object value) throws IOException {
+            writer.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writer.escapedName(String.valueOf(entry.getKey()));
+                Codecs.write(valueCodec, writer, entry.getValue());
+            }
+            writer.endObject();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ru.hse.germandilio.jsonparser.binding;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.parser.GrammarAnalizer;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+import ru.hse.germandilio.jsonparser.utils.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Binding of json to typed values and back. Values are read from tokens directly, without building
+ * {@code JsonObject} and {@code JsonArray}. Supported types: records, POJOs, enums, strings, numbers, booleans,
+ * arrays, {@code List}, {@code Set} and {@code Map} with keys of {@code String}, {@code JsonObject},
+ * {@code JsonArray} and {@code Object} for any json value.
+ * Codec of each class is created once and then is shared by all threads.
+ * Escape sequences of typed strings, keys of maps and names of properties are decoded on read and escaped
+ * on write, so strings built in Java are written as valid json. Strings in {@code JsonObject} and {@code JsonArray}
+ * are taken as they are written in json, as parser keeps them.
+ * Objects and arrays nested deeper than max depth fail with {@code JSONParseException},
+ * by default it's {@code GrammarAnalizer.DEFAULT_MAX_DEPTH}.
+ */
+public final class JsonBinding {
+    private JsonBinding() {
+    }
+
+    /**
+     * Read single value from {@code tokens}, there should be no tokens after it.
+     *
+     * @param tokens source of tokens.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException cannot read next token from source.
+     * @throws ru.hse.germandilio.jsonparser.exceptions.SerializationException json can't be converted to type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T read(TokenCursor tokens, Class<T> type) throws IOException {
+        return (T) read(tokens, (Type) type);
+    }
+
+    /**
+     * Read single value from {@code tokens}, there should be no tokens after it.
+     *
+     * @param tokens source of tokens.
+     * @param type type of value, can be parameterized, for example {@code List<Item>}.
+     * @return value.
+     * @throws IOException cannot read next token from source.
+     */
+    public static Object read(TokenCursor tokens, Type type) throws IOException {
+        return read(tokens, type, GrammarAnalizer.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Read single value from {@code tokens} with limited depth of nesting.
+     *
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     * @see #read(TokenCursor, Class)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T read(TokenCursor tokens, Class<T> type, int maxDepth) throws IOException {
+        return (T) read(tokens, (Type) type, maxDepth);
+    }
+
+    /**
+     * Read single value from {@code tokens} with limited depth of nesting.
+     *
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     * @see #read(TokenCursor, Type)
+     */
+    public static Object read(TokenCursor tokens, Type type, int maxDepth) throws IOException {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        TokenType start = tokens.advance();
+        if (start == null || start == TokenType.END_DOCUMENT) {
+            throw new JSONParseException("Invalid sequence of tokens");
+        }
+        Object value = Codecs.read(Codecs.forType(type), tokens, start, maxDepth);
+
+        TokenType end = tokens.advance();
+        if (end != null && end != TokenType.END_DOCUMENT) {
+            throw new JSONParseException("Invalid token sequence. Unexpected text after root");
+        }
+        return value;
+    }
+
+    /**
+     * Write value with all nested values.
+     *
+     * @param writer output.
+     * @param value value of supported type or null.
+     * @throws IOException cannot write to output.
+     */
+    public static void write(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
+        }
+        Codecs.forType(value.getClass()).write(writer, value);
+    }
+}
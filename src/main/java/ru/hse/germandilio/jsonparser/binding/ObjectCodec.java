@@ -0,0 +1,246 @@
+package ru.hse.germandilio.jsonparser.binding;
+
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+import ru.hse.germandilio.jsonparser.utils.JsonWriter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec of record or POJO. Record is bound by its components and created by canonical constructor,
+ * POJO is bound by its non-static and non-transient fields and created by constructor without parameters.
+ * Constructors and accessors are found once and are called by method handles.
+ * Unknown keys are skipped, missing properties get default values.
+ */
+final class ObjectCodec implements Codec {
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final Property[] properties;
+    private final Map<String, Property> byName = new HashMap<>();
+
+    /**
+     * For record: {@code (Object[]) Object} with values of components, for POJO: {@code () Object}.
+     */
+    private final MethodHandle constructor;
+    private final boolean record;
+
+    /**
+     * Values of components, which are missing in json.
+     */
+    private final Object[] defaults;
+
+    private ObjectCodec(Class<?> type, List<Property> properties, MethodHandle constructor, boolean record) {
+        this.type = type;
+        this.properties = properties.toArray(new Property[0]);
+        this.constructor = constructor;
+        this.record = record;
+
+        defaults = new Object[this.properties.length];
+        for (Property property : this.properties) {
+            byName.put(property.name, property);
+            defaults[property.position] = property.defaultValue;
+        }
+    }
+
+    static ObjectCodec forRecord(Class<?> type) {
+        MethodHandles.Lookup lookup = lookup(type);
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameters = new Class<?>[components.length];
+        List<Property> properties = new ArrayList<>(components.length);
+        try {
+            for (int i = 0; i < components.length; i++) {
+                RecordComponent component = components[i];
+                parameters[i] = component.getType();
+                MethodHandle getter = lookup.unreflect(component.getAccessor()).asType(GETTER);
+                properties.add(new Property(component.getName(), component.getGenericType(), component.getType(),
+                        i, getter, null));
+            }
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters))
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new ObjectCodec(type, properties, constructor, true);
+        } catch (ReflectiveOperationException e) {
+            throw new SerializationException("Cannot bind record " + type.getName(), e);
+        }
+    }
+
+    static ObjectCodec forBean(Class<?> type) {
+        MethodHandles.Lookup lookup = lookup(type);
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            // fields of superclass go first
+            List<Field> declared = new ArrayList<>();
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    declared.add(field);
+                }
+            }
+            fields.addAll(0, declared);
+        }
+
+        List<Property> properties = new ArrayList<>(fields.size());
+        try {
+            for (Field field : fields) {
+                MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER);
+                // final fields are only written to json
+                MethodHandle setter = Modifier.isFinal(field.getModifiers())
+                        ? null
+                        : lookup.unreflectSetter(field).asType(SETTER);
+                properties.add(new Property(field.getName(), field.getGenericType(), field.getType(),
+                        properties.size(), getter, setter));
+            }
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return new ObjectCodec(type, properties, constructor, false);
+        } catch (NoSuchMethodException e) {
+            throw new SerializationException("Class " + type.getName()
+                    + " should have constructor without parameters", e);
+        } catch (ReflectiveOperationException e) {
+            throw new SerializationException("Cannot bind class " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new SerializationException("Package of " + type.getName() + " isn't open for binding", e);
+        }
+    }
+
+    @Override
+    public Object read(TokenCursor tokens, TokenType start, int remainingDepth) throws IOException {
+        Codecs.expect(start, TokenType.START_OBJECT, type);
+        Object[] values = record ? defaults.clone() : null;
+        Object object = record ? null : construct();
+
+        TokenType token = tokens.advance();
+        if (token == TokenType.END_OBJECT) {
+            return record ? construct(values) : object;
+        }
+        while (true) {
+            Codecs.checkToken(tokens, token, TokenType.STRING);
+            Property property = byName.get(Codecs.unescape(tokens.getName()));
+            Codecs.checkToken(tokens, tokens.advance(), TokenType.SEPARATOR_COLON);
+
+            TokenType valueType = tokens.advance();
+            if (property == null) {
+                Codecs.skip(tokens, valueType, remainingDepth - 1);
+            } else {
+                Object value = Codecs.read(property.codec(), tokens, valueType, remainingDepth - 1);
+                if (record) {
+                    values[property.position] = value;
+                } else if (property.setter != null) {
+                    set(property, object, value);
+                }
+            }
+
+            token = tokens.advance();
+            if (token == TokenType.END_OBJECT) {
+                return record ? construct(values) : object;
+            }
+            Codecs.checkToken(tokens, token, TokenType.SEPARATOR_COMMA);
+            token = tokens.advance();
+        }
+    }
+
+    @Override
+    public void write(JsonWriter writer, Object value) throws IOException {
+        writer.beginObject();
+        for (Property property : properties) {
+            writer.escapedName(property.name);
+            Codecs.write(property.codec(), writer, get(property, value));
+        }
+        writer.endObject();
+    }
+
+    private Object construct() {
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SerializationException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    private Object construct(Object[] values) {
+        try {
+            return (Object) constructor.invokeExact(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SerializationException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    private Object get(Property property, Object object) {
+        try {
+            return (Object) property.getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SerializationException("Cannot get " + property.name + " of " + type.getName(), e);
+        }
+    }
+
+    private void set(Property property, Object object, Object value) {
+        try {
+            property.setter.invokeExact(object, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SerializationException("Cannot set " + property.name + " of " + type.getName(), e);
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Type type;
+        private final int position;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final Object defaultValue;
+
+        /**
+         * Resolved on first use, so types can refer to themselves.
+         */
+        private Codec codec;
+
+        private Property(String name, Type type, Class<?> rawType, int position,
+                         MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.position = position;
+            this.getter = getter;
+            this.setter = setter;
+            defaultValue = rawType.isPrimitive() ? Array.get(Array.newInstance(rawType, 1), 0) : null;
+        }
+
+        private Codec codec() {
+            Codec result = codec;
+            if (result == null) {
+                // codecs are immutable, so race only creates codec twice
+                result = Codecs.forType(type);
+                codec = result;
+            }
+            return result;
+        }
+    }
+}
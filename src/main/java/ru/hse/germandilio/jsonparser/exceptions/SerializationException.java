@@ -5,7 +5,7 @@ public class SerializationException extends RuntimeException {
         super(message);
     }
 
-    public SerializationException(String message, Exception cause) {
+    public SerializationException(String message, Throwable cause) {
         super(message, cause);
     }
 }
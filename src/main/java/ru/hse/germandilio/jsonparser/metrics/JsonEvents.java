@@ -0,0 +1,143 @@
+package ru.hse.germandilio.jsonparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of parser. Events are written by any recording, for example started by
+ * {@code -XX:StartFlightRecording}, settings like {@code ru.hse.germandilio.jsonparser.Parsing#threshold=1 ms}
+ * limit them. Class is loaded only if runtime has {@code jdk.jfr} module.
+ */
+final class JsonEvents {
+    private static final String CATEGORY = "JSON Parser";
+
+    @Name("ru.hse.germandilio.jsonparser.Lexing")
+    @Label("JSON Lexing")
+    @Description("Conversion of input to sequence of tokens")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class LexingEvent extends Event {
+        @Label("Input Size")
+        @Description("Bytes of UTF-8 input or chars of text input")
+        @DataAmount
+        long bytes;
+
+        @Label("Tokens")
+        long tokens;
+    }
+
+    @Name("ru.hse.germandilio.jsonparser.Parsing")
+    @Label("JSON Parsing")
+    @Description("Building of JsonObject or JsonArray from tokens")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ParsingEvent extends Event {
+        @Label("Input Size")
+        @Description("Bytes of UTF-8 input or chars of text input read during parsing, 0 for prepared tokens")
+        @DataAmount
+        long bytes;
+
+        @Label("Tokens")
+        long tokens;
+
+        @Label("Elements")
+        @Description("Values with root and nested containers")
+        long elements;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    @Name("ru.hse.germandilio.jsonparser.Serialization")
+    @Label("JSON Serialization")
+    @Description("Conversion of JsonObject or JsonArray to string")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SerializationEvent extends Event {
+        @Label("Characters")
+        long chars;
+
+        @Label("Elements")
+        @Description("Values with root and nested containers")
+        long elements;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    // checks of state only, these instances are never committed
+    private static final LexingEvent LEXING = new LexingEvent();
+    private static final ParsingEvent PARSING = new ParsingEvent();
+    private static final SerializationEvent SERIALIZATION = new SerializationEvent();
+
+    private JsonEvents() {
+    }
+
+    /**
+     * @return started event, null if event isn't enabled by any recording.
+     */
+    static Object beginLexing() {
+        if (!LEXING.isEnabled()) {
+            return null;
+        }
+        var event = new LexingEvent();
+        event.begin();
+        return event;
+    }
+
+    static Object beginParsing() {
+        if (!PARSING.isEnabled()) {
+            return null;
+        }
+        var event = new ParsingEvent();
+        event.begin();
+        return event;
+    }
+
+    static Object beginSerialization() {
+        if (!SERIALIZATION.isEnabled()) {
+            return null;
+        }
+        var event = new SerializationEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitLexing(Object started, long bytes, long tokens) {
+        var event = (LexingEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = bytes;
+            event.tokens = tokens;
+            event.commit();
+        }
+    }
+
+    static void commitParsing(Object started, long bytes, long tokens, long elements, int depth) {
+        var event = (ParsingEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = bytes;
+            event.tokens = tokens;
+            event.elements = elements;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+
+    static void commitSerialization(Object started, long chars, long elements, int depth) {
+        var event = (SerializationEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.chars = chars;
+            event.elements = elements;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+}
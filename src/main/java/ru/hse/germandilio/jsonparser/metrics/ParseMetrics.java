@@ -0,0 +1,105 @@
+package ru.hse.germandilio.jsonparser.metrics;
+
+/**
+ * Measurements of lexing, parsing and serialization. Each measurement is passed to listener
+ * and written as JDK Flight Recorder event of {@code JsonEvents}, if the event is enabled by recording.
+ * Without listener and recording parser only checks two flags and gets null probe,
+ * so measurements can stay on in production.
+ */
+public final class ParseMetrics {
+    private static final boolean JFR_AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private static volatile ParseMetricsListener listener;
+
+    private ParseMetrics() {
+    }
+
+    /**
+     * @param listener receiver of measurements of all threads, null to stop measurements.
+     */
+    public static void setListener(ParseMetricsListener listener) {
+        ParseMetrics.listener = listener;
+    }
+
+    public static ParseMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Start measurement of {@code LexicalAnalyzer.convertToTokens}.
+     *
+     * @return probe, which is finished by {@code lexed}, or null if nobody receives measurement.
+     */
+    public static Probe startLexing() {
+        ParseMetricsListener current = listener;
+        Object event = JFR_AVAILABLE ? JsonEvents.beginLexing() : null;
+        return current == null && event == null ? null : new Probe(current, event);
+    }
+
+    /**
+     * Start measurement of {@code GrammarAnalizer.parse}.
+     *
+     * @return probe, which is finished by {@code parsed}, or null if nobody receives measurement.
+     */
+    public static Probe startParsing() {
+        ParseMetricsListener current = listener;
+        Object event = JFR_AVAILABLE ? JsonEvents.beginParsing() : null;
+        return current == null && event == null ? null : new Probe(current, event);
+    }
+
+    /**
+     * Start measurement of conversion to string.
+     *
+     * @return probe, which is finished by {@code serialized}, or null if nobody receives measurement.
+     */
+    public static Probe startSerialization() {
+        ParseMetricsListener current = listener;
+        Object event = JFR_AVAILABLE ? JsonEvents.beginSerialization() : null;
+        return current == null && event == null ? null : new Probe(current, event);
+    }
+
+    /**
+     * Started measurement of one call. Probe isn't reused, measurement of failed call is just dropped.
+     */
+    public static final class Probe {
+        private final ParseMetricsListener listener;
+        /**
+         * Started JFR event, null if it isn't recorded.
+         */
+        private final Object event;
+        private final long start;
+
+        private Probe(ParseMetricsListener listener, Object event) {
+            this.listener = listener;
+            this.event = event;
+            start = listener != null ? System.nanoTime() : 0;
+        }
+
+        public void lexed(long bytes, long tokens) {
+            if (listener != null) {
+                listener.onLexing(bytes, tokens, System.nanoTime() - start);
+            }
+            if (event != null) {
+                JsonEvents.commitLexing(event, bytes, tokens);
+            }
+        }
+
+        public void parsed(long bytes, long tokens, long elements, int depth) {
+            if (listener != null) {
+                listener.onParsing(bytes, tokens, elements, depth, System.nanoTime() - start);
+            }
+            if (event != null) {
+                JsonEvents.commitParsing(event, bytes, tokens, elements, depth);
+            }
+        }
+
+        public void serialized(long chars, long elements, int depth) {
+            if (listener != null) {
+                listener.onSerialization(chars, elements, depth, System.nanoTime() - start);
+            }
+            if (event != null) {
+                JsonEvents.commitSerialization(event, chars, elements, depth);
+            }
+        }
+    }
+}
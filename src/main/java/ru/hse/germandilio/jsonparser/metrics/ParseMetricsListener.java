@@ -0,0 +1,41 @@
+package ru.hse.germandilio.jsonparser.metrics;
+
+/**
+ * Receiver of measurements of lexing, parsing and serialization, set by {@code ParseMetrics.setListener}.
+ * Methods are called on thread, which did the work, right after it's finished, so they should be fast
+ * and shouldn't throw. Failed parsing isn't reported.
+ */
+public interface ParseMetricsListener {
+    /**
+     * Input was converted to sequence of tokens by {@code LexicalAnalyzer.convertToTokens}.
+     *
+     * @param bytes size of input: bytes of UTF-8 input or chars of text input.
+     * @param tokens count of tokens.
+     * @param nanos duration.
+     */
+    default void onLexing(long bytes, long tokens, long nanos) {
+    }
+
+    /**
+     * Document was built by {@code GrammarAnalizer}.
+     *
+     * @param bytes size of input read during parsing, 0 if tokens were converted in advance.
+     * @param tokens count of tokens.
+     * @param elements count of values with root and nested containers.
+     * @param depth max depth of nesting, 1 for root without nested containers.
+     * @param nanos duration, with lexing if tokens were read one by one.
+     */
+    default void onParsing(long bytes, long tokens, long elements, int depth, long nanos) {
+    }
+
+    /**
+     * {@code JsonObject} or {@code JsonArray} was converted to string by {@code JsonDisplayUtils}.
+     *
+     * @param chars length of result.
+     * @param elements count of values with root and nested containers.
+     * @param depth max depth of nesting.
+     * @param nanos duration.
+     */
+    default void onSerialization(long chars, long elements, int depth, long nanos) {
+    }
+}
@@ -1,29 +1,187 @@
 package ru.hse.germandilio.jsonparser.parsing.model;
 
 import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
 import ru.hse.germandilio.jsonparser.utils.JsonDisplayUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
+/**
+ * Json array. While all elements are numbers of one kind, they are stored in {@code int[]},
+ * {@code long[]} or {@code double[]} without boxing. Storage is widened, when element of other kind is added.
+ * Lazy array gets its elements from loader on first access.
+ * Read-only array can be shared by several callers: all changes of it fail.
+ */
 public class JsonArray implements Iterable<Object> {
-    private final List<Object> array = new ArrayList<>();
+    private static final int EMPTY = 0;
+    private static final int INTS = 1;
+    private static final int LONGS = 2;
+    private static final int DOUBLES = 3;
+    private static final int OBJECTS = 4;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Largest integer, which is exactly represented by double.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private int storage = EMPTY;
+    private int size;
+
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    /**
+     * Bits of elements in {@code doubles}, which were added as integers.
+     */
+    private long[] integralBits;
+    private List<Object> array;
+
+    /**
+     * Creates content of lazy array, null when content is loaded.
+     */
+    private volatile Supplier<JsonArray> loader;
+
+    private boolean readOnly;
+
+    public JsonArray() {
+    }
+
+    /**
+     * Lazy array. Content is created by {@code loader} on first access to array and then is kept by it,
+     * so loader is called once even if array is read by several threads.
+     *
+     * @param loader creates array with elements of this array.
+     */
+    public JsonArray(Supplier<JsonArray> loader) {
+        this.loader = loader;
+    }
 
     public void add(Object object) {
-        array.add(object);
+        load();
+        checkWritable();
+        switch (storage) {
+            case EMPTY -> addFirst(object);
+            case INTS -> addToInts(object);
+            case LONGS -> addToLongs(object);
+            case DOUBLES -> addToDoubles(object);
+            default -> array.add(object);
+        }
+        if (storage != OBJECTS) {
+            ++size;
+        }
     }
 
     public Object get(int index) {
-        return array.get(index);
+        checkIndex(index);
+        return switch (storage) {
+            case INTS -> ints[index];
+            case LONGS -> NumberDecoder.integral(longs[index]);
+            case DOUBLES -> isIntegral(index)
+                    ? NumberDecoder.integral((long) doubles[index])
+                    : (Object) doubles[index];
+            default -> array.get(index);
+        };
     }
 
     public int size() {
-        return array.size();
+        load();
+        return storage == OBJECTS ? array.size() : size;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return switch (storage) {
+            case INTS -> ints[index];
+            case LONGS -> (int) longs[index];
+            case DOUBLES -> (int) doubles[index];
+            default -> getNumber(index).intValue();
+        };
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return switch (storage) {
+            case INTS -> ints[index];
+            case LONGS -> longs[index];
+            case DOUBLES -> (long) doubles[index];
+            default -> getNumber(index).longValue();
+        };
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index);
+        return switch (storage) {
+            case INTS -> ints[index];
+            case LONGS -> longs[index];
+            case DOUBLES -> doubles[index];
+            default -> getNumber(index).doubleValue();
+        };
+    }
+
+    /**
+     * Copy elements to array of double.
+     *
+     * @return new array.
+     * @throws JSONTypeException if any element isn't number.
+     */
+    public double[] toDoubleArray() {
+        load();
+        if (storage == DOUBLES) {
+            return Arrays.copyOf(doubles, size);
+        }
+        double[] result = new double[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getDouble(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copy elements to array of long.
+     *
+     * @return new array.
+     * @throws JSONTypeException if any element isn't number.
+     */
+    public long[] toLongArray() {
+        load();
+        if (storage == LONGS) {
+            return Arrays.copyOf(longs, size);
+        }
+        long[] result = new long[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getLong(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copy elements to array of int.
+     *
+     * @return new array.
+     * @throws JSONTypeException if any element isn't number.
+     */
+    public int[] toIntArray() {
+        load();
+        if (storage == INTS) {
+            return Arrays.copyOf(ints, size);
+        }
+        int[] result = new int[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getInt(i);
+        }
+        return result;
     }
 
     public JsonObject getJsonObject(int index) {
-        Object ref = array.get(index);
+        Object ref = get(index);
         if (!(ref instanceof JsonObject)) {
             throw new JSONTypeException("Type of object by index: " + index + ", isn't JsonObject");
         }
@@ -31,7 +189,7 @@ public class JsonArray implements Iterable<Object> {
     }
 
     public JsonArray getJsonArray(int index) {
-        Object ref = array.get(index);
+        Object ref = get(index);
         if (!(ref instanceof JsonArray)) {
             throw new JSONTypeException("Type of object by index: " + index + ", isn't JsonArray");
         }
@@ -45,11 +203,252 @@ public class JsonArray implements Iterable<Object> {
      */
     @Override
     public Iterator<Object> iterator() {
-        return array.listIterator();
+        load();
+        if (storage == OBJECTS) {
+            return readOnly ? Collections.unmodifiableList(array).iterator() : array.listIterator();
+        }
+
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Make this array and all nested objects and arrays read-only, lazy containers are loaded.
+     * Changes of read-only array throw {@code UnsupportedOperationException}.
+     *
+     * @return this array.
+     */
+    public JsonArray makeReadOnly() {
+        load();
+        if (!readOnly) {
+            readOnly = true;
+            if (storage == OBJECTS) {
+                for (Object element : array) {
+                    if (element instanceof JsonObject object) {
+                        object.makeReadOnly();
+                    } else if (element instanceof JsonArray nested) {
+                        nested.makeReadOnly();
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
     @Override
     public String toString() {
         return JsonDisplayUtils.convertToString(this);
     }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("JsonArray is read-only");
+        }
+    }
+
+    private Number getNumber(int index) {
+        Object ref = array.get(index);
+        if (!(ref instanceof Number)) {
+            throw new JSONTypeException("Type of object by index: " + index + ", isn't number");
+        }
+        return (Number) ref;
+    }
+
+    private void load() {
+        if (loader != null) {
+            loadContent();
+        }
+    }
+
+    private synchronized void loadContent() {
+        Supplier<JsonArray> contentLoader = loader;
+        if (contentLoader == null) {
+            return;
+        }
+        JsonArray content = contentLoader.get();
+        content.load();
+        storage = content.storage;
+        size = content.size;
+        ints = content.ints;
+        longs = content.longs;
+        doubles = content.doubles;
+        integralBits = content.integralBits;
+        array = content.array;
+        // fields are published by volatile write
+        loader = null;
+    }
+
+    private void checkIndex(int index) {
+        load();
+        if (storage != OBJECTS) {
+            // primitive arrays have spare capacity
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+        }
+    }
+
+    /**
+     * Integers are stored in primitive arrays only in form, which is produced by parser:
+     * {@code Integer} for values in range of int, otherwise {@code Long}.
+     * So {@code get} returns the same type as was added.
+     */
+    private static boolean isCanonicalInt(Object object) {
+        return object instanceof Integer value && NumberDecoder.integral(value) instanceof Integer;
+    }
+
+    private static boolean isCanonicalLong(Object object) {
+        return object instanceof Long value && NumberDecoder.integral(value) instanceof Long;
+    }
+
+    private void addFirst(Object object) {
+        if (isCanonicalInt(object)) {
+            storage = INTS;
+            ints = new int[INITIAL_CAPACITY];
+            ints[0] = (Integer) object;
+        } else if (isCanonicalLong(object)) {
+            storage = LONGS;
+            longs = new long[INITIAL_CAPACITY];
+            longs[0] = (Long) object;
+        } else if (object instanceof Double value) {
+            storage = DOUBLES;
+            doubles = new double[INITIAL_CAPACITY];
+            doubles[0] = value;
+        } else {
+            storage = OBJECTS;
+            array = new ArrayList<>();
+            array.add(object);
+        }
+    }
+
+    private void addToInts(Object object) {
+        if (isCanonicalInt(object)) {
+            if (size == ints.length) {
+                ints = Arrays.copyOf(ints, size * 2);
+            }
+            ints[size] = (Integer) object;
+        } else if (isCanonicalLong(object)) {
+            longs = new long[ints.length];
+            for (int i = 0; i < size; i++) {
+                longs[i] = ints[i];
+            }
+            ints = null;
+            storage = LONGS;
+            addToLongs(object);
+        } else if (object instanceof Double) {
+            doubles = new double[ints.length];
+            integralBits = new long[bitsLength(ints.length)];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = ints[i];
+                setIntegral(i);
+            }
+            ints = null;
+            storage = DOUBLES;
+            addToDoubles(object);
+        } else {
+            toObjects();
+            array.add(object);
+        }
+    }
+
+    private void addToLongs(Object object) {
+        if (isCanonicalInt(object) || isCanonicalLong(object)) {
+            if (size == longs.length) {
+                longs = Arrays.copyOf(longs, size * 2);
+            }
+            longs[size] = ((Number) object).longValue();
+            return;
+        }
+
+        if (object instanceof Double && allExactInDouble()) {
+            doubles = new double[longs.length];
+            integralBits = new long[bitsLength(longs.length)];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = longs[i];
+                setIntegral(i);
+            }
+            longs = null;
+            storage = DOUBLES;
+            addToDoubles(object);
+            return;
+        }
+
+        toObjects();
+        array.add(object);
+    }
+
+    private void addToDoubles(Object object) {
+        boolean integral = isCanonicalInt(object)
+                || isCanonicalLong(object) && Math.abs((Long) object) <= MAX_EXACT_DOUBLE;
+        if (!integral && !(object instanceof Double)) {
+            toObjects();
+            array.add(object);
+            return;
+        }
+
+        if (size == doubles.length) {
+            doubles = Arrays.copyOf(doubles, size * 2);
+            if (integralBits != null) {
+                integralBits = Arrays.copyOf(integralBits, bitsLength(doubles.length));
+            }
+        }
+        doubles[size] = ((Number) object).doubleValue();
+        if (integral) {
+            if (integralBits == null) {
+                integralBits = new long[bitsLength(doubles.length)];
+            }
+            setIntegral(size);
+        }
+    }
+
+    private boolean allExactInDouble() {
+        for (int i = 0; i < size; i++) {
+            if (Math.abs(longs[i]) > MAX_EXACT_DOUBLE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void toObjects() {
+        array = new ArrayList<>(Math.max(size * 2, INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            array.add(get(i));
+        }
+        storage = OBJECTS;
+        ints = null;
+        longs = null;
+        doubles = null;
+        integralBits = null;
+    }
+
+    private boolean isIntegral(int index) {
+        return integralBits != null && (integralBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setIntegral(int index) {
+        integralBits[index >>> 6] |= 1L << index;
+    }
+
+    private static int bitsLength(int capacity) {
+        return (capacity + Long.SIZE - 1) / Long.SIZE;
+    }
 }
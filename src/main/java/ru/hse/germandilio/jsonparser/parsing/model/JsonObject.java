@@ -4,51 +4,304 @@ import ru.hse.germandilio.jsonparser.utils.JsonDisplayUtils;
 import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
+/**
+ * Json object. Keys and values are stored in parallel arrays in order of insertion.
+ * Small objects are searched linearly, hash index is built only for objects larger than {@code LINEAR_SEARCH_LIMIT}.
+ * Lazy object gets its entries from loader on first access.
+ * Read-only object can be shared by several callers: all changes of it fail.
+ */
 public class JsonObject {
-    private final Map<String, Object> dictionary = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    private String[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Open addressing table of positions in {@code keys} plus one, 0 is empty slot.
+     */
+    private int[] index;
+
+    /**
+     * Creates content of lazy object, null when content is loaded.
+     */
+    private volatile Supplier<JsonObject> loader;
+
+    private boolean readOnly;
+
+    public JsonObject() {
+        keys = new String[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Lazy object. Content is created by {@code loader} on first access to object and then is kept by it,
+     * so loader is called once even if object is read by several threads.
+     *
+     * @param loader creates object with entries of this object.
+     */
+    public JsonObject(Supplier<JsonObject> loader) {
+        this.loader = loader;
+    }
 
     public Object get(String key) {
-        return dictionary.get(key);
+        int position = indexOf(key);
+        return position < 0 ? null : values[position];
     }
 
     public boolean containsKey(String key) {
-        return dictionary.containsKey(key);
+        load();
+        return indexOf(key) >= 0;
     }
 
     public void put(String key, Object value) {
-        dictionary.put(key, value);
+        load();
+        checkWritable();
+        int position = indexOf(key);
+        if (position >= 0) {
+            values[position] = value;
+            return;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        ++size;
+
+        if (index != null) {
+            if (size * 2 > index.length) {
+                buildIndex();
+            } else {
+                addToIndex(size - 1);
+            }
+        } else if (size > LINEAR_SEARCH_LIMIT) {
+            buildIndex();
+        }
+    }
+
+    public int size() {
+        load();
+        return size;
+    }
+
+    /**
+     * @param position position of entry in order of insertion.
+     * @return key of entry.
+     */
+    public String getKey(int position) {
+        load();
+        Objects.checkIndex(position, size);
+        return keys[position];
     }
 
+    /**
+     * @param position position of entry in order of insertion.
+     * @return value of entry.
+     */
+    public Object getValue(int position) {
+        load();
+        Objects.checkIndex(position, size);
+        return values[position];
+    }
+
+    /**
+     * Iterate over entries in order of insertion without creating entry objects.
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        load();
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Copy entries to list. Values are written to object by {@code setValue} of entry.
+     *
+     * @return entries in order of insertion.
+     */
     public List<Map.Entry<String, Object>> getAllEntries() {
-        return new ArrayList<>(dictionary.entrySet());
+        load();
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(i));
+        }
+        return entries;
     }
 
     public JsonObject getJsonObject(String key) {
-        if (!dictionary.containsKey(key)) {
+        int position = indexOf(key);
+        if (position < 0) {
             throw new IllegalArgumentException("Invalid key");
         }
-        if (!(dictionary.get(key) instanceof JsonObject)) {
+        if (!(values[position] instanceof JsonObject)) {
             throw new JSONTypeException("Type of object by key: " + key + ", isn't JsonObject");
         }
-        return (JsonObject) dictionary.get(key);
+        return (JsonObject) values[position];
     }
 
     public JsonArray getJsonArray(String key) {
-        if (!dictionary.containsKey(key)) {
+        int position = indexOf(key);
+        if (position < 0) {
             throw new IllegalArgumentException("Invalid key");
         }
-        if (!(dictionary.get(key) instanceof JsonArray)) {
+        if (!(values[position] instanceof JsonArray)) {
             throw new JSONTypeException("Type of object by key: " + key + ", isn't JsonArray");
         }
-        return (JsonArray) dictionary.get(key);
+        return (JsonArray) values[position];
+    }
+
+    /**
+     * Make this object and all nested objects and arrays read-only, lazy containers are loaded.
+     * Changes of read-only object throw {@code UnsupportedOperationException}.
+     *
+     * @return this object.
+     */
+    public JsonObject makeReadOnly() {
+        load();
+        if (!readOnly) {
+            readOnly = true;
+            for (int i = 0; i < size; i++) {
+                if (values[i] instanceof JsonObject object) {
+                    object.makeReadOnly();
+                } else if (values[i] instanceof JsonArray array) {
+                    array.makeReadOnly();
+                }
+            }
+        }
+        return this;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
     @Override
     public String toString() {
         return JsonDisplayUtils.convertToString(this);
     }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("JsonObject is read-only");
+        }
+    }
+
+    private void load() {
+        if (loader != null) {
+            loadContent();
+        }
+    }
+
+    private synchronized void loadContent() {
+        Supplier<JsonObject> contentLoader = loader;
+        if (contentLoader == null) {
+            return;
+        }
+        JsonObject content = contentLoader.get();
+        content.load();
+        keys = content.keys;
+        values = content.values;
+        size = content.size;
+        index = content.index;
+        // fields are published by volatile write
+        loader = null;
+    }
+
+    private int indexOf(String key) {
+        load();
+        if (index == null) {
+            // keys from symbol table are the same instances, so most comparisons end on identity check
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key || key != null && key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (Objects.equals(keys[position], key)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private void buildIndex() {
+        // load factor is not more than 0.5
+        index = new int[Integer.highestOneBit(size * 4 - 1)];
+        for (int i = 0; i < size; i++) {
+            addToIndex(i);
+        }
+    }
+
+    private void addToIndex(int position) {
+        int mask = index.length - 1;
+        int slot = hash(keys[position]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private static int hash(String key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+        private final int position;
+
+        private Entry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[position];
+        }
+
+        @Override
+        public Object getValue() {
+            return values[position];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            checkWritable();
+            Object previous = values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> entry
+                    && Objects.equals(getKey(), entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+/**
+ * Precomputed classes of ASCII characters. Characters out of ASCII have no class.
+ */
+final class CharacterTable {
+    static final int WHITESPACE = 1;
+    static final int STRUCTURAL = 2;
+    static final int NUMBER_START = 4;
+    static final int NUMBER_BODY = 8;
+    /**
+     * Characters, which end plain text of string: quote, backslash and control characters.
+     */
+    static final int STRING_SPECIAL = 16;
+    static final int HEX_DIGIT = 32;
+
+    private static final byte[] CLASSES = new byte[128];
+
+    /**
+     * Token types of structural characters.
+     */
+    private static final TokenType[] STRUCTURAL_TOKENS = new TokenType[128];
+
+    static {
+        for (char ch : " \t\n\r".toCharArray()) {
+            CLASSES[ch] |= WHITESPACE;
+        }
+
+        STRUCTURAL_TOKENS['{'] = TokenType.START_OBJECT;
+        STRUCTURAL_TOKENS['}'] = TokenType.END_OBJECT;
+        STRUCTURAL_TOKENS['['] = TokenType.START_ARRAY;
+        STRUCTURAL_TOKENS[']'] = TokenType.END_ARRAY;
+        STRUCTURAL_TOKENS[':'] = TokenType.SEPARATOR_COLON;
+        STRUCTURAL_TOKENS[','] = TokenType.SEPARATOR_COMMA;
+        for (char ch : "{}[]:,".toCharArray()) {
+            CLASSES[ch] |= STRUCTURAL;
+        }
+
+        for (char ch : "-0123456789".toCharArray()) {
+            CLASSES[ch] |= NUMBER_START;
+        }
+        for (char ch : "-+.eE0123456789".toCharArray()) {
+            CLASSES[ch] |= NUMBER_BODY;
+        }
+
+        for (int ch = 0; ch < 0x20; ch++) {
+            CLASSES[ch] |= STRING_SPECIAL;
+        }
+        CLASSES['"'] |= STRING_SPECIAL;
+        CLASSES['\\'] |= STRING_SPECIAL;
+
+        for (char ch : "0123456789abcdefABCDEF".toCharArray()) {
+            CLASSES[ch] |= HEX_DIGIT;
+        }
+    }
+
+    private CharacterTable() {
+    }
+
+    /**
+     * Check if character belongs to class.
+     *
+     * @param character character or byte, -1 for the end of stream.
+     * @param characterClass one of classes or their combination.
+     * @return true if it belongs to any of classes.
+     */
+    static boolean is(int character, int characterClass) {
+        return character >= 0 && character < 128 && (CLASSES[character] & characterClass) != 0;
+    }
+
+    /**
+     * @return type of token for structural character, null for other characters.
+     */
+    static TokenType structuralToken(int character) {
+        return character >= 0 && character < 128 ? STRUCTURAL_TOKENS[character] : null;
+    }
+}
@@ -1,213 +1,317 @@
 package ru.hse.germandilio.jsonparser.parsing.parser;
 
 import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.metrics.ParseMetrics;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
 import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
 import ru.hse.germandilio.jsonparser.parsing.token.TokenSequence;
 import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 public class GrammarAnalizer {
     /**
      * expected tokens: SEPARATOR_COMMA(32) | END_OBJECT(2).
      * For string, null, boolean and number.
      */
-    private static final int IN_FINISHED_VALUE = 34;
+    static final int IN_FINISHED_VALUE = 34;
 
     /**
      * expected tokens: STRING(256) | END_OBJECT(2).
      * Initialization of object after START_OBJECT token.
      */
-    private static final int INIT_OBJECT = 258;
+    static final int INIT_OBJECT = 258;
 
     /**
      * expected tokens: SEPARATOR_COLON(16).
      * Used after initialization of key.
      */
-    private static final int END_OF_KEY = 16;
+    static final int END_OF_KEY = 16;
 
     /**
      * expected tokens: BOOLEAN(512) | STRING(256) | NUMBER(128) | NULL(64) | START_OBJECT(1) | START_ARRAY(4).
      * Used for value after key and in array after comma.
      */
-    private static final int IN_VALUE = 965;
+    static final int IN_VALUE = 965;
 
     /**
      * expected tokens: STRING(256).
      * Used after initialization of key-value pair.
      */
-    private static final int NEXT_KEY_VALUE_PAIR = 256;
+    static final int NEXT_KEY_VALUE_PAIR = 256;
 
     /**
      * expected tokens: START_ARRAY(4) | END_ARRAY(8) | START_OBJECT(1) | NULL(64) | NUMBER(128) | BOOLEAN(512) | STRING(256).
      * For start of array.
      */
-    private static final int START_ARRAY = 973;
+    static final int START_ARRAY = 973;
 
     /**
      * expected tokens: SEPARATOR_COMMA(32) | END_ARRAY(8).
      * Used for combinations in array sequence of tokens.
      */
-    private static final int IN_ARRAY = 40;
+    static final int IN_ARRAY = 40;
+
+    /**
+     * Default max depth of nesting of objects and arrays.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+
+    private static final int INITIAL_DEPTH = 32;
+
+    private final boolean useBigDecimal;
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+
+    private TokenCursor tokens;
+
+    /**
+     * Open containers and their keys, root isn't kept in stack.
+     */
+    private Object[] stack = new Object[INITIAL_DEPTH];
+    private String[] stackKeys = new String[INITIAL_DEPTH];
 
-    private TokenSequence tokens;
+    // counters of last container for metrics
+    private long tokenCount;
+    private long elementCount;
+    private int depthReached;
+
+    public GrammarAnalizer() {
+        this(false);
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public GrammarAnalizer(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
 
-    public Object parse(TokenSequence tokens) {
+    public Object parse(TokenSequence tokens) throws IOException {
         tokens.reset();
+        return parse((TokenCursor) tokens);
+    }
+
+    /**
+     * Parse tokens taking them one by one from {@code tokens}.
+     * With {@code LexicalAnalyzer} as source model is built in single pass,
+     * without storing whole sequence of tokens. Text of token is requested only for values and keys.
+     * Source is read up to its end, tokens after root fail with {@code JSONParseException}.
+     *
+     * @param tokens source of tokens.
+     * @return {@code JsonArray} or {@code JsonObject}.
+     * @throws IOException cannot read next token from source.
+     */
+    public Object parse(TokenCursor tokens) throws IOException {
         this.tokens = tokens;
-        return analizeJSONGrammar();
+        ParseMetrics.Probe probe = ParseMetrics.startParsing();
+        if (probe == null) {
+            return analizeJSONGrammar();
+        }
+
+        var lexer = tokens instanceof LexicalAnalyzer analyzer ? analyzer : null;
+        long startOffset = lexer != null ? lexer.offset() : 0;
+        Object result = analizeJSONGrammar();
+        probe.parsed(lexer != null ? lexer.offset() - startOffset : 0, tokenCount, elementCount, depthReached);
+        return result;
     }
 
-    private Object analizeJSONGrammar() {
-        var token = tokens.next();
-        if (token == null) {
+    private Object analizeJSONGrammar() throws IOException {
+        var type = tokens.advance();
+        if (type == null) {
+            tokenCount = 0;
+            elementCount = 1;
+            depthReached = 1;
             return new JsonObject();
         }
 
-        if (token.getType() == TokenType.START_ARRAY) {
-            return parseJsonArray();
-        }
-        if (token.getType() == TokenType.START_OBJECT) {
-            return parseJsonObject();
+        if (type == TokenType.START_ARRAY || type == TokenType.START_OBJECT) {
+            Object root = parseContainer(type, 0);
+            // whole input is read, so text after root isn't ignored
+            TokenType end = tokens.advance();
+            if (end != null && end != TokenType.END_DOCUMENT) {
+                throw new JSONParseException("Invalid token sequence. Unexpected text after root");
+            }
+            return root;
         }
 
         throw new JSONParseException("Invalid token sequence. Should start file only from tokens:\"{\" or \"[\"");
     }
 
-    private void checkWithException(Token token, int mask) {
-        if (!token.isValidToken(mask)) {
-            throw new JSONParseException("Invalid token:" + token);
+    /**
+     * Parse value, which first token was already taken from {@code tokens}.
+     *
+     * @param tokens source of tokens, positioned after {@code start} token.
+     * @param start first token of value: START_OBJECT, START_ARRAY, STRING, NUMBER, BOOLEAN or NULL.
+     * @param outerDepth count of objects and arrays around value, they are counted by max depth too.
+     * @return {@code JsonObject}, {@code JsonArray} or value of scalar.
+     * @throws IOException cannot read next token from source.
+     */
+    Object parseNested(TokenCursor tokens, TokenType start, int outerDepth) throws IOException {
+        this.tokens = tokens;
+        checkWithException(start, IN_VALUE);
+
+        return switch (start) {
+            case START_OBJECT, START_ARRAY -> parseContainer(start, outerDepth);
+            case NUMBER -> tokens.getNumber(useBigDecimal);
+            case BOOLEAN -> Boolean.valueOf(tokens.getText());
+            case STRING -> tokens.getText();
+            default -> null;
+        };
+    }
+
+    /**
+     * Parse single value: object, array, string, number, boolean or null.
+     *
+     * @param tokens source of tokens.
+     * @param end token, which should follow value: SEPARATOR_COMMA or END_DOCUMENT.
+     * @param outerDepth count of objects and arrays around value.
+     * @return value.
+     * @throws IOException cannot read next token from source.
+     */
+    Object parseValue(TokenCursor tokens, TokenType end, int outerDepth) throws IOException {
+        TokenType type = tokens.advance();
+        if (type == null) {
+            throw new JSONParseException("Invalid sequence of tokens");
         }
+        Object value = parseNested(tokens, type, outerDepth);
+
+        type = tokens.advance();
+        if (type != end && (type != null || end != TokenType.END_DOCUMENT)) {
+            throw new JSONParseException("Invalid token:" + new Token(type, tokens.getText()));
+        }
+        return value;
     }
 
-    private JsonObject parseJsonObject() {
-        JsonObject jsonObject = new JsonObject();
-        String key = null;
-        int expectedToken = INIT_OBJECT;
-
-        while (tokens.hasMore()) {
-            Token token = tokens.next();
-            switch (token.getType()) {
-                case START_OBJECT -> {
-                    checkWithException(token, expectedToken);
-                    // recursion processing of inner object
-                    jsonObject.put(key, parseJsonObject());
-                    expectedToken = IN_FINISHED_VALUE;
-                }
-                case NUMBER -> {
-                    checkWithException(token, expectedToken);
-                    jsonObject.put(key, defineNumberType(token.getValue()));
-                    expectedToken = IN_FINISHED_VALUE;
-                }
-                case NULL -> {
-                    checkWithException(token, expectedToken);
-                    jsonObject.put(key, null);
-                    expectedToken = IN_FINISHED_VALUE;
-                }
-                case BOOLEAN -> {
-                    checkWithException(token, expectedToken);
-                    jsonObject.put(key, Boolean.valueOf(token.getValue()));
-                    expectedToken = IN_FINISHED_VALUE;
-                }
-                case STRING -> {
-                    checkWithException(token, expectedToken);
-                    TokenType previousTokenType = tokens.previousTokenType();
-                    if (previousTokenType == TokenType.SEPARATOR_COLON) {
-                        jsonObject.put(key, token.getValue());
-                        expectedToken = IN_FINISHED_VALUE;
-                    } else {
-                        key = token.getValue();
-                        expectedToken = END_OF_KEY;
-                    }
-                }
-                case SEPARATOR_COLON -> {
-                    checkWithException(token, expectedToken);
-                    expectedToken = IN_VALUE;
-                }
-                case SEPARATOR_COMMA -> {
-                    checkWithException(token, expectedToken);
-                    expectedToken = NEXT_KEY_VALUE_PAIR;
-                }
-                case START_ARRAY -> {
-                    checkWithException(token, expectedToken);
-                    // processing of array
-                    jsonObject.put(key, parseJsonArray());
-                    expectedToken = IN_FINISHED_VALUE;
-                }
-                case END_OBJECT, END_DOCUMENT -> {
-                    checkWithException(token, expectedToken);
-                    return jsonObject;
-                }
-                default -> throw new JSONParseException("Unexpected token (was provided invalid type by JSON rules).");
-            }
+    private void checkWithException(TokenType type, int mask) {
+        if (!type.isValidTokenTypeByMask(mask)) {
+            throw new JSONParseException("Invalid token:" + new Token(type, tokens.getText()));
         }
-        // if there was no END_DOCUMENT or END_OBJECT provided.
-        throw new JSONParseException("Invalid sequence of tokens");
     }
 
-    private JsonArray parseJsonArray() {
-        JsonArray jsonArray = new JsonArray();
-        int expectToken = START_ARRAY;
-
-        while (tokens.hasMore()) {
-            Token token = tokens.next();
-            switch (token.getType()) {
-                case START_OBJECT -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(parseJsonObject());
-                    expectToken = IN_ARRAY;
-                }
-                case START_ARRAY -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(parseJsonArray());
-                    expectToken = IN_ARRAY;
-                }
-                case NULL -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(null);
-                    expectToken = IN_ARRAY;
-                }
-                case NUMBER -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(defineNumberType(token.getValue()));
-                    expectToken = IN_ARRAY;
-                }
-                case BOOLEAN -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(Boolean.valueOf(token.getValue()));
-                    expectToken = IN_ARRAY;
-                }
-                case STRING -> {
-                    checkWithException(token, expectToken);
-                    jsonArray.add(token.getValue());
-                    expectToken = IN_ARRAY;
+    /**
+     * Parse object or array, which first token was already taken. Nested containers are kept in explicit stack
+     * instead of recursion, so depth of json doesn't depend on size of thread stack.
+     */
+    private Object parseContainer(TokenType start, int outerDepth) throws IOException {
+        if (outerDepth >= maxDepth) {
+            throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+        }
+        JsonObject object = start == TokenType.START_OBJECT ? new JsonObject() : null;
+        JsonArray array = object == null ? new JsonArray() : null;
+        int expectedToken = object != null ? INIT_OBJECT : START_ARRAY;
+        String key = null;
+        int depth = 0;
+        int deepest = 0;
+        long count = 1;
+        long elements = 1;
+
+        try {
+            TokenType type;
+            while ((type = tokens.advance()) != null) {
+                ++count;
+                if (type == TokenType.START_DOCUMENT || type == TokenType.NAME) {
+                    throw new JSONParseException("Unexpected token (was provided invalid type by JSON rules).");
                 }
-                case SEPARATOR_COMMA -> {
-                    checkWithException(token, expectToken);
-                    expectToken = IN_VALUE;
+                checkWithException(type, expectedToken);
+
+                Object value;
+                switch (type) {
+                    case START_OBJECT, START_ARRAY -> {
+                        if (outerDepth + depth + 1 >= maxDepth) {
+                            throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+                        }
+                        push(depth++, object != null ? object : array, key);
+                        deepest = Math.max(deepest, depth);
+                        key = null;
+                        if (type == TokenType.START_OBJECT) {
+                            object = new JsonObject();
+                            array = null;
+                            expectedToken = INIT_OBJECT;
+                        } else {
+                            object = null;
+                            array = new JsonArray();
+                            expectedToken = START_ARRAY;
+                        }
+                        continue;
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        Object finished = object != null ? object : array;
+                        if (depth == 0) {
+                            return finished;
+                        }
+                        // continue parent container with its key
+                        --depth;
+                        Object parent = stack[depth];
+                        key = stackKeys[depth];
+                        stack[depth] = null;
+                        stackKeys[depth] = null;
+                        object = parent instanceof JsonObject parentObject ? parentObject : null;
+                        array = object == null ? (JsonArray) parent : null;
+                        value = finished;
+                    }
+                    case STRING -> {
+                        // in object after colon string is value, otherwise it's key
+                        if (object != null && expectedToken != IN_VALUE) {
+                            key = tokens.getName();
+                            expectedToken = END_OF_KEY;
+                            continue;
+                        }
+                        value = tokens.getText();
+                    }
+                    case NUMBER -> value = tokens.getNumber(useBigDecimal);
+                    case BOOLEAN -> value = Boolean.valueOf(tokens.getText());
+                    case NULL -> value = null;
+                    case SEPARATOR_COLON -> {
+                        expectedToken = IN_VALUE;
+                        continue;
+                    }
+                    case SEPARATOR_COMMA -> {
+                        expectedToken = object != null ? NEXT_KEY_VALUE_PAIR : IN_VALUE;
+                        continue;
+                    }
+                    default -> throw new JSONParseException("Unexpected token (was provided invalid type by JSON rules).");
                 }
-                case END_ARRAY, END_DOCUMENT -> {
-                    checkWithException(token, expectToken);
-                    return jsonArray;
+
+                ++elements;
+                if (object != null) {
+                    object.put(key, value);
+                    expectedToken = IN_FINISHED_VALUE;
+                } else {
+                    array.add(value);
+                    expectedToken = IN_ARRAY;
                 }
-                default -> throw new JSONParseException("Unexpected token (was provided invalid type by JSON rules).");
             }
+            // if there was no END_OBJECT or END_ARRAY provided.
+            throw new JSONParseException("Invalid sequence of tokens");
+        } finally {
+            // reused analyzer doesn't keep parts of result
+            Arrays.fill(stack, 0, depth, null);
+            Arrays.fill(stackKeys, 0, depth, null);
+            tokenCount = count;
+            elementCount = elements;
+            depthReached = deepest + 1;
         }
-        // if there was no END_DOCUMENT or END_OBJECT provided.
-        throw new JSONParseException("Invalid sequence of tokens");
     }
 
-    private Object defineNumberType(String tokenValue) {
-        // define 3 types: double, long and int.
-        if (tokenValue.contains("e") || tokenValue.contains("E") || tokenValue.contains(".")) {
-            return Double.valueOf(tokenValue);
-        } else {
-            var number = Long.valueOf(tokenValue);
-            if (number < Integer.MAX_VALUE && number > Integer.MIN_VALUE) {
-                return number.intValue();
-            } else {
-                return number;
-            }
+    private void push(int depth, Object container, String key) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+            stackKeys = Arrays.copyOf(stackKeys, depth * 2);
         }
+        stack[depth] = container;
+        stackKeys[depth] = key;
     }
 }
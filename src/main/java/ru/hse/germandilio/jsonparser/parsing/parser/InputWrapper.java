@@ -0,0 +1,83 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import java.io.IOException;
+
+/**
+ * Buffered source of characters for {@code LexicalAnalyzer}.
+ * Characters are returned as code units of the source: {@code char} for readers, bytes of UTF-8 for byte input.
+ */
+public interface InputWrapper {
+    int TERMINATION_SYMBOL = -1;
+
+    /**
+     * Read next character.
+     *
+     * @return Single character, or -1 if the stream reached his end.
+     * @throws IOException Cannot fill buffer from source.
+     */
+    int next() throws IOException;
+
+    /**
+     * @return Last char read, or -1 if the end of the stream is reached.
+     */
+    int peek();
+
+    /**
+     * Return position on previous position
+     */
+    void back();
+
+    /**
+     * Check if source is empty.
+     *
+     * @return True if empty, false otherwise
+     * @throws IOException Cannot fill buffer from source.
+     */
+    boolean isEmpty() throws IOException;
+
+    /**
+     * Mark position of the next character. Characters after mark are kept in buffer until {@code unmark} call,
+     * so positions of marked text stay valid when buffer is updated.
+     */
+    void mark();
+
+    /**
+     * Release mark, characters before current position can be dropped from buffer.
+     */
+    void unmark();
+
+    /**
+     * @return position of mark in buffer, -1 if there is no mark.
+     */
+    int markPosition();
+
+    /**
+     * @return position of the next character in buffer.
+     */
+    int position();
+
+    /**
+     * @return count of characters of source before the next character, not only characters in buffer.
+     */
+    long offset();
+
+    /**
+     * Decode text from buffer. Positions are valid only from {@code markPosition} up to {@code position}.
+     *
+     * @param start first position.
+     * @param end position after last character.
+     * @return decoded text.
+     */
+    String text(int start, int end);
+
+    /**
+     * Find text in symbol table without decoding it, if it's already there.
+     * Positions are valid only from {@code markPosition} up to {@code position}.
+     *
+     * @param symbols table of keys.
+     * @param start first position.
+     * @param end position after last character.
+     * @return text from table, or decoded text, which is added to table.
+     */
+    String symbol(SymbolTable symbols, int start, int end);
+}
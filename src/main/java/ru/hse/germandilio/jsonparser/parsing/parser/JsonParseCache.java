@@ -0,0 +1,326 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of parsed documents for json, which is parsed again and again. Documents are keyed by hash of content
+ * and its length, on hit content is compared, so different documents with the same hash aren't mixed.
+ * Results are read-only {@code JsonObject} or {@code JsonArray}, shared by all callers.
+ * <p>
+ * Cache is bounded by count of entries and estimated retained bytes: parsed tree and kept copy of content.
+ * Entries are split between segments by hash, each segment has own lock and evicts least recently used entries,
+ * so threads, which read different documents, rarely wait for each other. Limits are divided between segments,
+ * so full cache can evict entry a bit before total limit. Small cache (less than {@code 2 * MIN_SEGMENT_ENTRIES}
+ * entries) has single segment and keeps exactly {@code maxEntries} documents.
+ */
+public final class JsonParseCache {
+    private static final int MAX_SEGMENTS = 16;
+    /**
+     * Least count of entries in segment, less segments make eviction depend on distribution of hashes.
+     */
+    private static final int MIN_SEGMENT_ENTRIES = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+
+    // estimated sizes of objects in heap
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int STRING_SIZE = 24 + OBJECT_HEADER;
+    private static final int BOXED_SIZE = 16;
+    private static final int BIG_NUMBER_SIZE = 48;
+
+    /**
+     * Content of document: {@code String} or {@code byte[]}.
+     */
+    private static final class Key {
+        private final long hash;
+        private final int length;
+        private final Object content;
+
+        private Key(long hash, int length, Object content) {
+            this.hash = hash;
+            this.length = length;
+            this.content = content;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key key) || key.hash != hash || key.length != length) {
+                return false;
+            }
+            if (content instanceof byte[] bytes) {
+                return key.content instanceof byte[] other && Arrays.equals(bytes, 0, length, other, 0, length);
+            }
+            return content.equals(key.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+
+        private Entry(Object value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        // in order of access: least recently used first
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxEntries;
+        private final long maxBytes;
+        private long weight;
+
+        private Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries max count of cached documents.
+     * @param maxBytes max estimated bytes retained by cached documents.
+     */
+    public JsonParseCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Limits of cache should be positive");
+        }
+        int count = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries / MIN_SEGMENT_ENTRIES)));
+        segments = new Segment[count];
+        // remainder of division is given to first segments, so sum of their limits is exactly the limit of cache
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0),
+                    maxBytes / count + (i < maxBytes % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Parse json or take result of previous parse of the same json.
+     *
+     * @param jsonString {@code String} represented .json file.
+     * @return read-only {@code JsonArray} or {@code JsonObject}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(String jsonString) throws IOException {
+        var key = new Key(mix(jsonString.hashCode()), jsonString.length(), jsonString);
+        Object cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = JsonParser.fromJSON(jsonString);
+        // String is immutable, so it's kept without copying
+        return store(key, value, STRING_SIZE + (long) jsonString.length());
+    }
+
+    /**
+     * Parse json in UTF-8 or take result of previous parse of the same json.
+     * Copy of {@code bytes} is kept by cache, so array can be changed after call.
+     *
+     * @param bytes .json file in UTF-8.
+     * @return read-only {@code JsonArray} or {@code JsonObject}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(byte[] bytes) throws IOException {
+        long hash = hash(bytes);
+        Object cached = lookup(new Key(hash, bytes.length, bytes));
+        if (cached != null) {
+            return cached;
+        }
+        Object value = JsonParser.fromJSON(bytes);
+        return store(new Key(hash, bytes.length, bytes.clone()), value, OBJECT_HEADER + (long) bytes.length);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return count of cached documents.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return estimated bytes retained by cached documents.
+     */
+    public long getEstimatedBytes() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.weight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Remove all documents, counters are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+                segment.weight = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private Object lookup(Key key) {
+        Segment segment = segmentFor(key);
+        Entry entry;
+        segment.lock.lock();
+        try {
+            entry = segment.entries.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache parsed value. Document is parsed out of lock, so the same document can be parsed by several threads
+     * at once, the first stored result is kept.
+     */
+    private Object store(Key key, Object value, long contentWeight) {
+        Object result = value instanceof JsonObject object ? object.makeReadOnly() : ((JsonArray) value).makeReadOnly();
+        long weight = contentWeight + estimateSize(result);
+        Segment segment = segmentFor(key);
+        if (weight > segment.maxBytes) {
+            // document is larger than cache can keep
+            return result;
+        }
+
+        segment.lock.lock();
+        try {
+            Entry previous = segment.entries.putIfAbsent(key, new Entry(result, weight));
+            if (previous != null) {
+                return previous.value;
+            }
+            segment.weight += weight;
+
+            Iterator<Map.Entry<Key, Entry>> eldest = segment.entries.entrySet().iterator();
+            while (segment.entries.size() > segment.maxEntries || segment.weight > segment.maxBytes) {
+                segment.weight -= eldest.next().getValue().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        return result;
+    }
+
+    private Segment segmentFor(Key key) {
+        // higher bits, lower bits are used by hash table of segment
+        return segments[(int) (key.hash >>> 40) & (segments.length - 1)];
+    }
+
+    /**
+     * Hash of bytes, which are read by 8 at a time.
+     */
+    private static long hash(byte[] bytes) {
+        long hash = PRIME_2 + bytes.length;
+        int i = 0;
+        for (; i + Long.BYTES <= bytes.length; i += Long.BYTES) {
+            hash = Long.rotateLeft(hash ^ (long) LONGS.get(bytes, i) * PRIME_1, 31) * PRIME_2;
+        }
+        for (; i < bytes.length; i++) {
+            hash = Long.rotateLeft(hash ^ (bytes[i] & 0xFF) * PRIME_1, 11) * PRIME_2;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Spread bits of hash, so all bits depend on each bit of input.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= PRIME_1;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Rough size of tree in heap: containers with their arrays, strings and boxed numbers.
+     */
+    private static long estimateSize(Object value) {
+        if (value instanceof JsonObject object) {
+            long size = OBJECT_HEADER + 2L * REFERENCE * (object.size() + 4);
+            for (int i = 0; i < object.size(); i++) {
+                size += estimateSize(object.getKey(i)) + estimateSize(object.getValue(i));
+            }
+            return size;
+        }
+        if (value instanceof JsonArray array) {
+            long size = OBJECT_HEADER + (long) REFERENCE * (array.size() + 8);
+            for (Object element : array) {
+                size += estimateSize(element);
+            }
+            return size;
+        }
+        if (value instanceof String string) {
+            return STRING_SIZE + string.length();
+        }
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            return BIG_NUMBER_SIZE;
+        }
+        return value == null || value instanceof Boolean ? 0 : BOXED_SIZE;
+    }
+}
@@ -1,13 +1,292 @@
 package ru.hse.germandilio.jsonparser.parsing.parser;
 
+import ru.hse.germandilio.jsonparser.binding.JsonBinding;
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
 import ru.hse.germandilio.jsonparser.utils.JsonDisplayUtils;
+import ru.hse.germandilio.jsonparser.utils.JsonWriter;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 
+/**
+ * Static methods parse and convert json. Instance of {@code JsonParser} is reusable parser: buffers and analyzers
+ * are created once and reused by each parse, so parsing of small message allocates only result.
+ * Instance isn't thread-safe, it's used by one thread at a time or taken from {@code JsonParserPool}.
+ */
 public class JsonParser {
+    /**
+     * Parsers of static methods.
+     */
+    private static final JsonParserPool POOL = new JsonParserPool();
+    private static final JsonParserPool BIG_DECIMAL_POOL = new JsonParserPool(JsonParserPool.DEFAULT_SIZE, () -> {
+        var parser = new JsonParser();
+        parser.setUseBigDecimal(true);
+        return parser;
+    });
+
+    private final int bufferSize;
+    private boolean useBigDecimal;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+    private SymbolTable symbols;
+
+    private ReaderWrapper charInput;
+    private LexicalAnalyzer charLexer;
+    private Utf8Wrapper byteInput;
+    private LexicalAnalyzer byteLexer;
+    private GrammarAnalizer grammar;
+
+    public JsonParser() {
+        this(ReaderWrapper.BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize initial size of input buffers. Buffer grows for token longer than it,
+     *                   grown buffer is dropped after parse.
+     */
+    public JsonParser(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive");
+        }
+        this.bufferSize = bufferSize;
+        grammar = new GrammarAnalizer();
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        if (this.useBigDecimal != useBigDecimal) {
+            this.useBigDecimal = useBigDecimal;
+            grammar = new GrammarAnalizer(useBigDecimal);
+            grammar.setMaxDepth(maxDepth);
+        }
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        grammar.setMaxDepth(maxDepth);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param symbols table of keys, can be shared by several parsers. Null if keys shouldn't be reused.
+     */
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+        if (charLexer != null) {
+            charLexer.setSymbolTable(symbols);
+        }
+        if (byteLexer != null) {
+            byteLexer.setSymbolTable(symbols);
+        }
+    }
+
+    /**
+     * Parse json to {@code JsonArray} or {@code JsonObject} type.
+     * Characters are copied from {@code jsonString} to reused buffer.
+     * @param jsonString {@code String} represented .json file.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(String jsonString) throws IOException {
+        charInput().reset(jsonString);
+        return parseChars();
+    }
+
+    /**
+     * Parse json from {@code reader} to {@code JsonArray} or {@code JsonObject} type.
+     * @param reader source of .json file.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(Reader reader) throws IOException {
+        charInput().reset(reader);
+        return parseChars();
+    }
+
+    /**
+     * Parse json in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * @param bytes .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(byte[] bytes) throws IOException {
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parse range of {@code bytes} in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * @param bytes buffer with .json file in UTF-8.
+     * @param offset start of json.
+     * @param length length of json.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(byte[] bytes, int offset, int length) throws IOException {
+        byteInput().reset(bytes, offset, length);
+        return parseBytes();
+    }
+
+    /**
+     * Parse json in UTF-8 from {@code stream} to {@code JsonArray} or {@code JsonObject} type.
+     * @param stream source of .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(InputStream stream) throws IOException {
+        byteInput().reset(stream);
+        return parseBytes();
+    }
+
+    /**
+     * Parse remaining bytes of {@code buffer} in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * Position of {@code buffer} isn't changed.
+     * @param buffer .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(ByteBuffer buffer) throws IOException {
+        byteInput().reset(buffer);
+        return parseBytes();
+    }
+
+    /**
+     * Parse .json file in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * File is mapped to memory and read without copying it to heap, so only grammar of parser is reused.
+     * @param path path to .json file.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(Path path) throws IOException {
+        try (var input = new MappedFileWrapper(path)) {
+            return grammar.parse(new LexicalAnalyzer(input, symbols));
+        }
+    }
+
+    /**
+     * Bind json to value of {@code type} with max depth of this parser.
+     * @param jsonString {@code String} represented .json file.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     * @see #fromJSON(String, Class)
+     */
+    public <T> T parse(String jsonString, Class<T> type) throws IOException {
+        charInput().reset(jsonString);
+        return bind(charLexer, type);
+    }
+
+    /**
+     * Bind json from {@code reader} to value of {@code type} with max depth of this parser.
+     * @param reader source of .json file.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public <T> T parse(Reader reader, Class<T> type) throws IOException {
+        charInput().reset(reader);
+        return bind(charLexer, type);
+    }
+
+    /**
+     * Bind json in UTF-8 to value of {@code type} with max depth of this parser.
+     * @param bytes .json file in UTF-8.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public <T> T parse(byte[] bytes, Class<T> type) throws IOException {
+        byteInput().reset(bytes, 0, bytes.length);
+        return bind(byteLexer, type);
+    }
+
+    /**
+     * Bind json in UTF-8 from {@code stream} to value of {@code type} with max depth of this parser.
+     * @param stream source of .json file in UTF-8.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public <T> T parse(InputStream stream, Class<T> type) throws IOException {
+        byteInput().reset(stream);
+        return bind(byteLexer, type);
+    }
+
+    /**
+     * Drop references to last input. Called after each parse, buffers of usual size are kept for next parse.
+     */
+    public void reset() {
+        if (charInput != null) {
+            charInput.detach();
+            if (charInput.capacity() > bufferSize) {
+                charInput = null;
+                charLexer = null;
+            }
+        }
+        if (byteInput != null) {
+            byteInput.detach();
+            if (byteInput.capacity() > bufferSize) {
+                byteInput = null;
+                byteLexer = null;
+            }
+        }
+    }
+
+    private ReaderWrapper charInput() {
+        if (charInput == null) {
+            charInput = new ReaderWrapper(null, bufferSize);
+        }
+        if (charLexer == null) {
+            charLexer = new LexicalAnalyzer(charInput, symbols);
+        }
+        return charInput;
+    }
+
+    private Utf8Wrapper byteInput() {
+        if (byteInput == null) {
+            byteInput = new Utf8Wrapper(bufferSize);
+        }
+        if (byteLexer == null) {
+            byteLexer = new LexicalAnalyzer(byteInput, symbols);
+        }
+        return byteInput;
+    }
+
+    private Object parseChars() throws IOException {
+        try {
+            return grammar.parse(charLexer);
+        } finally {
+            reset();
+        }
+    }
+
+    private Object parseBytes() throws IOException {
+        try {
+            return grammar.parse(byteLexer);
+        } finally {
+            reset();
+        }
+    }
+
+    private <T> T bind(LexicalAnalyzer lexer, Class<T> type) throws IOException {
+        try {
+            return JsonBinding.read(lexer, type, maxDepth);
+        } finally {
+            reset();
+        }
+    }
+
     /**
      * Parse json to {@code JsonArray} or {@code JsonObject} type.
      * @param jsonString {@code String} represented .json file.
@@ -15,15 +294,170 @@ public class JsonParser {
      * @throws IOException I/O exception.
      */
     public static Object fromJSON(String jsonString) throws IOException {
-        var readerWrapper = new ReaderWrapper(new StringReader(jsonString));
+        return POOL.parse(jsonString);
+    }
 
-        // first step - convert to sequence of tokens
-        var lexicalAnalyzer = new LexicalAnalyzer(readerWrapper);
-        var tokens = lexicalAnalyzer.convertToTokens();
+    /**
+     * Parse json to {@code JsonArray} or {@code JsonObject} type.
+     * @param jsonString {@code String} represented .json file.
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(String jsonString, boolean useBigDecimal) throws IOException {
+        return (useBigDecimal ? BIG_DECIMAL_POOL : POOL).parse(jsonString);
+    }
 
-        // second step convert sequence to JSON object
-        var grammarAnalyzer = new GrammarAnalizer();
-        return grammarAnalyzer.parse(tokens);
+    /**
+     * Parse json from {@code reader} to {@code JsonArray} or {@code JsonObject} type.
+     * Tokens are passed to grammar one by one, so memory used by parsing is bounded by nesting depth.
+     * @param reader source of .json file.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(Reader reader) throws IOException {
+        return POOL.parse(reader);
+    }
+
+    /**
+     * Parse json from {@code reader} to {@code JsonArray} or {@code JsonObject} type.
+     * Keys of objects are taken from {@code symbols}, so repeated keys aren't allocated again.
+     * @param reader source of .json file.
+     * @param symbols table of keys, can be shared by several parses.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(Reader reader, SymbolTable symbols) throws IOException {
+        JsonParser parser = POOL.acquire();
+        try {
+            parser.setSymbolTable(symbols);
+            return parser.parse(reader);
+        } finally {
+            parser.setSymbolTable(null);
+            POOL.release(parser);
+        }
+    }
+
+    /**
+     * Parse json in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * Bytes are analyzed without charset decoding, only strings are decoded.
+     * @param bytes .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(byte[] bytes) throws IOException {
+        return POOL.parse(bytes);
+    }
+
+    /**
+     * Parse json in UTF-8 to lazy {@code JsonArray} or {@code JsonObject} type.
+     * Parse checks whole json and finds bounds of containers. Each container is built on first access to it,
+     * so untouched parts of json aren't decoded. Result keeps {@code bytes}, they shouldn't be changed.
+     * @param bytes .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSONLazy(byte[] bytes) throws IOException {
+        var parser = new StructuralParser();
+        parser.setLazy(true);
+        return parser.parse(bytes);
+    }
+
+    /**
+     * Parse json in UTF-8 from {@code stream} to {@code JsonArray} or {@code JsonObject} type.
+     * @param stream source of .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(InputStream stream) throws IOException {
+        return POOL.parse(stream);
+    }
+
+    /**
+     * Parse json in UTF-8 from {@code stream} to {@code JsonArray} or {@code JsonObject} type.
+     * Keys of objects are taken from {@code symbols}, so repeated keys aren't allocated again.
+     * @param stream source of .json file in UTF-8.
+     * @param symbols table of keys, can be shared by several parses.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(InputStream stream, SymbolTable symbols) throws IOException {
+        JsonParser parser = POOL.acquire();
+        try {
+            parser.setSymbolTable(symbols);
+            return parser.parse(stream);
+        } finally {
+            parser.setSymbolTable(null);
+            POOL.release(parser);
+        }
+    }
+
+    /**
+     * Parse remaining bytes of {@code buffer} in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * Position of {@code buffer} isn't changed.
+     * @param buffer .json file in UTF-8.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromJSON(ByteBuffer buffer) throws IOException {
+        return POOL.parse(buffer);
+    }
+
+    /**
+     * Parse .json file in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     * File is mapped to memory and read without copying it to heap.
+     * @param path path to .json file.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public static Object fromFile(Path path) throws IOException {
+        return POOL.parse(path);
+    }
+
+    /**
+     * Bind json to value of {@code type}: record, POJO, array, collection, map or scalar.
+     * Value is read from tokens directly, without building {@code JsonObject}.
+     * @param jsonString {@code String} represented .json file.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     * @throws SerializationException json can't be converted to type.
+     */
+    public static <T> T fromJSON(String jsonString, Class<T> type) throws IOException {
+        return fromJSON(new StringReader(jsonString), type);
+    }
+
+    /**
+     * Bind json from {@code reader} to value of {@code type}.
+     * @param reader source of .json file.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public static <T> T fromJSON(Reader reader, Class<T> type) throws IOException {
+        return JsonBinding.read(new LexicalAnalyzer(new ReaderWrapper(reader)), type);
+    }
+
+    /**
+     * Bind json in UTF-8 to value of {@code type}.
+     * @param bytes .json file in UTF-8.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public static <T> T fromJSON(byte[] bytes, Class<T> type) throws IOException {
+        return JsonBinding.read(new LexicalAnalyzer(new Utf8Wrapper(bytes)), type);
+    }
+
+    /**
+     * Bind json in UTF-8 from {@code stream} to value of {@code type}.
+     * @param stream source of .json file in UTF-8.
+     * @param type type of value.
+     * @return value.
+     * @throws IOException I/O exception.
+     */
+    public static <T> T fromJSON(InputStream stream, Class<T> type) throws IOException {
+        return JsonBinding.read(new LexicalAnalyzer(new Utf8Wrapper(stream)), type);
     }
 
     /**
@@ -43,4 +477,111 @@ public class JsonParser {
     public static String toJson(JsonObject object) {
         return JsonDisplayUtils.convertToString(object);
     }
+
+    /**
+     * Converts {@code JsonArray} to {@code String} representation in Json notation.
+     * @param array {@code JsonArray} object to convert.
+     * @param compact convert without line breaks and indents.
+     * @return {@code String}
+     */
+    public static String toJson(JsonArray array, boolean compact) {
+        return compact ? JsonDisplayUtils.convertToCompactString(array) : JsonDisplayUtils.convertToString(array);
+    }
+
+    /**
+     * Converts {@code JsonObject} to {@code String} representation in Json notation.
+     * @param object {@code JsonObject} object to convert.
+     * @param compact convert without line breaks and indents.
+     * @return {@code String}
+     */
+    public static String toJson(JsonObject object, boolean compact) {
+        return compact ? JsonDisplayUtils.convertToCompactString(object) : JsonDisplayUtils.convertToString(object);
+    }
+
+    /**
+     * Converts record, POJO, array, collection, map or scalar to {@code String} representation in Json notation.
+     * @param value object to convert.
+     * @return {@code String}
+     * @throws SerializationException type of value isn't supported.
+     */
+    public static String toJson(Object value) {
+        return toJson(value, false);
+    }
+
+    /**
+     * Converts record, POJO, array, collection, map or scalar to {@code String} representation in Json notation.
+     * @param value object to convert.
+     * @param compact convert without line breaks and indents.
+     * @return {@code String}
+     * @throws SerializationException type of value isn't supported.
+     */
+    public static String toJson(Object value, boolean compact) {
+        var output = new StringWriter();
+        var writer = new JsonWriter(output);
+        writer.setCompact(compact);
+        try {
+            JsonBinding.write(writer, value);
+            writer.flush();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot convert value to string", e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Write record, POJO, array, collection, map or scalar in Json notation to {@code stream} in UTF-8.
+     * Stream is flushed, but not closed.
+     * @param value object to write.
+     * @param stream output.
+     * @throws IOException I/O exception.
+     */
+    public static void toJson(Object value, OutputStream stream) throws IOException {
+        var writer = new JsonWriter(stream);
+        JsonBinding.write(writer, value);
+        writer.flush();
+    }
+
+    /**
+     * Write {@code JsonArray} in Json notation to {@code stream} in UTF-8 without building {@code String}.
+     * Stream is flushed, but not closed.
+     * @param array {@code JsonArray} object to write.
+     * @param stream output.
+     * @throws IOException I/O exception.
+     */
+    public static void toJson(JsonArray array, OutputStream stream) throws IOException {
+        new JsonWriter(stream).write(array).flush();
+    }
+
+    /**
+     * Write {@code JsonObject} in Json notation to {@code stream} in UTF-8 without building {@code String}.
+     * Stream is flushed, but not closed.
+     * @param object {@code JsonObject} object to write.
+     * @param stream output.
+     * @throws IOException I/O exception.
+     */
+    public static void toJson(JsonObject object, OutputStream stream) throws IOException {
+        new JsonWriter(stream).write(object).flush();
+    }
+
+    /**
+     * Write {@code JsonArray} in Json notation to {@code writer} without building {@code String}.
+     * Writer is flushed, but not closed.
+     * @param array {@code JsonArray} object to write.
+     * @param writer output.
+     * @throws IOException I/O exception.
+     */
+    public static void toJson(JsonArray array, Writer writer) throws IOException {
+        new JsonWriter(writer).write(array).flush();
+    }
+
+    /**
+     * Write {@code JsonObject} in Json notation to {@code writer} without building {@code String}.
+     * Writer is flushed, but not closed.
+     * @param object {@code JsonObject} object to write.
+     * @param writer output.
+     * @throws IOException I/O exception.
+     */
+    public static void toJson(JsonObject object, Writer writer) throws IOException {
+        new JsonWriter(writer).write(object).flush();
+    }
 }
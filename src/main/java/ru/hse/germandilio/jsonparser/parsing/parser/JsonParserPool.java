@@ -0,0 +1,158 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable {@code JsonParser} instances, which can be used by many threads.
+ * Free parsers are kept in slots of atomic array, so taking and returning parser doesn't lock and doesn't allocate.
+ * Parsers aren't bound to threads, so pool suits virtual threads, which are too many for thread-local parsers.
+ */
+public final class JsonParserPool {
+    /**
+     * Default max number of free parsers, it depends on number of processors.
+     */
+    static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final AtomicReferenceArray<JsonParser> slots;
+    private final Supplier<JsonParser> factory;
+
+    /**
+     * Pool of parsers with default settings, size depends on number of processors.
+     */
+    public JsonParserPool() {
+        this(DEFAULT_SIZE, JsonParser::new);
+    }
+
+    /**
+     * @param maxSize max number of free parsers kept by pool.
+     * @param factory creates parser, when pool is empty.
+     */
+    public JsonParserPool(int maxSize, Supplier<JsonParser> factory) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size should be positive");
+        }
+        slots = new AtomicReferenceArray<>(maxSize);
+        this.factory = factory;
+    }
+
+    /**
+     * Take free parser or create new one, if there are no free parsers.
+     * Parser should be returned by {@code release} after use.
+     */
+    public JsonParser acquire() {
+        int start = probe();
+        for (int i = 0; i < slots.length(); i++) {
+            int index = (start + i) % slots.length();
+            JsonParser parser = slots.get(index);
+            if (parser != null && slots.compareAndSet(index, parser, null)) {
+                return parser;
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Return parser to pool. Parser is dropped, if pool is full.
+     * Parser drops references to input by itself after each parse, so it isn't reset here again.
+     */
+    public void release(JsonParser parser) {
+        int start = probe();
+        for (int i = 0; i < slots.length(); i++) {
+            int index = (start + i) % slots.length();
+            if (slots.get(index) == null && slots.compareAndSet(index, null, parser)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Parse json by parser of pool.
+     * @see JsonParser#parse(String)
+     */
+    public Object parse(String jsonString) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(jsonString);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parse json from {@code reader} by parser of pool.
+     * @see JsonParser#parse(Reader)
+     */
+    public Object parse(Reader reader) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(reader);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parse json in UTF-8 by parser of pool.
+     * @see JsonParser#parse(byte[])
+     */
+    public Object parse(byte[] bytes) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(bytes);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parse json in UTF-8 from {@code stream} by parser of pool.
+     * @see JsonParser#parse(InputStream)
+     */
+    public Object parse(InputStream stream) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(stream);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parse remaining bytes of {@code buffer} in UTF-8 by parser of pool.
+     * @see JsonParser#parse(ByteBuffer)
+     */
+    public Object parse(ByteBuffer buffer) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(buffer);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parse .json file in UTF-8 by parser of pool.
+     * @see JsonParser#parse(Path)
+     */
+    public Object parse(Path path) throws IOException {
+        JsonParser parser = acquire();
+        try {
+            return parser.parse(path);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Slot to start search from. Threads start from different slots, so they rarely compete for one slot.
+     */
+    private int probe() {
+        return (Thread.currentThread().hashCode() & Integer.MAX_VALUE) % slots.length();
+    }
+}
@@ -0,0 +1,398 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selective parsing by JSON Pointer (RFC 6901) or subset of JSONPath: {@code $}, {@code .name}, {@code ['name']},
+ * {@code [index]}, {@code [*]} and {@code .*}. Only matching values are built. Other values are skipped
+ * by lexer without creating their text, but their tokens are checked by the same rules as {@code GrammarAnalizer} does.
+ * {@code select} reads whole source, {@code selectFirst} stops reading as soon as it finds value.
+ * Names are compared with text of keys as it's written in json: escape sequences aren't decoded by parser.
+ * Each occurrence of duplicate key is matched in order of document.
+ */
+public final class JsonQuery {
+    private static final int NO_INDEX = -1;
+
+    private final Segment[] segments;
+    private boolean useBigDecimal;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+
+    private JsonQuery(List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * @param pointer JSON Pointer, for example {@code /meta/id} or {@code /items/0/price}.
+     * @return query.
+     * @throws IllegalArgumentException pointer is invalid.
+     */
+    public static JsonQuery pointer(String pointer) {
+        List<Segment> segments = new ArrayList<>();
+        if (pointer.isEmpty()) {
+            return new JsonQuery(segments);
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("Invalid JSON Pointer: " + pointer);
+        }
+
+        for (String part : pointer.substring(1).split("/", -1)) {
+            String name = part.replace("~1", "/").replace("~0", "~");
+            // number is index in array, but it's also name in object
+            segments.add(new Segment(name, parseIndex(name), false));
+        }
+        return new JsonQuery(segments);
+    }
+
+    /**
+     * @param path JSONPath, for example {@code $.meta.id} or {@code $.items[*].price}.
+     * @return query.
+     * @throws IllegalArgumentException path is invalid or isn't supported.
+     */
+    public static JsonQuery path(String path) {
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("Invalid JSONPath: " + path);
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int pos = 1;
+        while (pos < path.length()) {
+            char ch = path.charAt(pos);
+            if (ch == '.') {
+                int end = pos + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    ++end;
+                }
+                String name = path.substring(pos + 1, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid JSONPath: " + path);
+                }
+                segments.add(name.equals("*") ? new Segment(null, NO_INDEX, true) : new Segment(name, NO_INDEX, false));
+                pos = end;
+            } else if (ch == '[') {
+                int end = path.indexOf(']', pos);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Invalid JSONPath: " + path);
+                }
+                segments.add(parseBracket(path, path.substring(pos + 1, end)));
+                pos = end + 1;
+            } else {
+                throw new IllegalArgumentException("Invalid JSONPath: " + path);
+            }
+        }
+        return new JsonQuery(segments);
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public List<Object> select(String json) throws IOException {
+        return select(new ReaderWrapper(new StringReader(json)));
+    }
+
+    public List<Object> select(Reader reader) throws IOException {
+        return select(new ReaderWrapper(reader));
+    }
+
+    public List<Object> select(byte[] bytes) throws IOException {
+        return select(new Utf8Wrapper(bytes));
+    }
+
+    public List<Object> select(InputStream stream) throws IOException {
+        return select(new Utf8Wrapper(stream));
+    }
+
+    /**
+     * Find all matching values in order of document.
+     *
+     * @param input source of json.
+     * @return {@code JsonObject}, {@code JsonArray} or values of scalars, empty list if nothing matches.
+     * @throws IOException cannot read source.
+     */
+    public List<Object> select(InputWrapper input) throws IOException {
+        List<Object> results = new ArrayList<>();
+        new Selection(input, results, false).run();
+        return results;
+    }
+
+    public Object selectFirst(String json) throws IOException {
+        return selectFirst(new ReaderWrapper(new StringReader(json)));
+    }
+
+    public Object selectFirst(Reader reader) throws IOException {
+        return selectFirst(new ReaderWrapper(reader));
+    }
+
+    public Object selectFirst(byte[] bytes) throws IOException {
+        return selectFirst(new Utf8Wrapper(bytes));
+    }
+
+    public Object selectFirst(InputStream stream) throws IOException {
+        return selectFirst(new Utf8Wrapper(stream));
+    }
+
+    /**
+     * Find the first matching value, the rest of source isn't read.
+     *
+     * @param input source of json.
+     * @return {@code JsonObject}, {@code JsonArray} or value of scalar, null if nothing matches.
+     * @throws IOException cannot read source.
+     */
+    public Object selectFirst(InputWrapper input) throws IOException {
+        List<Object> results = new ArrayList<>(1);
+        new Selection(input, results, true).run();
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    private static Segment parseBracket(String path, String content) {
+        if (content.equals("*")) {
+            return new Segment(null, NO_INDEX, true);
+        }
+        if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                && content.charAt(content.length() - 1) == content.charAt(0)) {
+            return new Segment(content.substring(1, content.length() - 1), NO_INDEX, false);
+        }
+        int index = parseIndex(content);
+        if (index == NO_INDEX) {
+            throw new IllegalArgumentException("Invalid JSONPath: " + path);
+        }
+        return new Segment(null, index, false);
+    }
+
+    /**
+     * @return index, or NO_INDEX if text isn't non-negative integer without leading zeros.
+     */
+    private static int parseIndex(String text) {
+        if (text.isEmpty() || text.length() > 9 || text.length() > 1 && text.charAt(0) == '0') {
+            return NO_INDEX;
+        }
+        int index = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return NO_INDEX;
+            }
+            index = index * 10 + (ch - '0');
+        }
+        return index;
+    }
+
+    /**
+     * @param name key in object, null if segment doesn't match keys.
+     * @param index index in array, NO_INDEX if segment doesn't match elements.
+     * @param wildcard segment matches any key and element.
+     */
+    private record Segment(String name, int index, boolean wildcard) {
+        boolean matches(String key) {
+            return wildcard || key.equals(name);
+        }
+
+        boolean matches(int position) {
+            return wildcard || index == position;
+        }
+    }
+
+    /**
+     * Single walk over source.
+     */
+    private final class Selection {
+        private final LexicalAnalyzer lexer;
+        private final GrammarAnalizer grammar = new GrammarAnalizer(useBigDecimal);
+        private final List<Object> results;
+        private final boolean stopOnFirst;
+
+        /**
+         * For skipped containers: true for object, false for array on each level of nesting.
+         */
+        private boolean[] objects = new boolean[16];
+
+        private Selection(InputWrapper input, List<Object> results, boolean stopOnFirst) {
+            lexer = new LexicalAnalyzer(input);
+            grammar.setMaxDepth(maxDepth);
+            this.results = results;
+            this.stopOnFirst = stopOnFirst;
+        }
+
+        private void run() throws IOException {
+            TokenType type = lexer.advance();
+            if (type != TokenType.START_OBJECT && type != TokenType.START_ARRAY) {
+                throw new JSONParseException("Invalid token sequence. Should start file only from tokens:\"{\" or \"[\"");
+            }
+            if (!select(type, 0)) {
+                // whole input is read, so text after root isn't ignored
+                expect(lexer.advance(), TokenType.END_DOCUMENT);
+            }
+        }
+
+        /**
+         * @param type first token of value, which was already taken.
+         * @param depth count of matched segments, it's count of objects and arrays around value too.
+         * @return true if selection is finished.
+         */
+        private boolean select(TokenType type, int depth) throws IOException {
+            checkValue(type);
+            if (depth == segments.length) {
+                results.add(grammar.parseNested(lexer, type, depth));
+                return stopOnFirst;
+            }
+            checkDepth(type, depth);
+            if (type == TokenType.START_OBJECT) {
+                return selectInObject(segments[depth], depth);
+            }
+            if (type == TokenType.START_ARRAY) {
+                return selectInArray(segments[depth], depth);
+            }
+            // scalar has no nested values
+            return false;
+        }
+
+        private boolean selectInObject(Segment segment, int depth) throws IOException {
+            TokenType type = lexer.advance();
+            if (type == TokenType.END_OBJECT) {
+                return false;
+            }
+
+            while (true) {
+                expect(type, TokenType.STRING);
+                String key = lexer.getText();
+                expect(lexer.advance(), TokenType.SEPARATOR_COLON);
+
+                if (segment.matches(key)) {
+                    if (select(lexer.advance(), depth + 1)) {
+                        return true;
+                    }
+                } else {
+                    skipValue(lexer.advance(), depth + 1);
+                }
+
+                type = lexer.advance();
+                if (type == TokenType.END_OBJECT) {
+                    return false;
+                }
+                expect(type, TokenType.SEPARATOR_COMMA);
+                type = lexer.advance();
+            }
+        }
+
+        private boolean selectInArray(Segment segment, int depth) throws IOException {
+            TokenType type = lexer.advance();
+            if (type == TokenType.END_ARRAY) {
+                return false;
+            }
+
+            for (int position = 0; ; position++) {
+                if (segment.matches(position)) {
+                    if (select(type, depth + 1)) {
+                        return true;
+                    }
+                } else {
+                    skipValue(type, depth + 1);
+                }
+
+                type = lexer.advance();
+                if (type == TokenType.END_ARRAY) {
+                    return false;
+                }
+                expect(type, TokenType.SEPARATOR_COMMA);
+                type = lexer.advance();
+            }
+        }
+
+        private void expect(TokenType type, TokenType expected) {
+            if (type != expected) {
+                throw new JSONParseException("Invalid token:" + new Token(type, lexer.getText()));
+            }
+        }
+
+        private void checkValue(TokenType type) {
+            if (!type.isValidTokenTypeByMask(GrammarAnalizer.IN_VALUE)) {
+                throw new JSONParseException("Invalid token:" + new Token(type, lexer.getText()));
+            }
+        }
+
+        private void checkDepth(TokenType type, int depth) {
+            if (depth >= maxDepth && (type == TokenType.START_OBJECT || type == TokenType.START_ARRAY)) {
+                throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+            }
+        }
+
+        /**
+         * Skip value, which first token was already taken. Text of strings and numbers isn't created,
+         * order of tokens is checked by masks of {@code GrammarAnalizer}.
+         *
+         * @param outerDepth count of objects and arrays around value.
+         */
+        private void skipValue(TokenType start, int outerDepth) throws IOException {
+            checkValue(start);
+            if (start != TokenType.START_OBJECT && start != TokenType.START_ARRAY) {
+                return;
+            }
+
+            int level = 0;
+            int expectedToken = GrammarAnalizer.IN_VALUE;
+            TokenType type = start;
+            while (true) {
+                if (!type.isValidTokenTypeByMask(expectedToken)) {
+                    throw new JSONParseException("Invalid token:" + new Token(type, lexer.getText()));
+                }
+                switch (type) {
+                    case START_OBJECT, START_ARRAY -> {
+                        checkDepth(type, outerDepth + level);
+                        if (level == objects.length) {
+                            objects = Arrays.copyOf(objects, level * 2);
+                        }
+                        objects[level++] = type == TokenType.START_OBJECT;
+                        expectedToken = type == TokenType.START_OBJECT
+                                ? GrammarAnalizer.INIT_OBJECT
+                                : GrammarAnalizer.START_ARRAY;
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        if (--level == 0) {
+                            return;
+                        }
+                        expectedToken = afterValue(level);
+                    }
+                    case SEPARATOR_COLON -> expectedToken = GrammarAnalizer.IN_VALUE;
+                    case SEPARATOR_COMMA -> expectedToken = objects[level - 1]
+                            ? GrammarAnalizer.NEXT_KEY_VALUE_PAIR
+                            : GrammarAnalizer.IN_VALUE;
+                    case STRING -> {
+                        // in object string before colon is key
+                        expectedToken = objects[level - 1] && expectedToken != GrammarAnalizer.IN_VALUE
+                                ? GrammarAnalizer.END_OF_KEY
+                                : afterValue(level);
+                    }
+                    default -> expectedToken = afterValue(level);
+                }
+                type = lexer.advance();
+            }
+        }
+
+        private int afterValue(int level) {
+            return objects[level - 1] ? GrammarAnalizer.IN_FINISHED_VALUE : GrammarAnalizer.IN_ARRAY;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
+import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Pull parser, which reads json as sequence of events:
+ * START_OBJECT, NAME, STRING, NUMBER, BOOLEAN, NULL, END_OBJECT, START_ARRAY, END_ARRAY and END_DOCUMENT.
+ * Separators are validated and skipped. Memory used by reader is bounded by nesting depth,
+ * so it can walk documents, which doesn't fit in memory as {@code JsonObject} or {@code JsonArray}.
+ */
+public class JsonReader {
+    /**
+     * expected tokens: START_OBJECT(1) | START_ARRAY(4).
+     * Root of document.
+     */
+    private static final int ROOT = 5;
+
+    /**
+     * expected tokens: END_DOCUMENT(2048).
+     * Used after root object or array was closed.
+     */
+    private static final int END_OF_ROOT = 2048;
+
+    private static final int INITIAL_DEPTH = 32;
+
+    private final LexicalAnalyzer lexer;
+
+    /**
+     * true for object, false for array on each level of nesting.
+     */
+    private boolean[] contexts = new boolean[INITIAL_DEPTH];
+    private int depth;
+
+    private int expectedToken = ROOT;
+    private Token current;
+    private TokenType currentType;
+    private TokenType peekedType;
+    private Token peeked;
+
+    private boolean useBigDecimal;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+
+    public JsonReader(Reader reader) {
+        this(new ReaderWrapper(reader));
+    }
+
+    /**
+     * Read UTF-8 bytes from {@code stream} without charset decoding.
+     */
+    public JsonReader(InputStream stream) {
+        this(new Utf8Wrapper(stream));
+    }
+
+    public JsonReader(InputWrapper reader) {
+        this(reader, null);
+    }
+
+    /**
+     * @param reader source of characters.
+     * @param symbols table of names, can be shared by several readers. Null if names shouldn't be reused.
+     */
+    public JsonReader(InputWrapper reader, SymbolTable symbols) {
+        lexer = new LexicalAnalyzer(reader, symbols);
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are read by {@code readValue}
+     *                      as {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Read next event.
+     *
+     * @return type of event, END_DOCUMENT when document is finished.
+     * @throws IOException cannot read from source.
+     */
+    public TokenType nextToken() throws IOException {
+        if (peekedType != null) {
+            current = peeked;
+            currentType = peekedType;
+            peeked = null;
+            peekedType = null;
+        } else {
+            currentType = advance();
+        }
+        return currentType;
+    }
+
+    /**
+     * Type of next event, without consuming it.
+     *
+     * @return type of event, END_DOCUMENT when document is finished.
+     * @throws IOException cannot read from source.
+     */
+    public TokenType peek() throws IOException {
+        if (peekedType == null) {
+            Token previous = current;
+            peekedType = advance();
+            peeked = current;
+            current = previous;
+        }
+        return peekedType;
+    }
+
+    /**
+     * @return type of last event returned by {@code nextToken}.
+     */
+    public TokenType currentToken() {
+        return currentType;
+    }
+
+    /**
+     * @return text of current name or value event, null for structural events.
+     */
+    public String getText() {
+        return current == null ? null : current.getValue();
+    }
+
+    /**
+     * @return number of objects and arrays, which are opened at the moment.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public String nextName() throws IOException {
+        expect(TokenType.NAME);
+        return current.getValue();
+    }
+
+    public String nextString() throws IOException {
+        expect(TokenType.STRING);
+        return current.getValue();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(TokenType.BOOLEAN);
+        return Boolean.parseBoolean(current.getValue());
+    }
+
+    public void nextNull() throws IOException {
+        expect(TokenType.NULL);
+    }
+
+    public long nextLong() throws IOException {
+        expect(TokenType.NUMBER);
+        try {
+            return Long.parseLong(current.getValue());
+        } catch (NumberFormatException cause) {
+            throw new JSONTypeException("Number " + current.getValue() + " isn't long");
+        }
+    }
+
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw new JSONTypeException("Number " + value + " isn't int");
+        }
+        return (int) value;
+    }
+
+    public double nextDouble() throws IOException {
+        expect(TokenType.NUMBER);
+        return Double.parseDouble(current.getValue());
+    }
+
+    public BigInteger nextBigInteger() throws IOException {
+        expect(TokenType.NUMBER);
+        try {
+            return new BigInteger(current.getValue());
+        } catch (NumberFormatException cause) {
+            throw new JSONTypeException("Number " + current.getValue() + " isn't integer");
+        }
+    }
+
+    public BigDecimal nextBigDecimal() throws IOException {
+        expect(TokenType.NUMBER);
+        return new BigDecimal(current.getValue());
+    }
+
+    /**
+     * Skip next value. For object or array all nested events are skipped.
+     * If next event is name, it's skipped together with value.
+     *
+     * @throws IOException cannot read from source.
+     */
+    public void skipValue() throws IOException {
+        TokenType type = nextToken();
+        if (type == TokenType.NAME) {
+            type = nextToken();
+        }
+        if (type != TokenType.START_OBJECT && type != TokenType.START_ARRAY) {
+            checkIsValue(type);
+            return;
+        }
+
+        int targetDepth = depth - 1;
+        while (depth > targetDepth) {
+            nextToken();
+        }
+    }
+
+    /**
+     * Read next value as {@code JsonObject}, {@code JsonArray}, {@code String}, number, {@code Boolean} or null.
+     * Used to build only sub-objects of document, which are needed.
+     *
+     * @return value.
+     * @throws IOException cannot read from source.
+     */
+    public Object readValue() throws IOException {
+        TokenType type = nextToken();
+        switch (type) {
+            case START_OBJECT, START_ARRAY -> {
+                // grammar reads up to the end of this object or array
+                var grammar = new GrammarAnalizer(useBigDecimal);
+                grammar.setMaxDepth(maxDepth);
+                Object value = grammar.parseNested(lexer, type, depth - 1);
+                --depth;
+                expectedToken = afterValue();
+                currentType = type == TokenType.START_OBJECT ? TokenType.END_OBJECT : TokenType.END_ARRAY;
+                current = null;
+                return value;
+            }
+            case STRING -> {
+                return current.getValue();
+            }
+            case NUMBER -> {
+                return NumberDecoder.decode(current.getValue(), useBigDecimal);
+            }
+            case BOOLEAN -> {
+                return Boolean.valueOf(current.getValue());
+            }
+            case NULL -> {
+                return null;
+            }
+            default -> throw new JSONTypeException("Expected value, but was " + type);
+        }
+    }
+
+    private void expect(TokenType expected) throws IOException {
+        TokenType type = nextToken();
+        if (type != expected) {
+            throw new JSONTypeException("Expected " + expected + ", but was " + type);
+        }
+    }
+
+    private void checkIsValue(TokenType type) {
+        if (!type.isValidTokenTypeByMask(GrammarAnalizer.IN_VALUE)) {
+            throw new JSONTypeException("Expected value, but was " + type);
+        }
+    }
+
+    private TokenType advance() throws IOException {
+        while (true) {
+            TokenType type = lexer.advance();
+            if (!type.isValidTokenTypeByMask(expectedToken)) {
+                throw new JSONParseException("Invalid token:" + lexer.getToken());
+            }
+            boolean name = type == TokenType.STRING && inObject() && expectedToken != GrammarAnalizer.IN_VALUE;
+            current = name ? new Token(type, lexer.getName()) : lexer.getToken();
+
+            switch (type) {
+                case SEPARATOR_COLON -> expectedToken = GrammarAnalizer.IN_VALUE;
+                case SEPARATOR_COMMA -> expectedToken = inObject()
+                        ? GrammarAnalizer.NEXT_KEY_VALUE_PAIR
+                        : GrammarAnalizer.IN_VALUE;
+                case START_OBJECT -> {
+                    push(true);
+                    expectedToken = GrammarAnalizer.INIT_OBJECT;
+                    return type;
+                }
+                case START_ARRAY -> {
+                    push(false);
+                    expectedToken = GrammarAnalizer.START_ARRAY;
+                    return type;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    --depth;
+                    expectedToken = afterValue();
+                    return type;
+                }
+                case STRING -> {
+                    if (name) {
+                        expectedToken = GrammarAnalizer.END_OF_KEY;
+                        return TokenType.NAME;
+                    }
+                    expectedToken = afterValue();
+                    return type;
+                }
+                case NUMBER, BOOLEAN, NULL -> {
+                    expectedToken = afterValue();
+                    return type;
+                }
+                case END_DOCUMENT -> {
+                    return type;
+                }
+                default -> throw new JSONParseException("Unexpected token (was provided invalid type by JSON rules).");
+            }
+        }
+    }
+
+    private boolean inObject() {
+        return depth > 0 && contexts[depth - 1];
+    }
+
+    private int afterValue() {
+        if (depth == 0) {
+            return END_OF_ROOT;
+        }
+        return contexts[depth - 1] ? GrammarAnalizer.IN_FINISHED_VALUE : GrammarAnalizer.IN_ARRAY;
+    }
+
+    private void push(boolean isObject) {
+        if (depth >= maxDepth) {
+            throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+        }
+        if (depth == contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth * 2);
+        }
+        contexts[depth++] = isObject;
+    }
+}
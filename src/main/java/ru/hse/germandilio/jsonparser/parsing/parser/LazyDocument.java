@@ -0,0 +1,217 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.util.Arrays;
+
+/**
+ * Json in UTF-8 with {@code StructuralIndex}, which containers are built on demand.
+ * Grammar of whole input is checked by single pass over entries of index, which also finds
+ * closing bracket of each container. Then container is created as lazy {@code JsonObject} or {@code JsonArray},
+ * which reads only its own entries on first access, nested containers are skipped by their closing brackets.
+ * Numbers and literals are checked by the same pass as grammar, so invalid input fails in {@code parse}.
+ * Only values of them are converted, when their container is loaded.
+ */
+final class LazyDocument {
+    /**
+     * expected tokens: END_DOCUMENT(2048).
+     * After root.
+     */
+    private static final int AFTER_ROOT = 2048;
+
+    private final StructuralIndex index;
+    private final byte[] bytes;
+    private final SymbolTable symbols;
+    private final boolean useBigDecimal;
+
+    /**
+     * Entry of closing bracket for each entry of opening bracket.
+     */
+    private final int[] closings;
+
+    private LazyDocument(StructuralIndex index, SymbolTable symbols, boolean useBigDecimal) {
+        this.index = index;
+        this.symbols = symbols;
+        this.useBigDecimal = useBigDecimal;
+        bytes = index.bytes();
+        closings = new int[index.count()];
+    }
+
+    /**
+     * Check grammar of input and create lazy root.
+     *
+     * @param maxDepth max depth of nesting of objects and arrays.
+     * @return lazy {@code JsonObject} or {@code JsonArray}, it keeps {@code bytes} while it's used.
+     * @throws JSONParseException invalid sequence of tokens or too deep nesting.
+     */
+    static Object parse(byte[] bytes, int offset, int length, SymbolTable symbols, boolean useBigDecimal,
+                        int maxDepth) {
+        var document = new LazyDocument(StructuralIndex.build(bytes, offset, length), symbols, useBigDecimal);
+        TokenType root = document.type(0);
+        if (root != TokenType.START_OBJECT && root != TokenType.START_ARRAY) {
+            throw new JSONParseException("Invalid token sequence. Should start file only from tokens:\"{\" or \"[\"");
+        }
+        document.checkGrammar(maxDepth);
+        return document.container(0);
+    }
+
+    /**
+     * @return type of token, which starts at {@code entry}. Scalars, except strings, are reported as NUMBER.
+     */
+    private TokenType type(int entry) {
+        if (entry == index.count()) {
+            return TokenType.END_DOCUMENT;
+        }
+        int character = bytes[index.position(entry)] & 0xFF;
+        TokenType structural = CharacterTable.structuralToken(character);
+        if (structural != null) {
+            return structural;
+        }
+        return character == '"' ? TokenType.STRING : TokenType.NUMBER;
+    }
+
+    private void checkGrammar(int maxDepth) {
+        // checks numbers and literals, their values aren't converted here
+        var scalars = new StructuralCursor(index, null);
+        int[] openings = new int[16];
+        int depth = 0;
+        int expected = GrammarAnalizer.START_ARRAY;
+
+        int entry = 0;
+        while (true) {
+            TokenType type = type(entry);
+            if (!type.isValidTokenTypeByMask(expected)) {
+                throw expected == AFTER_ROOT
+                        ? new JSONParseException("Invalid token sequence. Unexpected text after root")
+                        : invalidToken(type, entry);
+            }
+
+            switch (type) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (depth >= maxDepth) {
+                        throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+                    }
+                    if (depth == openings.length) {
+                        openings = Arrays.copyOf(openings, depth * 2);
+                    }
+                    openings[depth++] = entry;
+                    expected = type == TokenType.START_OBJECT
+                            ? GrammarAnalizer.INIT_OBJECT
+                            : GrammarAnalizer.START_ARRAY;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    closings[openings[--depth]] = entry;
+                    expected = afterValue(openings, depth);
+                }
+                case STRING -> {
+                    // string before colon is key
+                    boolean key = expected == GrammarAnalizer.INIT_OBJECT
+                            || expected == GrammarAnalizer.NEXT_KEY_VALUE_PAIR;
+                    expected = key ? GrammarAnalizer.END_OF_KEY : afterValue(openings, depth);
+                    // closing quote
+                    ++entry;
+                }
+                case SEPARATOR_COLON -> expected = GrammarAnalizer.IN_VALUE;
+                case SEPARATOR_COMMA -> expected = type(openings[depth - 1]) == TokenType.START_OBJECT
+                        ? GrammarAnalizer.NEXT_KEY_VALUE_PAIR
+                        : GrammarAnalizer.IN_VALUE;
+                case END_DOCUMENT -> {
+                    return;
+                }
+                default -> {
+                    scalars.seek(entry);
+                    scalars.advance();
+                    expected = afterValue(openings, depth);
+                }
+            }
+            ++entry;
+        }
+    }
+
+    /**
+     * @return mask of tokens after value in container on top of {@code openings}, END_DOCUMENT after root.
+     */
+    private int afterValue(int[] openings, int depth) {
+        if (depth == 0) {
+            return AFTER_ROOT;
+        }
+        return type(openings[depth - 1]) == TokenType.START_OBJECT
+                ? GrammarAnalizer.IN_FINISHED_VALUE
+                : GrammarAnalizer.IN_ARRAY;
+    }
+
+    private JSONParseException invalidToken(TokenType type, int entry) {
+        if (type == TokenType.END_DOCUMENT) {
+            return new JSONParseException("Invalid sequence of tokens");
+        }
+        if (type == TokenType.STRING || type == TokenType.NUMBER) {
+            var cursor = new StructuralCursor(index, null);
+            cursor.seek(entry);
+            return new JSONParseException("Invalid token:" + new Token(cursor.advance(), cursor.getText()));
+        }
+        String text = String.valueOf((char) bytes[index.position(entry)]);
+        return new JSONParseException("Invalid token:" + new Token(type, text));
+    }
+
+    /**
+     * @param entry entry of opening bracket.
+     * @return lazy container.
+     */
+    private Object container(int entry) {
+        if (type(entry) == TokenType.START_OBJECT) {
+            return new JsonObject(() -> loadObject(entry));
+        }
+        return new JsonArray(() -> loadArray(entry));
+    }
+
+    private JsonObject loadObject(int entry) {
+        var cursor = new StructuralCursor(index, symbols);
+        cursor.seek(entry + 1);
+
+        JsonObject object = new JsonObject();
+        // grammar is already checked, so tokens are taken without checks
+        while (cursor.advance() == TokenType.STRING) {
+            String key = cursor.getName();
+            cursor.advance();
+            object.put(key, value(cursor));
+            if (cursor.advance() == TokenType.END_OBJECT) {
+                break;
+            }
+        }
+        return object;
+    }
+
+    private JsonArray loadArray(int entry) {
+        var cursor = new StructuralCursor(index, symbols);
+        cursor.seek(entry + 1);
+
+        JsonArray array = new JsonArray();
+        if (type(entry + 1) == TokenType.END_ARRAY) {
+            return array;
+        }
+        do {
+            array.add(value(cursor));
+        } while (cursor.advance() == TokenType.SEPARATOR_COMMA);
+        return array;
+    }
+
+    private Object value(StructuralCursor cursor) {
+        int entry = cursor.nextEntry();
+        TokenType type = type(entry);
+        if (type == TokenType.START_OBJECT || type == TokenType.START_ARRAY) {
+            cursor.seek(closings[entry] + 1);
+            return container(entry);
+        }
+
+        return switch (cursor.advance()) {
+            case NUMBER -> cursor.getNumber(useBigDecimal);
+            case BOOLEAN -> Boolean.valueOf(cursor.getText());
+            case STRING -> cursor.getText();
+            default -> null;
+        };
+    }
+}
@@ -1,28 +1,73 @@
 package ru.hse.germandilio.jsonparser.parsing.parser;
 
 import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.metrics.ParseMetrics;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
 import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
 import ru.hse.germandilio.jsonparser.parsing.token.TokenSequence;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenSource;
 import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
 
 import java.io.IOException;
-import java.util.Objects;
 
-public class LexicalAnalyzer {
+public class LexicalAnalyzer implements TokenSource, TokenCursor {
     private static class SpecialKeywords {
         private static final String TRUE = "true";
         private static final String FALSE = "false";
         private static final String NULL = "null";
     }
 
-    private final ReaderWrapper reader;
+    /**
+     * Tokens without variable text, shared by all analyzers. Indexed by ordinal of {@code TokenType}.
+     */
+    private static final Token[] CONSTANT_TOKENS = new Token[TokenType.values().length];
+    private static final Token TRUE_TOKEN = new Token(TokenType.BOOLEAN, SpecialKeywords.TRUE);
+    private static final Token FALSE_TOKEN = new Token(TokenType.BOOLEAN, SpecialKeywords.FALSE);
+
+    static {
+        CONSTANT_TOKENS[TokenType.START_OBJECT.ordinal()] = new Token(TokenType.START_OBJECT, '{');
+        CONSTANT_TOKENS[TokenType.END_OBJECT.ordinal()] = new Token(TokenType.END_OBJECT, '}');
+        CONSTANT_TOKENS[TokenType.START_ARRAY.ordinal()] = new Token(TokenType.START_ARRAY, '[');
+        CONSTANT_TOKENS[TokenType.END_ARRAY.ordinal()] = new Token(TokenType.END_ARRAY, ']');
+        CONSTANT_TOKENS[TokenType.SEPARATOR_COLON.ordinal()] = new Token(TokenType.SEPARATOR_COLON, ':');
+        CONSTANT_TOKENS[TokenType.SEPARATOR_COMMA.ordinal()] = new Token(TokenType.SEPARATOR_COMMA, ',');
+        CONSTANT_TOKENS[TokenType.NULL.ordinal()] = new Token(TokenType.NULL, SpecialKeywords.NULL);
+        CONSTANT_TOKENS[TokenType.END_DOCUMENT.ordinal()] = new Token(TokenType.END_DOCUMENT, null);
+    }
+
+    private final InputWrapper reader;
     private final TokenSequence tokens;
+    private final NumberScanner numberScanner = new NumberScanner();
+    private SymbolTable symbols;
+
+    // current token of cursor
+    private TokenType type;
+    private int start;
+    private int end;
+    private boolean booleanValue;
 
-    public LexicalAnalyzer(ReaderWrapper reader) {
+    public LexicalAnalyzer(InputWrapper reader) {
+        this(reader, null);
+    }
+
+    /**
+     * @param reader source of characters.
+     * @param symbols table of keys, can be shared by several analyzers. Null if keys shouldn't be reused.
+     */
+    public LexicalAnalyzer(InputWrapper reader, SymbolTable symbols) {
         this.reader = reader;
+        this.symbols = symbols;
         tokens = new TokenSequence();
     }
 
+    /**
+     * @param symbols table of keys for next tokens, null if keys shouldn't be reused.
+     */
+    void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
     /**
      * Convert stream from {@code reader} to sequence of tokens.
      *
@@ -30,152 +75,249 @@ public class LexicalAnalyzer {
      * @throws IOException if stream has invalid symbols / located in wrong order, or cannot update buffer when read from {@code reader}
      */
     public TokenSequence convertToTokens() throws IOException {
+        ParseMetrics.Probe probe = ParseMetrics.startLexing();
+        long startOffset = probe != null ? reader.offset() : 0;
         Token token = new Token(TokenType.START_DOCUMENT, null);
+        long count = 0;
 
         while (token.getType() != TokenType.END_DOCUMENT) {
-            token = getToken();
+            token = next();
             tokens.add(token);
+            ++count;
+        }
+
+        if (probe != null) {
+            probe.lexed(reader.offset() - startOffset, count);
         }
         return tokens;
     }
 
-    private Token getToken() throws IOException {
+    /**
+     * @return count of characters of input before the next token.
+     */
+    long offset() {
+        return reader.offset();
+    }
+
+    /**
+     * Read single token from {@code reader} without storing it in sequence.
+     * Used for single-pass parsing, when grammar takes tokens one by one.
+     * Tokens without variable text are shared, so only strings and numbers are allocated.
+     *
+     * @return next {@code Token}, END_DOCUMENT if stream reached his end.
+     * @throws IOException if stream has invalid symbols, or cannot update buffer when read from {@code reader}
+     */
+    @Override
+    public Token next() throws IOException {
+        advance();
+        return getToken();
+    }
+
+    /**
+     * @return current token of cursor. Tokens without variable text are shared.
+     */
+    public Token getToken() {
+        return switch (type) {
+            case STRING, NUMBER -> new Token(type, getText());
+            case BOOLEAN -> booleanValue ? TRUE_TOKEN : FALSE_TOKEN;
+            default -> CONSTANT_TOKENS[type.ordinal()];
+        };
+    }
+
+    /**
+     * Move cursor to next token. Nothing is allocated: strings and numbers are kept
+     * as range of buffer of {@code reader} until {@code getText} call.
+     *
+     * @return type of next token, END_DOCUMENT if stream reached his end.
+     * @throws IOException if stream has invalid symbols, or cannot update buffer when read from {@code reader}
+     */
+    @Override
+    public TokenType advance() throws IOException {
+        // text of previous token isn't needed anymore
+        reader.unmark();
+
         while (!reader.isEmpty()) {
-            char currentCharacter = (char) reader.next();
+            int currentCharacter = reader.next();
 
-            if (!isWhiteSpace(currentCharacter)) {
-                return recognizeToken(currentCharacter);
+            if (!CharacterTable.is(currentCharacter, CharacterTable.WHITESPACE)) {
+                type = recognizeToken(currentCharacter);
+                return type;
             }
         }
-        return new Token(TokenType.END_DOCUMENT, null);
+        type = TokenType.END_DOCUMENT;
+        return type;
     }
 
-    private Token recognizeToken(char character) throws IOException {
-        switch (character) {
-            case '{':
-                return new Token(TokenType.START_OBJECT, character);
-            case '}':
-                return new Token(TokenType.END_OBJECT, character);
-            case ':':
-                return new Token(TokenType.SEPARATOR_COLON, character);
-            case ',':
-                return new Token(TokenType.SEPARATOR_COMMA, character);
-            case '[':
-                return new Token(TokenType.START_ARRAY, character);
-            case ']':
-                return new Token(TokenType.END_ARRAY, character);
-            case 'n':
-                return readNullToken();
-            case 't':
-            case 'f':
-                return readBooleanToken();
-            case '"':
-                return readStringToken();
-            default:
-                if (isDigit(character)) {
-                    return readNumberToken();
-                }
+    /**
+     * @return type of current token of cursor.
+     */
+    public TokenType getType() {
+        return type;
+    }
 
-                throw new JSONParseException("Cannot recognize symbol:" + character);
-        }
+    /**
+     * @return position of first character of current string or number in buffer of {@code reader}.
+     */
+    public int getStart() {
+        return start;
     }
 
-    private boolean isDigit(char character) {
-        String mask = "[0-9]|[+.-]|[eE]";
-        return String.valueOf(character).matches(mask);
+    /**
+     * @return position after last character of current string or number in buffer of {@code reader}.
+     */
+    public int getEnd() {
+        return end;
     }
 
-    private boolean isWhiteSpace(char character) {
-        return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+    @Override
+    public String getText() {
+        return switch (type) {
+            case STRING, NUMBER -> reader.text(start, end);
+            case BOOLEAN -> booleanValue ? SpecialKeywords.TRUE : SpecialKeywords.FALSE;
+            default -> CONSTANT_TOKENS[type.ordinal()] == null ? null : CONSTANT_TOKENS[type.ordinal()].getValue();
+        };
     }
 
-    private Token readNullToken() throws IOException {
-        String result = readKeyword(SpecialKeywords.NULL);
-        if (!Objects.equals(result, SpecialKeywords.NULL)) {
-            throw new JSONParseException("Invalid token. Expected \"" + SpecialKeywords.NULL + "\", but was provided" + result.toString());
+    /**
+     * Text of current string, which is key of object. Repeated keys are taken from symbol table
+     * without allocation, if analyzer has it.
+     *
+     * @return text of current token.
+     */
+    @Override
+    public String getName() {
+        if (symbols == null || type != TokenType.STRING) {
+            return getText();
         }
-        return new Token(TokenType.NULL, result);
+        return reader.symbol(symbols, start, end);
     }
 
-    private Token readBooleanToken() throws IOException {
-        String result = null;
-        if (reader.peek() == 't') {
-            result = readKeyword(SpecialKeywords.TRUE);
-        } else if (reader.peek() == 'f') {
-            result = readKeyword(SpecialKeywords.FALSE);
+    /**
+     * Value of current number, converted from digits accumulated while number was scanned.
+     * Text of number is created only if it can't be converted exactly without it.
+     *
+     * @param useBigDecimal return {@code BigDecimal} instead of {@code Double} for fraction and exponent.
+     * @return {@code Integer}, {@code Long}, {@code BigInteger}, {@code Double} or {@code BigDecimal}.
+     */
+    @Override
+    public Number getNumber(boolean useBigDecimal) {
+        Number value = numberScanner.value(useBigDecimal);
+        return value != null ? value : NumberDecoder.decode(getText(), useBigDecimal);
+    }
+
+    private TokenType recognizeToken(int character) throws IOException {
+        TokenType structural = CharacterTable.structuralToken(character);
+        if (structural != null) {
+            return structural;
         }
 
-        if (!Objects.equals(result, SpecialKeywords.TRUE) && !Objects.equals(result, SpecialKeywords.FALSE)) {
-            throw new JSONParseException("Invalid token. Expected \"" + SpecialKeywords.TRUE + "\" or \"" + SpecialKeywords.FALSE + "\", but was provided" + result);
+        switch (character) {
+            case 'n':
+                readKeyword(SpecialKeywords.NULL);
+                return TokenType.NULL;
+            case 't':
+                readKeyword(SpecialKeywords.TRUE);
+                booleanValue = true;
+                return TokenType.BOOLEAN;
+            case 'f':
+                readKeyword(SpecialKeywords.FALSE);
+                booleanValue = false;
+                return TokenType.BOOLEAN;
+            case '"':
+                readStringToken();
+                return TokenType.STRING;
+            default:
+                if (CharacterTable.is(character, CharacterTable.NUMBER_START)) {
+                    readNumberToken();
+                    return TokenType.NUMBER;
+                }
+
+                throw new JSONParseException("Cannot recognize symbol:" + (char) character);
         }
-        return new Token(TokenType.BOOLEAN, result);
     }
 
-    private Token readStringToken() throws IOException {
-        StringBuilder result = new StringBuilder();
-        // read up to "
+    private void readStringToken() throws IOException {
+        // text of string is kept in buffer of reader, escape sequences are kept as is
+        reader.mark();
         int character = reader.next();
 
         while (character != '"') {
-            if (character == ReaderWrapper.TERMINATION_SYMBOL) {
+            if (character == InputWrapper.TERMINATION_SYMBOL) {
                 throw new IOException("Cannot read next character");
             }
-            if (character == '\n' || character == '\r') {
-                throw new JSONParseException("Invalid character");
-            }
 
-            if (character == '\\') {
-                // escape sequence expected
-                if (!isEscapeSequence()) {
-                    throw new JSONParseException("Invalid escape sequence");
+            if (CharacterTable.is(character, CharacterTable.STRING_SPECIAL)) {
+                if (character != '\\') {
+                    // control characters should be escaped
+                    throw new JSONParseException("Invalid character");
                 }
-                result.append((char) character);
-                character = reader.peek();
+                readEscapeSequence();
             }
-
-            result.append((char) character);
             character = reader.next();
         }
 
-        return new Token(TokenType.STRING, result.toString());
+        // closing quote isn't part of string
+        start = reader.markPosition();
+        end = reader.position() - 1;
     }
 
-    private Token readNumberToken() throws IOException {
-        StringBuilder sb = new StringBuilder();
-        int character = reader.peek();
-        while (isDigit((char) character)) {
-            sb.append((char) character);
-            character = reader.next();
-
-            if (character == ReaderWrapper.TERMINATION_SYMBOL) {
-                throw new IOException("End of stream reached");
+    private void readEscapeSequence() throws IOException {
+        int character = reader.next();
+        if (character == 'u') {
+            for (int i = 0; i < 4; i++) {
+                if (!CharacterTable.is(reader.next(), CharacterTable.HEX_DIGIT)) {
+                    throw new JSONParseException("Invalid escape sequence");
+                }
             }
+        } else if (!isEscapeSequence(character)) {
+            throw new JSONParseException("Invalid escape sequence");
         }
-        // back pos to the next symbol after number
+    }
+
+    private void readNumberToken() throws IOException {
+        // number is validated by state machine while it's scanned
         reader.back();
-        String result = sb.toString();
+        reader.mark();
+        numberScanner.reset();
 
-        try {
-            Double.valueOf(result);
-        } catch (NumberFormatException cause) {
-            throw new JSONParseException("Invalid number (sequence of characters). Provided: " + result, cause);
+        int character = reader.next();
+        while (CharacterTable.is(character, CharacterTable.NUMBER_BODY)) {
+            if (numberScanner.accept(character) == NumberScanner.ERROR) {
+                throw invalidNumber();
+            }
+            character = reader.next();
+        }
+        if (character != InputWrapper.TERMINATION_SYMBOL) {
+            // back pos to the next symbol after number
+            reader.back();
         }
-        return new Token(TokenType.NUMBER, result);
+        if (!numberScanner.isComplete()) {
+            throw invalidNumber();
+        }
+
+        start = reader.markPosition();
+        end = reader.position();
     }
 
-    private String readKeyword(String expected) throws IOException {
-        StringBuilder result = new StringBuilder();
-        result.append((char) reader.peek());
+    private JSONParseException invalidNumber() {
+        String result = reader.text(reader.markPosition(), reader.position());
+        return new JSONParseException("Invalid number (sequence of characters). Provided: " + result);
+    }
 
-        for (int i = 1; i < expected.length(); i++) {
-            result.append((char) reader.next());
+    private void readKeyword(String expected) throws IOException {
+        // first character was already read
+        reader.back();
+        reader.mark();
+        for (int i = 0; i < expected.length(); i++) {
+            if (reader.next() != expected.charAt(i)) {
+                String result = reader.text(reader.markPosition(), reader.position());
+                throw new JSONParseException("Invalid token. Expected \"" + expected + "\", but was provided" + result);
+            }
         }
-        return result.toString();
     }
 
-    private boolean isEscapeSequence() {
-        int ch = reader.peek();
-        return ch == '"' || ch == '\\' || ch == 'u' || ch == 'r'
+    private boolean isEscapeSequence(int ch) {
+        return ch == '"' || ch == '\\' || ch == '/' || ch == 'r'
                 || ch == 'n' || ch == 'b' || ch == 't' || ch == 'f';
     }
 }
@@ -0,0 +1,158 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Source of UTF-8 bytes, which reads file mapped to memory.
+ * File is mapped by windows, so files larger than 2 GB are supported.
+ * Bytes are read straight from mapped window, only marked text (strings and numbers) is copied to heap.
+ */
+public final class MappedFileWrapper implements InputWrapper, Closeable {
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private int pos;
+    private int currentSize;
+    private int mark;
+
+    public MappedFileWrapper(Path path) throws IOException {
+        this(path, WINDOW_SIZE);
+    }
+
+    MappedFileWrapper(Path path, int windowSize) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        this.windowSize = windowSize;
+        windowStart = 0;
+        pos = 0;
+        currentSize = 0;
+        mark = -1;
+    }
+
+    /**
+     * Read next byte.
+     *
+     * @return Single byte (0-255), or -1 if the file reached his end.
+     * @throws IOException Cannot map next window of file.
+     */
+    @Override
+    public int next() throws IOException {
+        if (isEmpty()) {
+            return TERMINATION_SYMBOL;
+        }
+        return window.get(pos++) & 0xFF;
+    }
+
+    /**
+     * @return Last byte read, or -1 if the end of the file is reached.
+     */
+    @Override
+    public int peek() {
+        if (pos - 1 >= currentSize || window == null) {
+            return TERMINATION_SYMBOL;
+        }
+        return window.get(Math.max(pos - 1, 0)) & 0xFF;
+    }
+
+    /**
+     * Return position on previous position
+     */
+    @Override
+    public void back() {
+        pos = Math.max(--pos, 0);
+    }
+
+    /**
+     * Check if file is read up to the end.
+     *
+     * @return True if empty, false otherwise
+     * @throws IOException Cannot map next window of file.
+     */
+    @Override
+    public boolean isEmpty() throws IOException {
+        if (pos < currentSize) {
+            return false;
+        }
+
+        updateWindow();
+        return pos >= currentSize;
+    }
+
+    @Override
+    public void mark() {
+        mark = pos;
+    }
+
+    @Override
+    public void unmark() {
+        mark = -1;
+    }
+
+    @Override
+    public int markPosition() {
+        return mark;
+    }
+
+    @Override
+    public int position() {
+        return pos;
+    }
+
+    @Override
+    public long offset() {
+        return windowStart + pos;
+    }
+
+    @Override
+    public String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        window.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String symbol(SymbolTable symbols, int start, int end) {
+        return symbols.lookup(window, start, end);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void updateWindow() throws IOException {
+        if (windowStart + currentSize >= fileSize) {
+            return;
+        }
+
+        // next window starts from marked text or last read byte, so back() and peek() work after update
+        int keepFrom = mark >= 0 ? mark : Math.max(currentSize - 1, 0);
+        long newStart = windowStart + keepFrom;
+        int newSize = (int) Math.min(windowSize, fileSize - newStart);
+        if (newSize == currentSize - keepFrom) {
+            throw new JSONParseException("Token is longer than mapped window of " + windowSize + " bytes");
+        }
+
+        window = channel.map(FileChannel.MapMode.READ_ONLY, newStart, newSize);
+        windowStart = newStart;
+        if (mark >= 0) {
+            mark -= keepFrom;
+        }
+        pos -= keepFrom;
+        currentSize = newSize;
+    }
+}
@@ -0,0 +1,408 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parser of newline-delimited json (NDJSON, JSON Lines): sequence of values in UTF-8 separated by line breaks.
+ * Each record takes one line: record with line break inside or several values in one line fail
+ * with {@code JSONParseException}, blank lines are skipped.
+ * Input is read once, one buffer, analyzer and grammar are reused for all records.
+ * Records are delivered in order of input as {@code Stream} or by batches.
+ * With pool, input is split by line breaks to chunks, which are parsed concurrently, order of records is kept.
+ */
+public final class NdjsonParser {
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Marks the end of records, because json null is valid record.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * Iterator of stream keeps json null as this object, so null means record isn't read yet.
+     */
+    private static final Object NULL_RECORD = new Object();
+
+    private boolean useBigDecimal;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+    private SymbolTable symbols;
+    private ForkJoinPool pool;
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays in each record,
+     *                 deeper record fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param symbols table of keys, shared by all records. Null if keys shouldn't be reused.
+     */
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * @param pool pool for parsing chunks of input concurrently. Null if records are parsed in caller thread.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Lazy stream of records. Stream should be closed to close {@code stream}.
+     * {@code IOException} is thrown as {@code UncheckedIOException} by terminal operation.
+     *
+     * @param stream NDJSON in UTF-8.
+     * @return records: {@code JsonObject}, {@code JsonArray} or values of scalars.
+     */
+    public Stream<Object> stream(InputStream stream) {
+        RecordSource source = createSource(stream);
+        Iterator<Object> iterator = new Iterator<>() {
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = read(source);
+                }
+                return next != END;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object record = next;
+                next = null;
+                return record == NULL_RECORD ? null : record;
+            }
+        };
+
+        var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public Stream<Object> stream(Path path) throws IOException {
+        return stream(Files.newInputStream(path));
+    }
+
+    /**
+     * Read all records and pass them to {@code consumer} by lists of {@code batchSize} records, last list can be smaller.
+     * Consumer can keep lists, new list is created for each batch. Stream isn't closed.
+     *
+     * @param stream NDJSON in UTF-8.
+     * @param batchSize count of records in batch.
+     * @param consumer receiver of batches.
+     * @throws IOException cannot read stream.
+     */
+    public void forEachBatch(InputStream stream, int batchSize, Consumer<List<Object>> consumer) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive");
+        }
+
+        RecordSource source = createSource(stream);
+        List<Object> batch = new ArrayList<>(batchSize);
+        for (Object record = source.next(); record != END; record = source.next()) {
+            batch.add(record);
+            if (batch.size() == batchSize) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+
+    public void forEachBatch(Path path, int batchSize, Consumer<List<Object>> consumer) throws IOException {
+        try (var stream = Files.newInputStream(path)) {
+            forEachBatch(stream, batchSize, consumer);
+        }
+    }
+
+    private static Object read(RecordSource source) {
+        try {
+            Object record = source.next();
+            return record == null ? NULL_RECORD : record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RecordSource createSource(InputStream stream) {
+        if (pool == null) {
+            return new StreamRecords(stream);
+        }
+        return new ChunkedRecords(stream);
+    }
+
+    private interface RecordSource {
+        /**
+         * @return next record, END if there are no more records.
+         */
+        Object next() throws IOException;
+    }
+
+    /**
+     * Records of lines of one chunk. Line break is never a part of multibyte character or valid string,
+     * so lines are found before parsing and each line is parsed as whole value.
+     */
+    private final class Records {
+        private final Utf8Wrapper input = new Utf8Wrapper(Utf8Wrapper.BUFFER_SIZE);
+        private final LexicalAnalyzer lexer = new LexicalAnalyzer(input, symbols);
+        private final GrammarAnalizer grammar = new GrammarAnalizer(useBigDecimal);
+
+        private byte[] chunk;
+        private int position;
+        private int length;
+
+        private Records() {
+            grammar.setMaxDepth(maxDepth);
+        }
+
+        /**
+         * @param chunk whole lines, the last line break can be missed.
+         * @param length count of bytes of lines.
+         */
+        private void reset(byte[] chunk, int length) {
+            this.chunk = chunk;
+            this.length = length;
+            position = 0;
+        }
+
+        /**
+         * @return next record of chunk, END if chunk has no more records.
+         */
+        private Object next() throws IOException {
+            while (position < length) {
+                int from = position;
+                int lineEnd = from;
+                while (lineEnd < length && chunk[lineEnd] != '\n') {
+                    ++lineEnd;
+                }
+                position = lineEnd + 1;
+
+                input.reset(chunk, from, lineEnd - from);
+                TokenType type = lexer.advance();
+                if (type == TokenType.END_DOCUMENT) {
+                    // blank line
+                    continue;
+                }
+                Object record = grammar.parseNested(lexer, type, 0);
+                if (lexer.advance() != TokenType.END_DOCUMENT) {
+                    throw new JSONParseException("Invalid token sequence. Record should end with line break");
+                }
+                return record;
+            }
+            return END;
+        }
+
+        private List<Object> readAll() throws IOException {
+            List<Object> records = new ArrayList<>();
+            for (Object record = next(); record != END; record = next()) {
+                records.add(record);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Records, which are parsed in caller thread. One buffer is reused for all lines,
+     * records are parsed as soon as their lines are read.
+     */
+    private final class StreamRecords implements RecordSource {
+        private final LineChunks lines;
+        private final Records records = new Records();
+
+        private StreamRecords(InputStream stream) {
+            lines = new LineChunks(stream, BUFFER_SIZE, true);
+        }
+
+        @Override
+        public Object next() throws IOException {
+            while (true) {
+                Object record = records.next();
+                if (record != END) {
+                    return record;
+                }
+                byte[] chunk = lines.read();
+                if (chunk == null) {
+                    return END;
+                }
+                records.reset(chunk, lines.length);
+            }
+        }
+    }
+
+    /**
+     * Records, which are parsed by chunks of input in pool. Count of chunks parsed at once is bounded,
+     * so memory doesn't depend on size of input.
+     */
+    private final class ChunkedRecords implements RecordSource {
+        private final LineChunks lines;
+        private final ArrayDeque<ForkJoinTask<List<Object>>> chunks = new ArrayDeque<>();
+        private final int maxChunks = pool.getParallelism() * 2;
+
+        private boolean endOfStream;
+        private Iterator<Object> current = List.of().iterator();
+
+        private ChunkedRecords(InputStream stream) {
+            lines = new LineChunks(stream, CHUNK_SIZE, false);
+        }
+
+        @Override
+        public Object next() throws IOException {
+            while (!current.hasNext()) {
+                while (!endOfStream && chunks.size() < maxChunks) {
+                    byte[] chunk = lines.read();
+                    if (chunk == null) {
+                        endOfStream = true;
+                    } else if (lines.length > 0) {
+                        submit(chunk, lines.length);
+                    }
+                }
+                if (chunks.isEmpty()) {
+                    return END;
+                }
+                try {
+                    current = chunks.poll().join().iterator();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            return current.next();
+        }
+
+        private void submit(byte[] chunk, int length) {
+            chunks.add(pool.submit(() -> {
+                try {
+                    var records = new Records();
+                    records.reset(chunk, length);
+                    return records.readAll();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Input split to chunks of whole lines.
+     */
+    private static final class LineChunks {
+        private final InputStream stream;
+        private final int chunkSize;
+        /**
+         * One buffer is reused and chunk is returned as soon as it has a line,
+         * otherwise each chunk is new array, which is filled up.
+         */
+        private final boolean reuse;
+
+        private byte[] buffer;
+        // bytes after the last line break of previous chunk
+        private int restFrom;
+        private int restTo;
+        private boolean endOfStream;
+        /**
+         * Count of bytes of whole lines in last chunk.
+         */
+        private int length;
+
+        private LineChunks(InputStream stream, int chunkSize, boolean reuse) {
+            this.stream = stream;
+            this.chunkSize = chunkSize;
+            this.reuse = reuse;
+            buffer = new byte[reuse ? chunkSize : 0];
+        }
+
+        /**
+         * @return array, which starts with {@code length} bytes of whole lines, null at the end of stream.
+         * The last line can be incomplete only at the end of stream.
+         */
+        private byte[] read() throws IOException {
+            if (endOfStream) {
+                return null;
+            }
+            int kept = restTo - restFrom;
+            byte[] chunk = reuse ? buffer : new byte[Math.max(chunkSize, kept * 2)];
+            System.arraycopy(buffer, restFrom, chunk, 0, kept);
+            int size = kept;
+            while (true) {
+                int read = reuse
+                        ? stream.read(chunk, size, chunk.length - size)
+                        : stream.readNBytes(chunk, size, chunk.length - size);
+                if (read < 0 || !reuse && size + read < chunk.length) {
+                    endOfStream = true;
+                    buffer = chunk;
+                    restFrom = 0;
+                    restTo = 0;
+                    length = size + Math.max(read, 0);
+                    return chunk;
+                }
+
+                int lineEnd = lastLineBreak(chunk, size, size + read);
+                size += read;
+                if (lineEnd >= 0) {
+                    buffer = chunk;
+                    restFrom = lineEnd + 1;
+                    restTo = size;
+                    length = lineEnd + 1;
+                    return chunk;
+                }
+                if (size == chunk.length) {
+                    // line is longer than chunk
+                    chunk = Arrays.copyOf(chunk, chunk.length * 2);
+                }
+            }
+        }
+
+        private static int lastLineBreak(byte[] chunk, int from, int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (chunk[i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
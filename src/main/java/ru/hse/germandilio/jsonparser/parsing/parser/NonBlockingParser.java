@@ -0,0 +1,537 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Non-blocking parser of json in UTF-8, which is fed by chunks of input as they arrive, e.g. from NIO channel.
+ * Parser never reads input itself: {@code feed} consumes given chunk and returns, state of lexer and grammar
+ * is kept between chunks, so string, number or keyword can be split between chunks.
+ * Parser either builds {@code JsonObject} or {@code JsonArray}, which is ready as soon as root is closed,
+ * or passes events to listener: START_OBJECT, NAME, STRING, NUMBER, BOOLEAN, NULL, END_OBJECT,
+ * START_ARRAY, END_ARRAY and END_DOCUMENT. Parser isn't thread-safe, after error it should be reset.
+ */
+public final class NonBlockingParser {
+    /**
+     * Receiver of events of parser.
+     */
+    public interface Listener {
+        /**
+         * @param type type of event.
+         * @param value key for NAME, {@code String}, number or {@code Boolean} for values, null for other events.
+         */
+        void onEvent(TokenType type, Object value);
+    }
+
+    // state of lexer between chunks
+    private static final int BETWEEN_TOKENS = 0;
+    private static final int IN_STRING = 1;
+    private static final int IN_ESCAPE = 2;
+    private static final int IN_UNICODE = 3;
+    private static final int IN_NUMBER = 4;
+    private static final int IN_KEYWORD = 5;
+
+    /**
+     * expected tokens: START_OBJECT(1) | START_ARRAY(4).
+     * Root of document.
+     */
+    private static final int ROOT = 5;
+
+    /**
+     * expected tokens: END_DOCUMENT(2048).
+     * Used after root object or array was closed.
+     */
+    private static final int END_OF_ROOT = 2048;
+
+    private static final int INITIAL_DEPTH = 32;
+    private static final int INITIAL_TEXT_SIZE = 256;
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Listener listener;
+    private final TreeBuilder tree;
+    private final NumberScanner numberScanner = new NumberScanner();
+
+    private boolean useBigDecimal;
+    private SymbolTable symbols;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+
+    private int state = BETWEEN_TOKENS;
+    /**
+     * Start of current string or number in chunk, which is consumed.
+     */
+    private int tokenStart;
+    /**
+     * Bytes of current string or number from previous chunks.
+     */
+    private byte[] text = new byte[INITIAL_TEXT_SIZE];
+    private int length;
+    private String keyword;
+    private TokenType keywordType;
+    private Boolean keywordValue;
+    private int keywordIndex;
+    private int hexDigits;
+
+    /**
+     * true for object, false for array on each level of nesting.
+     */
+    private boolean[] contexts = new boolean[INITIAL_DEPTH];
+    private int depth;
+    private int expectedToken = ROOT;
+    private boolean complete;
+
+    /**
+     * Copy of direct buffer, which is consumed.
+     */
+    private byte[] chunk;
+
+    /**
+     * Parser, which builds {@code JsonObject} or {@code JsonArray}.
+     */
+    public NonBlockingParser() {
+        tree = new TreeBuilder();
+        listener = tree;
+    }
+
+    /**
+     * Parser, which passes events to {@code listener} without building result.
+     */
+    public NonBlockingParser(Listener listener) {
+        tree = null;
+        this.listener = listener;
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param symbols table of keys, can be shared by several parsers. Null if keys shouldn't be reused.
+     */
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Consume remaining bytes of {@code buffer}, position of buffer is moved to its limit.
+     * Buffer can be reused after call, part of unfinished token is copied.
+     *
+     * @param buffer next chunk of input.
+     * @return true if root is already closed.
+     * @throws JSONParseException input is invalid json.
+     */
+    public boolean feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            consume(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            buffer.position(buffer.limit());
+            return complete;
+        }
+
+        if (chunk == null) {
+            chunk = new byte[CHUNK_SIZE];
+        }
+        while (buffer.hasRemaining()) {
+            int count = Math.min(buffer.remaining(), chunk.length);
+            buffer.get(chunk, 0, count);
+            consume(chunk, 0, count);
+        }
+        return complete;
+    }
+
+    /**
+     * Consume range of {@code bytes}, array can be reused after call.
+     *
+     * @param bytes next chunk of input.
+     * @param offset start of chunk.
+     * @param length length of chunk.
+     * @return true if root is already closed.
+     * @throws JSONParseException input is invalid json.
+     */
+    public boolean feed(byte[] bytes, int offset, int length) {
+        consume(bytes, offset, offset + length);
+        return complete;
+    }
+
+    /**
+     * Finish input. Document should be complete, END_DOCUMENT is passed to listener.
+     *
+     * @return parsed {@code JsonObject} or {@code JsonArray}, null for parser with listener.
+     * @throws JSONParseException document isn't complete.
+     */
+    public Object endOfInput() {
+        if (state != BETWEEN_TOKENS || !complete) {
+            throw new JSONParseException("Unexpected end of input");
+        }
+        listener.onEvent(TokenType.END_DOCUMENT, null);
+        return getResult();
+    }
+
+    /**
+     * @return true if root is closed, result is ready before {@code endOfInput}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return parsed {@code JsonObject} or {@code JsonArray}, null if root isn't closed or parser has listener.
+     */
+    public Object getResult() {
+        return tree == null || !complete ? null : tree.result;
+    }
+
+    /**
+     * @return number of objects and arrays, which are opened at the moment.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Prepare parser for next document, buffers are kept.
+     */
+    public void reset() {
+        state = BETWEEN_TOKENS;
+        length = 0;
+        depth = 0;
+        expectedToken = ROOT;
+        complete = false;
+        if (tree != null) {
+            tree.reset();
+        }
+    }
+
+    private void consume(byte[] bytes, int offset, int end) {
+        // token from previous chunk continues at the start of this one
+        tokenStart = offset;
+        int i = offset;
+        while (i < end) {
+            switch (state) {
+                case BETWEEN_TOKENS -> {
+                    int character = bytes[i++] & 0xFF;
+                    if (!CharacterTable.is(character, CharacterTable.WHITESPACE)) {
+                        i = startToken(character, i);
+                    }
+                }
+                case IN_STRING -> i = scanString(bytes, i, end);
+                case IN_ESCAPE -> i = scanEscape(bytes, i);
+                case IN_UNICODE -> i = scanHexDigit(bytes, i);
+                case IN_NUMBER -> i = scanNumber(bytes, i, end);
+                default -> i = scanKeyword(bytes, i);
+            }
+        }
+
+        if (state != BETWEEN_TOKENS && state != IN_KEYWORD) {
+            append(bytes, tokenStart, end);
+        }
+    }
+
+    private int startToken(int character, int next) {
+        if (complete) {
+            throw new JSONParseException("Invalid token sequence. Unexpected text after root");
+        }
+        TokenType structural = CharacterTable.structuralToken(character);
+        if (structural != null) {
+            check(structural);
+            accept(structural, null);
+            return next;
+        }
+
+        switch (character) {
+            case '"' -> {
+                check(TokenType.STRING);
+                state = IN_STRING;
+                tokenStart = next;
+            }
+            case 'n' -> startKeyword("null", TokenType.NULL, null);
+            case 't' -> startKeyword("true", TokenType.BOOLEAN, Boolean.TRUE);
+            case 'f' -> startKeyword("false", TokenType.BOOLEAN, Boolean.FALSE);
+            default -> {
+                if (!CharacterTable.is(character, CharacterTable.NUMBER_START)) {
+                    throw new JSONParseException("Cannot recognize symbol:" + (char) character);
+                }
+                check(TokenType.NUMBER);
+                numberScanner.reset();
+                numberScanner.accept(character);
+                state = IN_NUMBER;
+                tokenStart = next - 1;
+            }
+        }
+        return next;
+    }
+
+    private void startKeyword(String expected, TokenType type, Boolean value) {
+        check(type);
+        keyword = expected;
+        keywordType = type;
+        keywordValue = value;
+        // first character was already read
+        keywordIndex = 1;
+        state = IN_KEYWORD;
+    }
+
+    private int scanString(byte[] bytes, int i, int end) {
+        while (i < end) {
+            int character = bytes[i] & 0xFF;
+            if (CharacterTable.is(character, CharacterTable.STRING_SPECIAL)) {
+                if (character == '"') {
+                    state = BETWEEN_TOKENS;
+                    finishString(bytes, i);
+                } else if (character == '\\') {
+                    state = IN_ESCAPE;
+                } else {
+                    // control characters should be escaped
+                    throw new JSONParseException("Invalid character");
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int scanEscape(byte[] bytes, int i) {
+        int character = bytes[i] & 0xFF;
+        if (character == 'u') {
+            hexDigits = 4;
+            state = IN_UNICODE;
+        } else if (isEscapeSequence(character)) {
+            state = IN_STRING;
+        } else {
+            throw new JSONParseException("Invalid escape sequence");
+        }
+        return i + 1;
+    }
+
+    private int scanHexDigit(byte[] bytes, int i) {
+        if (!CharacterTable.is(bytes[i] & 0xFF, CharacterTable.HEX_DIGIT)) {
+            throw new JSONParseException("Invalid escape sequence");
+        }
+        if (--hexDigits == 0) {
+            state = IN_STRING;
+        }
+        return i + 1;
+    }
+
+    private int scanNumber(byte[] bytes, int i, int end) {
+        while (i < end) {
+            int character = bytes[i] & 0xFF;
+            if (!CharacterTable.is(character, CharacterTable.NUMBER_BODY)) {
+                // character after number isn't consumed
+                state = BETWEEN_TOKENS;
+                finishNumber(bytes, i);
+                return i;
+            }
+            if (numberScanner.accept(character) == NumberScanner.ERROR) {
+                throw new JSONParseException("Invalid number (sequence of characters). Provided: "
+                        + text(bytes, i + 1, false));
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int scanKeyword(byte[] bytes, int i) {
+        if ((bytes[i] & 0xFF) != keyword.charAt(keywordIndex)) {
+            throw new JSONParseException("Invalid token. Expected \"" + keyword + "\", but was provided"
+                    + keyword.substring(0, keywordIndex) + (char) (bytes[i] & 0xFF));
+        }
+        if (++keywordIndex == keyword.length()) {
+            state = BETWEEN_TOKENS;
+            accept(keywordType, keywordValue);
+        }
+        return i + 1;
+    }
+
+    private void finishString(byte[] bytes, int end) {
+        boolean name = inObject() && expectedToken != GrammarAnalizer.IN_VALUE;
+        if (name) {
+            expectedToken = GrammarAnalizer.END_OF_KEY;
+            listener.onEvent(TokenType.NAME, text(bytes, end, true));
+        } else {
+            accept(TokenType.STRING, text(bytes, end, false));
+        }
+    }
+
+    private void finishNumber(byte[] bytes, int end) {
+        if (!numberScanner.isComplete()) {
+            throw new JSONParseException("Invalid number (sequence of characters). Provided: "
+                    + text(bytes, end, false));
+        }
+        Number value = numberScanner.value(useBigDecimal);
+        if (value == null) {
+            value = NumberDecoder.decode(text(bytes, end, false), useBigDecimal);
+        } else {
+            length = 0;
+        }
+        accept(TokenType.NUMBER, value);
+    }
+
+    /**
+     * Decode text of current token: bytes from previous chunks and bytes of this chunk up to {@code end}.
+     * Token, which is whole in this chunk, isn't copied.
+     */
+    private String text(byte[] bytes, int end, boolean name) {
+        byte[] source = bytes;
+        int start = tokenStart;
+        if (length > 0) {
+            append(bytes, tokenStart, end);
+            source = text;
+            start = 0;
+            end = length;
+            length = 0;
+        }
+        return name && symbols != null
+                ? symbols.lookup(source, start, end)
+                : new String(source, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private void append(byte[] bytes, int start, int end) {
+        int count = end - start;
+        if (length + count > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, length + count));
+        }
+        System.arraycopy(bytes, start, text, length, count);
+        length += count;
+    }
+
+    private void check(TokenType type) {
+        if (!type.isValidTokenTypeByMask(expectedToken)) {
+            throw new JSONParseException("Invalid token:" + type);
+        }
+    }
+
+    private void accept(TokenType type, Object value) {
+        switch (type) {
+            case SEPARATOR_COLON -> expectedToken = GrammarAnalizer.IN_VALUE;
+            case SEPARATOR_COMMA -> expectedToken = inObject()
+                    ? GrammarAnalizer.NEXT_KEY_VALUE_PAIR
+                    : GrammarAnalizer.IN_VALUE;
+            case START_OBJECT -> {
+                push(true);
+                expectedToken = GrammarAnalizer.INIT_OBJECT;
+                listener.onEvent(type, null);
+            }
+            case START_ARRAY -> {
+                push(false);
+                expectedToken = GrammarAnalizer.START_ARRAY;
+                listener.onEvent(type, null);
+            }
+            case END_OBJECT, END_ARRAY -> {
+                --depth;
+                expectedToken = afterValue();
+                listener.onEvent(type, null);
+            }
+            default -> {
+                expectedToken = afterValue();
+                listener.onEvent(type, value);
+            }
+        }
+    }
+
+    private boolean inObject() {
+        return depth > 0 && contexts[depth - 1];
+    }
+
+    private int afterValue() {
+        if (depth == 0) {
+            complete = true;
+            return END_OF_ROOT;
+        }
+        return contexts[depth - 1] ? GrammarAnalizer.IN_FINISHED_VALUE : GrammarAnalizer.IN_ARRAY;
+    }
+
+    private void push(boolean isObject) {
+        if (depth >= maxDepth) {
+            throw new JSONParseException("Depth of nesting exceeds " + maxDepth);
+        }
+        if (depth == contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth * 2);
+        }
+        contexts[depth++] = isObject;
+    }
+
+    private static boolean isEscapeSequence(int ch) {
+        return ch == '"' || ch == '\\' || ch == '/' || ch == 'r'
+                || ch == 'n' || ch == 'b' || ch == 't' || ch == 'f';
+    }
+
+    /**
+     * Builds {@code JsonObject} and {@code JsonArray} from events.
+     */
+    private static final class TreeBuilder implements Listener {
+        private Object[] containers = new Object[INITIAL_DEPTH];
+        /**
+         * Last key of object on each level of nesting.
+         */
+        private String[] keys = new String[INITIAL_DEPTH];
+        private int depth;
+        private Object result;
+
+        @Override
+        public void onEvent(TokenType type, Object value) {
+            switch (type) {
+                case START_OBJECT -> push(new JsonObject());
+                case START_ARRAY -> push(new JsonArray());
+                case END_OBJECT, END_ARRAY -> {
+                    Object container = containers[--depth];
+                    containers[depth] = null;
+                    keys[depth] = null;
+                    add(container);
+                }
+                case NAME -> keys[depth - 1] = (String) value;
+                case END_DOCUMENT -> {
+                }
+                default -> add(value);
+            }
+        }
+
+        private void push(Object container) {
+            if (depth == containers.length) {
+                containers = Arrays.copyOf(containers, depth * 2);
+                keys = Arrays.copyOf(keys, depth * 2);
+            }
+            containers[depth++] = container;
+        }
+
+        private void add(Object value) {
+            if (depth == 0) {
+                result = value;
+                return;
+            }
+            Object container = containers[depth - 1];
+            if (container instanceof JsonObject object) {
+                object.put(keys[depth - 1], value);
+            } else {
+                ((JsonArray) container).add(value);
+            }
+        }
+
+        private void reset() {
+            Arrays.fill(containers, 0, depth, null);
+            Arrays.fill(keys, 0, depth, null);
+            depth = 0;
+            result = null;
+        }
+    }
+}
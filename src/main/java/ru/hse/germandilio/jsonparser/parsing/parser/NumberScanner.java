@@ -0,0 +1,156 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
+
+/**
+ * State machine of number by RFC 8259: {@code [ minus ] int [ frac ] [ exp ]}.
+ * Number is validated character by character while it's scanned,
+ * at the same time digits are accumulated to significand and exponent, so number isn't parsed again.
+ */
+final class NumberScanner {
+    static final int ERROR = -1;
+
+    private static final int START = 0;
+    private static final int MINUS = 1;
+    private static final int ZERO = 2;
+    private static final int INTEGER = 3;
+    private static final int DOT = 4;
+    private static final int FRACTION = 5;
+    private static final int EXPONENT = 6;
+    private static final int EXPONENT_SIGN = 7;
+    private static final int EXPONENT_DIGITS = 8;
+
+    private static final int KIND_OTHER = 0;
+    private static final int KIND_MINUS = 1;
+    private static final int KIND_PLUS = 2;
+    private static final int KIND_ZERO = 3;
+    private static final int KIND_DIGIT = 4;
+    private static final int KIND_DOT = 5;
+    private static final int KIND_EXPONENT = 6;
+
+    private static final byte[] KINDS = new byte[128];
+
+    /**
+     * Next state by current state and kind of character.
+     */
+    private static final byte[][] TRANSITIONS = {
+            // other, minus, plus, zero, digit, dot, exponent
+            {ERROR, MINUS, ERROR, ZERO, INTEGER, ERROR, ERROR},                             // START
+            {ERROR, ERROR, ERROR, ZERO, INTEGER, ERROR, ERROR},                             // MINUS
+            {ERROR, ERROR, ERROR, ERROR, ERROR, DOT, EXPONENT},                             // ZERO
+            {ERROR, ERROR, ERROR, INTEGER, INTEGER, DOT, EXPONENT},                         // INTEGER
+            {ERROR, ERROR, ERROR, FRACTION, FRACTION, ERROR, ERROR},                        // DOT
+            {ERROR, ERROR, ERROR, FRACTION, FRACTION, ERROR, EXPONENT},                     // FRACTION
+            {ERROR, EXPONENT_SIGN, EXPONENT_SIGN, EXPONENT_DIGITS, EXPONENT_DIGITS, ERROR, ERROR}, // EXPONENT
+            {ERROR, ERROR, ERROR, EXPONENT_DIGITS, EXPONENT_DIGITS, ERROR, ERROR},          // EXPONENT_SIGN
+            {ERROR, ERROR, ERROR, EXPONENT_DIGITS, EXPONENT_DIGITS, ERROR, ERROR},          // EXPONENT_DIGITS
+    };
+
+    static {
+        KINDS['-'] = KIND_MINUS;
+        KINDS['+'] = KIND_PLUS;
+        KINDS['0'] = KIND_ZERO;
+        for (char ch = '1'; ch <= '9'; ch++) {
+            KINDS[ch] = KIND_DIGIT;
+        }
+        KINDS['.'] = KIND_DOT;
+        KINDS['e'] = KIND_EXPONENT;
+        KINDS['E'] = KIND_EXPONENT;
+    }
+
+    private int state = START;
+
+    private boolean negative;
+    private long significand;
+    private int digits;
+    private int scale;
+    private boolean truncated;
+    private boolean exponentNegative;
+    private int exponent;
+
+    void reset() {
+        state = START;
+        negative = false;
+        significand = 0;
+        digits = 0;
+        scale = 0;
+        truncated = false;
+        exponentNegative = false;
+        exponent = 0;
+    }
+
+    /**
+     * Move to next state.
+     *
+     * @param character character of number body.
+     * @return new state, or ERROR if character isn't allowed in current state.
+     */
+    int accept(int character) {
+        int kind = character >= 0 && character < 128 ? KINDS[character] : KIND_OTHER;
+        state = TRANSITIONS[state][kind];
+
+        switch (state) {
+            case MINUS -> negative = true;
+            case ZERO, INTEGER -> addDigit(character - '0', false);
+            case FRACTION -> addDigit(character - '0', true);
+            case EXPONENT_SIGN -> exponentNegative = character == '-';
+            // bigger exponents are out of range of double anyway
+            case EXPONENT_DIGITS -> exponent = Math.min(exponent * 10 + (character - '0'), 100_000);
+            default -> {
+            }
+        }
+        return state;
+    }
+
+    private void addDigit(int digit, boolean fraction) {
+        if (significand == 0 && digit == 0) {
+            // leading zeros
+            scale -= fraction ? 1 : 0;
+        } else if (digits < NumberDecoder.MAX_LONG_DIGITS) {
+            significand = significand * 10 + digit;
+            ++digits;
+            scale -= fraction ? 1 : 0;
+        } else {
+            // digits, which don't fit in long, are taken into account only by exponent
+            truncated = true;
+            scale += fraction ? 0 : 1;
+        }
+    }
+
+    /**
+     * @return true if characters accepted after reset form complete number.
+     */
+    boolean isComplete() {
+        return state == ZERO || state == INTEGER || state == FRACTION || state == EXPONENT_DIGITS;
+    }
+
+    /**
+     * @return true if number has fraction or exponent part.
+     */
+    boolean isDecimal() {
+        return state == FRACTION || state == EXPONENT_DIGITS;
+    }
+
+    /**
+     * Value of complete number, converted from accumulated digits.
+     *
+     * @param useBigDecimal {@code BigDecimal} is requested instead of {@code Double}.
+     * @return {@code Integer}, {@code Long} or {@code Double}, or null if number can't be converted exactly
+     * without its text (too many digits, big exponent, or {@code BigDecimal} is requested).
+     */
+    Number value(boolean useBigDecimal) {
+        if (truncated) {
+            return null;
+        }
+        if (!isDecimal()) {
+            return NumberDecoder.integral(negative ? -significand : significand);
+        }
+        if (useBigDecimal) {
+            return null;
+        }
+
+        int exponent10 = scale + (exponentNegative ? -exponent : exponent);
+        double value = NumberDecoder.fastDouble(negative, significand, exponent10);
+        return Double.isNaN(value) ? null : value;
+    }
+}
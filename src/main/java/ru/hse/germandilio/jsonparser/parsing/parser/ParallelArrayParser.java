@@ -0,0 +1,262 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parser of json in UTF-8, which root is large array of independent elements.
+ * Boundaries of elements are found by single structural pass (nesting depth and state of strings),
+ * then elements are parsed concurrently in {@code ForkJoinPool} and added to {@code JsonArray} in original order.
+ */
+public final class ParallelArrayParser {
+    /**
+     * Elements are parsed in one task, while their total size is less.
+     */
+    private static final int MIN_TASK_BYTES = 16 * 1024;
+    private static final int INITIAL_ELEMENTS = 1024;
+
+    private final ForkJoinPool pool;
+    private boolean useBigDecimal;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+    private SymbolTable symbols;
+
+    public ParallelArrayParser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelArrayParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays with root array,
+     *                 deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param symbols table of keys, shared by all elements. Null if keys shouldn't be reused.
+     */
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Read whole file and parse it.
+     *
+     * @param path .json file in UTF-8 with array as root.
+     * @return parsed array.
+     * @throws IOException cannot read file or it has invalid json.
+     */
+    public JsonArray parse(Path path) throws IOException {
+        return parse(Files.readAllBytes(path));
+    }
+
+    /**
+     * @param bytes .json file in UTF-8 with array as root.
+     * @return parsed array.
+     * @throws IOException invalid json.
+     */
+    public JsonArray parse(byte[] bytes) throws IOException {
+        if (pool.getParallelism() == 1) {
+            return parseSequentially(bytes);
+        }
+
+        var boundaries = new Boundaries(bytes);
+        boundaries.scan();
+
+        int count = boundaries.count;
+        if (count == 0) {
+            return new JsonArray();
+        }
+        Object[] elements = new Object[count];
+        int minTaskBytes = Math.max(MIN_TASK_BYTES, bytes.length / (pool.getParallelism() * 16));
+        var task = new ParseTask(bytes, boundaries.starts, boundaries.ends, elements, 0, count, minTaskBytes);
+        try {
+            pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        JsonArray array = new JsonArray();
+        for (Object element : elements) {
+            array.add(element);
+        }
+        return array;
+    }
+
+    private JsonArray parseSequentially(byte[] bytes) throws IOException {
+        var lexer = new LexicalAnalyzer(new Utf8Wrapper(bytes), symbols);
+        if (lexer.advance() != TokenType.START_ARRAY) {
+            throw new JSONParseException("Invalid token sequence. Root should be array");
+        }
+        var grammar = new GrammarAnalizer(useBigDecimal);
+        grammar.setMaxDepth(maxDepth);
+        var array = (JsonArray) grammar.parseNested(lexer, TokenType.START_ARRAY, 0);
+        if (lexer.advance() != TokenType.END_DOCUMENT) {
+            throw new JSONParseException("Invalid token sequence. Unexpected text after root array");
+        }
+        return array;
+    }
+
+    private final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+        private final int[] starts;
+        private final int[] ends;
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+        private final int minTaskBytes;
+
+        private ParseTask(byte[] bytes, int[] starts, int[] ends, Object[] elements,
+                          int from, int to, int minTaskBytes) {
+            this.bytes = bytes;
+            this.starts = starts;
+            this.ends = ends;
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.minTaskBytes = minTaskBytes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && ends[to - 1] - starts[from] > minTaskBytes) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(bytes, starts, ends, elements, from, middle, minTaskBytes),
+                        new ParseTask(bytes, starts, ends, elements, middle, to, minTaskBytes));
+                return;
+            }
+
+            // elements of task are separated by commas, so they are parsed by one analyzer
+            var lexer = new LexicalAnalyzer(new Utf8Wrapper(bytes, starts[from], ends[to - 1] - starts[from]), symbols);
+            var grammar = new GrammarAnalizer(useBigDecimal);
+            grammar.setMaxDepth(maxDepth);
+            try {
+                for (int i = from; i < to; i++) {
+                    TokenType end = i < to - 1 ? TokenType.SEPARATOR_COMMA : TokenType.END_DOCUMENT;
+                    // elements are inside of root array
+                    elements[i] = grammar.parseValue(lexer, end, 1);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Positions of elements of root array. Only nesting and strings are tracked,
+     * elements themselves are validated when they are parsed.
+     */
+    private static final class Boundaries {
+        private final byte[] bytes;
+        private int[] starts = new int[INITIAL_ELEMENTS];
+        private int[] ends = new int[INITIAL_ELEMENTS];
+        private int count;
+
+        private Boundaries(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void scan() {
+            int pos = skipWhitespace(0);
+            if (pos == bytes.length || bytes[pos] != '[') {
+                throw new JSONParseException("Invalid token sequence. Root should be array");
+            }
+
+            int start = ++pos;
+            int depth = 0;
+            while (pos < bytes.length) {
+                byte ch = bytes[pos++];
+                switch (ch) {
+                    case '"' -> pos = skipString(pos);
+                    case '{', '[' -> ++depth;
+                    case '}', ']' -> {
+                        if (depth > 0) {
+                            --depth;
+                        } else if (ch == ']') {
+                            // end of root array
+                            if (count > 0 || skipWhitespace(start) != pos - 1) {
+                                add(start, pos - 1);
+                            }
+                            if (skipWhitespace(pos) != bytes.length) {
+                                throw new JSONParseException("Invalid token sequence. Unexpected text after root array");
+                            }
+                            return;
+                        } else {
+                            throw new JSONParseException("Invalid token:" + (char) ch);
+                        }
+                    }
+                    case ',' -> {
+                        if (depth == 0) {
+                            add(start, pos - 1);
+                            start = pos;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            throw new JSONParseException("Invalid sequence of tokens");
+        }
+
+        /**
+         * @param from position after opening quote.
+         * @return position after closing quote.
+         */
+        private int skipString(int from) {
+            int pos = from;
+            while (pos < bytes.length) {
+                byte ch = bytes[pos++];
+                if (ch == '"') {
+                    return pos;
+                }
+                if (ch == '\\') {
+                    ++pos;
+                }
+            }
+            throw new JSONParseException("Invalid sequence of tokens");
+        }
+
+        private int skipWhitespace(int from) {
+            int pos = from;
+            while (pos < bytes.length && CharacterTable.is(bytes[pos], CharacterTable.WHITESPACE)) {
+                ++pos;
+            }
+            return pos;
+        }
+
+        private void add(int start, int end) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            ++count;
+        }
+    }
+}
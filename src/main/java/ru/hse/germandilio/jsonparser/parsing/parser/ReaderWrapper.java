@@ -2,23 +2,79 @@ package ru.hse.germandilio.jsonparser.parsing.parser;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
 
-public final class ReaderWrapper {
-    public static final int TERMINATION_SYMBOL = -1;
+public final class ReaderWrapper implements InputWrapper {
+    static final int BUFFER_SIZE = 8192;
 
-    private static final int BUFFER_SIZE = 8192;
-
-    private final Reader reader;
-    private final char[] buffer;
+    private Reader reader;
+    /**
+     * Text, which is read instead of {@code reader}.
+     */
+    private String text;
+    private int textPosition;
+    private char[] buffer;
 
     private int pos;
     private int currentSize;
+    private int mark;
+    /**
+     * Characters dropped from start of buffer by updates.
+     */
+    private long dropped;
 
     public ReaderWrapper(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * @param reader source of characters, can be null if source is set by {@code reset}.
+     * @param bufferSize initial size of buffer, buffer grows for text longer than it.
+     */
+    public ReaderWrapper(Reader reader, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive");
+        }
         this.reader = reader;
-        buffer = new char[BUFFER_SIZE];
+        buffer = new char[bufferSize];
         pos = 0;
         currentSize = 0;
+        mark = -1;
+    }
+
+    /**
+     * Read from {@code reader}, buffer of this wrapper is reused.
+     */
+    public void reset(Reader reader) {
+        this.reader = reader;
+        text = null;
+        clear();
+    }
+
+    /**
+     * Read characters of {@code text} without creating {@code Reader}, buffer of this wrapper is reused.
+     */
+    public void reset(String text) {
+        reader = null;
+        this.text = text;
+        textPosition = 0;
+        clear();
+    }
+
+    /**
+     * Drop source, so it isn't kept by reused wrapper.
+     */
+    void detach() {
+        reader = null;
+        text = null;
+        clear();
+    }
+
+    /**
+     * @return current size of buffer.
+     */
+    int capacity() {
+        return buffer.length;
     }
 
     /**
@@ -27,6 +83,7 @@ public final class ReaderWrapper {
      * @return Single character, or -1 if the stream reached his end.
      * @throws IOException Cannot fill buffer from reader.
      */
+    @Override
     public int next() throws IOException {
         if (isEmpty()) {
             return TERMINATION_SYMBOL;
@@ -37,6 +94,7 @@ public final class ReaderWrapper {
     /**
      * @return Last char read, or -1 if the end of the stream is reached.
      */
+    @Override
     public int peek() {
         if (pos - 1 >= currentSize) {
             return TERMINATION_SYMBOL;
@@ -47,6 +105,7 @@ public final class ReaderWrapper {
     /**
      * Return position on previous position
      */
+    @Override
     public void back() {
         pos = Math.max(--pos, 0);
     }
@@ -57,6 +116,7 @@ public final class ReaderWrapper {
      * @return True if empty, false otherwise
      * @throws IOException Cannot fill buffer from reader.
      */
+    @Override
     public boolean isEmpty() throws IOException {
         if (pos < currentSize) {
             return false;
@@ -66,13 +126,77 @@ public final class ReaderWrapper {
         return pos >= currentSize;
     }
 
+    @Override
+    public void mark() {
+        mark = pos;
+    }
+
+    @Override
+    public void unmark() {
+        mark = -1;
+    }
+
+    @Override
+    public int markPosition() {
+        return mark;
+    }
+
+    @Override
+    public int position() {
+        return pos;
+    }
+
+    @Override
+    public long offset() {
+        return dropped + pos;
+    }
+
+    @Override
+    public String text(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+
+    @Override
+    public String symbol(SymbolTable symbols, int start, int end) {
+        return symbols.lookup(buffer, start, end);
+    }
+
     private void updateBuffer() throws IOException {
-        int responseLength = reader.read(buffer);
+        // keep marked text and last read character, so back() and peek() work after update
+        int keepFrom = mark >= 0 ? mark : Math.max(currentSize - 1, 0);
+        int kept = currentSize - keepFrom;
+        if (kept == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        System.arraycopy(buffer, keepFrom, buffer, 0, kept);
+        if (mark >= 0) {
+            mark -= keepFrom;
+        }
+        pos -= keepFrom;
+        dropped += keepFrom;
+        currentSize = kept;
+
+        int responseLength = reader != null ? reader.read(buffer, kept, buffer.length - kept) : readText(kept);
         if (responseLength == -1) {
             return;
         }
+        currentSize += responseLength;
+    }
+
+    private int readText(int offset) {
+        if (text == null || textPosition == text.length()) {
+            return -1;
+        }
+        int count = Math.min(buffer.length - offset, text.length() - textPosition);
+        text.getChars(textPosition, textPosition + count, buffer, offset);
+        textPosition += count;
+        return count;
+    }
 
+    private void clear() {
         pos = 0;
-        currentSize = responseLength;
+        dropped = 0;
+        currentSize = 0;
+        mark = -1;
     }
 }
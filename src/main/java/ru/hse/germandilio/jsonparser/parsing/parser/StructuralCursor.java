@@ -0,0 +1,172 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenCursor;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Second stage of two-stage parsing: tokens, taken from positions of {@code StructuralIndex}.
+ * Strings are bounded by their quotes from index, so their text isn't scanned again.
+ * Only numbers and literals are read by characters.
+ */
+final class StructuralCursor implements TokenCursor {
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+    private static final String NULL = "null";
+
+    private final StructuralIndex index;
+    private final byte[] bytes;
+    private final SymbolTable symbols;
+    private final NumberScanner numberScanner = new NumberScanner();
+
+    private int next;
+
+    // current token of cursor
+    private TokenType type;
+    private int start;
+    private int end;
+    private boolean booleanValue;
+
+    StructuralCursor(StructuralIndex index, SymbolTable symbols) {
+        this.index = index;
+        this.symbols = symbols;
+        bytes = index.bytes();
+    }
+
+    /**
+     * @return number of the next entry of index.
+     */
+    int nextEntry() {
+        return next;
+    }
+
+    /**
+     * Move cursor, so {@code advance} takes token from {@code entry} of index.
+     */
+    void seek(int entry) {
+        next = entry;
+    }
+
+    @Override
+    public TokenType advance() {
+        if (next == index.count()) {
+            type = TokenType.END_DOCUMENT;
+            return type;
+        }
+
+        int position = index.position(next++);
+        int character = bytes[position] & 0xFF;
+        start = position;
+        end = position + 1;
+
+        TokenType structural = CharacterTable.structuralToken(character);
+        if (structural != null) {
+            type = structural;
+            return type;
+        }
+
+        switch (character) {
+            case '"' -> {
+                // closing quote is the next position of index
+                start = position + 1;
+                end = index.position(next++);
+                type = TokenType.STRING;
+            }
+            case 'n' -> {
+                readKeyword(position, NULL);
+                type = TokenType.NULL;
+            }
+            case 't' -> {
+                readKeyword(position, TRUE);
+                booleanValue = true;
+                type = TokenType.BOOLEAN;
+            }
+            case 'f' -> {
+                readKeyword(position, FALSE);
+                booleanValue = false;
+                type = TokenType.BOOLEAN;
+            }
+            default -> {
+                if (!CharacterTable.is(character, CharacterTable.NUMBER_START)) {
+                    throw new JSONParseException("Cannot recognize symbol:" + (char) character);
+                }
+                readNumber(position);
+                type = TokenType.NUMBER;
+            }
+        }
+        return type;
+    }
+
+    @Override
+    public String getText() {
+        return switch (type) {
+            case STRING, NUMBER -> new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            case BOOLEAN -> booleanValue ? TRUE : FALSE;
+            case NULL -> NULL;
+            case END_DOCUMENT -> null;
+            default -> String.valueOf((char) bytes[start]);
+        };
+    }
+
+    @Override
+    public String getName() {
+        if (symbols == null || type != TokenType.STRING) {
+            return getText();
+        }
+        return symbols.lookup(bytes, start, end);
+    }
+
+    @Override
+    public Number getNumber(boolean useBigDecimal) {
+        Number value = numberScanner.value(useBigDecimal);
+        return value != null ? value : NumberDecoder.decode(getText(), useBigDecimal);
+    }
+
+    private void readNumber(int position) {
+        numberScanner.reset();
+        int pos = position;
+        while (pos < index.limit() && CharacterTable.is(bytes[pos], CharacterTable.NUMBER_BODY)) {
+            if (numberScanner.accept(bytes[pos++]) == NumberScanner.ERROR) {
+                throw invalidNumber(position, pos);
+            }
+        }
+        if (!numberScanner.isComplete()) {
+            throw invalidNumber(position, pos);
+        }
+        end = pos;
+        checkScalarEnd(pos);
+    }
+
+    private JSONParseException invalidNumber(int from, int to) {
+        String result = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        return new JSONParseException("Invalid number (sequence of characters). Provided: " + result);
+    }
+
+    private void readKeyword(int position, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            int pos = position + i;
+            if (pos >= index.limit() || bytes[pos] != expected.charAt(i)) {
+                String result = new String(bytes, position, Math.min(pos + 1, index.limit()) - position,
+                        StandardCharsets.UTF_8);
+                throw new JSONParseException("Invalid token. Expected \"" + expected + "\", but was provided" + result);
+            }
+        }
+        end = position + expected.length();
+        checkScalarEnd(end);
+    }
+
+    /**
+     * Scalar can be followed only by whitespace up to the next position of index.
+     */
+    private void checkScalarEnd(int from) {
+        int to = next < index.count() ? index.position(next) : index.limit();
+        for (int pos = from; pos < to; pos++) {
+            if (!CharacterTable.is(bytes[pos], CharacterTable.WHITESPACE)) {
+                throw new JSONParseException("Cannot recognize symbol:" + (char) (bytes[pos] & 0xFF));
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * First stage of two-stage parsing: positions of structural characters, quotes and starts of
+ * numbers and literals outside strings. Input is classified by blocks of 64 bytes. Each block gives bitmasks
+ * of quotes, backslashes, structural characters, whitespace and control characters, one bit per byte,
+ * eight bytes of {@code long} are compared at once (SWAR). Strings are found by prefix xor of quote mask,
+ * so bytes are not looked at one by one, except escape sequences.
+ */
+final class StructuralIndex {
+    private static final int BLOCK_SIZE = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long CASE_BIT = 0x2020202020202020L;
+    /**
+     * Moves high bits of eight bytes to eight lowest bits of the highest byte.
+     */
+    private static final long GATHER = 0x0102040810204080L;
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int limit;
+
+    private int[] positions;
+    private int count;
+
+    // state carried between blocks
+    private long escapedCarry;
+    private long inStringCarry;
+    private long scalarCarry;
+
+    private StructuralIndex(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        limit = offset + length;
+        positions = new int[Math.max(16, length / 8)];
+    }
+
+    /**
+     * Build index of bytes in range.
+     *
+     * @throws JSONParseException string isn't terminated, has control character or invalid escape sequence.
+     */
+    static StructuralIndex build(byte[] bytes, int offset, int length) {
+        var index = new StructuralIndex(bytes, offset, length);
+        index.scan();
+        return index;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * @return position in bytes of {@code i}-th structural character, quote or start of scalar.
+     */
+    int position(int i) {
+        return positions[i];
+    }
+
+    private void scan() {
+        int blockStart = offset;
+        for (; blockStart + BLOCK_SIZE <= limit; blockStart += BLOCK_SIZE) {
+            scanBlock(bytes, blockStart, blockStart);
+        }
+        if (blockStart < limit) {
+            // tail is padded by whitespace
+            byte[] tail = new byte[BLOCK_SIZE];
+            Arrays.fill(tail, (byte) ' ');
+            System.arraycopy(bytes, blockStart, tail, 0, limit - blockStart);
+            scanBlock(tail, 0, blockStart);
+        }
+        if (inStringCarry != 0) {
+            throw new JSONParseException("Invalid sequence of tokens. String isn't terminated");
+        }
+    }
+
+    /**
+     * @param block array with bytes of block.
+     * @param from position of block in {@code block}.
+     * @param base position of block in input.
+     */
+    private void scanBlock(byte[] block, int from, int base) {
+        long quotes = 0;
+        long backslashes = 0;
+        long structurals = 0;
+        long whitespace = 0;
+        long controls = 0;
+        for (int i = 0; i < BLOCK_SIZE / Long.BYTES; i++) {
+            long word = (long) LONGS.get(block, from + i * Long.BYTES);
+            int shift = i * Long.BYTES;
+
+            quotes |= gather(equal(word, '"')) << shift;
+            backslashes |= gather(equal(word, '\\')) << shift;
+            // '[' and ']' differ from '{' and '}' only by bit 0x20
+            long lowered = word | CASE_BIT;
+            structurals |= gather(equal(lowered, '{') | equal(lowered, '}')
+                    | equal(word, ':') | equal(word, ',')) << shift;
+            long control = lessThanSpace(word);
+            long space = equal(word, ' ');
+            if (control != 0) {
+                // line breaks and tabs are the only control characters allowed outside strings
+                space |= equal(word, '\n') | equal(word, '\r') | equal(word, '\t');
+                controls |= gather(control) << shift;
+            }
+            whitespace |= gather(space) << shift;
+        }
+
+        long escaped = findEscaped(backslashes);
+        quotes &= ~escaped;
+
+        // opening quote and text of string, closing quote isn't included
+        long inString = prefixXor(quotes) ^ inStringCarry;
+        inStringCarry = inString >> 63;
+
+        if ((controls & inString) != 0) {
+            throw new JSONParseException("Invalid character");
+        }
+        validateEscapes(backslashes & ~escaped & inString, base);
+
+        long scalars = ~(structurals | whitespace | quotes | inString);
+        long scalarStarts = scalars & ~(scalars << 1 | scalarCarry);
+        scalarCarry = scalars >>> 63;
+
+        addPositions((structurals & ~inString) | quotes | scalarStarts, base);
+    }
+
+    /**
+     * Characters after backslashes, which aren't escaped themselves. Backslashes are rare,
+     * so they are processed one by one.
+     */
+    private long findEscaped(long backslashes) {
+        long escaped = escapedCarry;
+        escapedCarry = 0;
+
+        long rest = backslashes;
+        while (rest != 0) {
+            int bit = Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+            if ((escaped & 1L << bit) != 0) {
+                continue;
+            }
+            if (bit == BLOCK_SIZE - 1) {
+                escapedCarry = 1;
+            } else {
+                escaped |= 1L << bit + 1;
+            }
+        }
+        return escaped;
+    }
+
+    private void validateEscapes(long escapes, int base) {
+        long rest = escapes;
+        while (rest != 0) {
+            int position = base + Long.numberOfTrailingZeros(rest) + 1;
+            rest &= rest - 1;
+
+            int character = position < limit ? bytes[position] : InputWrapper.TERMINATION_SYMBOL;
+            if (character == 'u') {
+                for (int i = 1; i <= 4; i++) {
+                    if (position + i >= limit || !CharacterTable.is(bytes[position + i], CharacterTable.HEX_DIGIT)) {
+                        throw new JSONParseException("Invalid escape sequence");
+                    }
+                }
+            } else if (character != '"' && character != '\\' && character != '/' && character != 'r'
+                    && character != 'n' && character != 'b' && character != 't' && character != 'f') {
+                throw new JSONParseException("Invalid escape sequence");
+            }
+        }
+    }
+
+    private void addPositions(long bits, int base) {
+        int bitCount = Long.bitCount(bits);
+        if (count + bitCount > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(positions.length * 2, count + bitCount));
+        }
+
+        long rest = bits;
+        while (rest != 0) {
+            positions[count++] = base + Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+        }
+    }
+
+    /**
+     * @return high bit set in each byte of {@code word} equal to {@code character}.
+     */
+    private static long equal(long word, char character) {
+        long difference = word ^ (character * ONES);
+        return ~(((difference & LOW_BITS) + LOW_BITS) | difference) & HIGH_BITS;
+    }
+
+    /**
+     * @return high bit set in each byte of {@code word} less than 0x20.
+     */
+    private static long lessThanSpace(long word) {
+        return ~(((word & LOW_BITS) + 0x6060606060606060L) | word) & HIGH_BITS;
+    }
+
+    /**
+     * @return eight bits, one per byte of {@code highBits}.
+     */
+    private static long gather(long highBits) {
+        return ((highBits >>> 7) * GATHER) >>> 56;
+    }
+
+    /**
+     * @return each bit is xor of all lower bits and itself.
+     */
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+}
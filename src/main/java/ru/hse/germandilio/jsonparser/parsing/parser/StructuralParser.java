@@ -0,0 +1,71 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import java.io.IOException;
+
+/**
+ * Two-stage parser of json in UTF-8. First stage builds {@code StructuralIndex} of whole input by blocks of bytes,
+ * second stage takes tokens from positions of index and passes them to {@code GrammarAnalizer}.
+ * Suits inputs, which are already in memory, when lexing is the bottleneck.
+ */
+public final class StructuralParser {
+    private boolean useBigDecimal;
+    private SymbolTable symbols;
+    private boolean lazy;
+    private int maxDepth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+
+    /**
+     * @param useBigDecimal numbers with fraction or exponent are converted to {@code BigDecimal} instead of {@code Double}.
+     */
+    public void setUseBigDecimal(boolean useBigDecimal) {
+        this.useBigDecimal = useBigDecimal;
+    }
+
+    /**
+     * @param symbols table of keys. Null if keys shouldn't be reused.
+     */
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * @param lazy containers are built on first access to them. Whole input is checked by parse,
+     * values of numbers are converted, when their container is loaded. Result keeps input and its index.
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * @param maxDepth max depth of nesting of objects and arrays, deeper json fails with {@code JSONParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Max depth should be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public Object parse(byte[] bytes) throws IOException {
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parse json in UTF-8 to {@code JsonArray} or {@code JsonObject} type.
+     *
+     * @param bytes .json file in UTF-8.
+     * @param offset position of json in {@code bytes}.
+     * @param length count of bytes.
+     * @return {@code Object}.
+     * @throws IOException I/O exception.
+     */
+    public Object parse(byte[] bytes, int offset, int length) throws IOException {
+        if (lazy) {
+            return LazyDocument.parse(bytes, offset, length, symbols, useBigDecimal, maxDepth);
+        }
+
+        var cursor = new StructuralCursor(StructuralIndex.build(bytes, offset, length), symbols);
+        var grammar = new GrammarAnalizer(useBigDecimal);
+        grammar.setMaxDepth(maxDepth);
+        return grammar.parse(cursor);
+    }
+}
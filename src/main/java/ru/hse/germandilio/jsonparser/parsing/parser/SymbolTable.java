@@ -0,0 +1,157 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded table of object keys. Key is looked up by hash of its characters in buffer of reader,
+ * so repeated keys are returned as the same {@code String} without allocation.
+ * Table has fixed count of slots, key in slot is replaced on collision.
+ * Can be shared between parsers and threads: slots hold immutable strings, lost update only costs allocation.
+ */
+public final class SymbolTable {
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Longer keys aren't stored, so memory used by table is bounded.
+     */
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final String[] slots;
+    private final int mask;
+
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity count of slots, rounded up to power of two.
+     */
+    public SymbolTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        slots = new String[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Find key by characters of buffer.
+     *
+     * @return stored or new {@code String} equal to {@code buffer[start, end)}.
+     */
+    public String lookup(char[] buffer, int start, int end) {
+        int length = end - start;
+        if (length > MAX_KEY_LENGTH) {
+            return new String(buffer, start, length);
+        }
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+
+        int slot = spread(hash) & mask;
+        String symbol = slots[slot];
+        if (symbol != null && symbol.length() == length && matches(symbol, buffer, start)) {
+            return symbol;
+        }
+
+        symbol = new String(buffer, start, length);
+        slots[slot] = symbol;
+        return symbol;
+    }
+
+    /**
+     * Find key by UTF-8 bytes of buffer. Only ASCII keys are stored.
+     *
+     * @return stored or new {@code String} decoded from {@code buffer[start, end)}.
+     */
+    public String lookup(byte[] buffer, int start, int end) {
+        int length = end - start;
+        if (length > MAX_KEY_LENGTH) {
+            return new String(buffer, start, length, StandardCharsets.UTF_8);
+        }
+
+        int hash = 0;
+        int nonAscii = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+            nonAscii |= buffer[i];
+        }
+        if (nonAscii < 0) {
+            return new String(buffer, start, length, StandardCharsets.UTF_8);
+        }
+
+        int slot = spread(hash) & mask;
+        String symbol = slots[slot];
+        if (symbol != null && symbol.length() == length && matches(symbol, buffer, start)) {
+            return symbol;
+        }
+
+        symbol = new String(buffer, start, length, StandardCharsets.ISO_8859_1);
+        slots[slot] = symbol;
+        return symbol;
+    }
+
+    /**
+     * Find key by UTF-8 bytes of buffer. Only ASCII keys are stored.
+     *
+     * @return stored or new {@code String} decoded from {@code buffer[start, end)}.
+     */
+    public String lookup(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        int nonAscii = 0;
+        for (int i = start; i < end && length <= MAX_KEY_LENGTH; i++) {
+            byte value = buffer.get(i);
+            hash = 31 * hash + value;
+            nonAscii |= value;
+        }
+
+        if (length <= MAX_KEY_LENGTH && nonAscii >= 0) {
+            int slot = spread(hash) & mask;
+            String symbol = slots[slot];
+            if (symbol != null && symbol.length() == length && matches(symbol, buffer, start)) {
+                return symbol;
+            }
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        String symbol = new String(bytes, StandardCharsets.UTF_8);
+        if (length <= MAX_KEY_LENGTH && nonAscii >= 0) {
+            slots[spread(hash) & mask] = symbol;
+        }
+        return symbol;
+    }
+
+    private static boolean matches(String symbol, char[] buffer, int start) {
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String symbol, byte[] buffer, int start) {
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String symbol, ByteBuffer buffer, int start) {
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
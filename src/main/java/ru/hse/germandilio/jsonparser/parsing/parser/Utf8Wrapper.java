@@ -0,0 +1,294 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Source of UTF-8 bytes for {@code LexicalAnalyzer}.
+ * Bytes are returned without charset decoding, only marked text (strings and numbers) is decoded.
+ */
+public final class Utf8Wrapper implements InputWrapper {
+    /**
+     * Fills buffer with next bytes of input.
+     */
+    @FunctionalInterface
+    public interface ByteSource {
+        /**
+         * @return count of bytes read, or -1 if the end of input is reached.
+         * @throws IOException cannot read from input.
+         */
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    static final int BUFFER_SIZE = 8192;
+
+    private ByteSource source;
+    private InputStream stream;
+    private byte[] buffer;
+    /**
+     * Buffer for reading from source or stream, null until it's needed.
+     */
+    private byte[] ownBuffer;
+    private final int bufferSize;
+
+    private int pos;
+    private int currentSize;
+    private int mark;
+    /**
+     * Bytes dropped from start of buffer by updates, minus offset of range for wrapped array.
+     */
+    private long dropped;
+
+    public Utf8Wrapper(ByteSource source) {
+        this(BUFFER_SIZE);
+        this.source = source;
+        buffer = ownBuffer();
+    }
+
+    public Utf8Wrapper(InputStream stream) {
+        this(BUFFER_SIZE);
+        this.stream = stream;
+        buffer = ownBuffer();
+    }
+
+    /**
+     * Wrapper without input, which is set by {@code reset}.
+     *
+     * @param bufferSize initial size of buffer for streams, buffer grows for text longer than it.
+     */
+    public Utf8Wrapper(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive");
+        }
+        this.bufferSize = bufferSize;
+        mark = -1;
+    }
+
+    /**
+     * Read bytes from {@code bytes} without copying.
+     */
+    public Utf8Wrapper(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Read bytes from range of {@code bytes} without copying.
+     */
+    public Utf8Wrapper(byte[] bytes, int offset, int length) {
+        bufferSize = BUFFER_SIZE;
+        reset(bytes, offset, length);
+    }
+
+    /**
+     * Read from {@code stream}, buffer of this wrapper is reused.
+     */
+    public void reset(InputStream stream) {
+        source = null;
+        this.stream = stream;
+        buffer = ownBuffer();
+        pos = 0;
+        dropped = 0;
+        currentSize = 0;
+        mark = -1;
+    }
+
+    /**
+     * Read remaining bytes of {@code byteBuffer}, its position isn't changed.
+     * Heap buffer is read without copying, direct buffer is copied to buffer of this wrapper by parts.
+     */
+    public void reset(ByteBuffer byteBuffer) {
+        if (byteBuffer.hasArray()) {
+            reset(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+            return;
+        }
+
+        ByteBuffer input = byteBuffer.duplicate();
+        reset((buffer, offset, length) -> {
+            if (!input.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, input.remaining());
+            input.get(buffer, offset, count);
+            return count;
+        });
+    }
+
+    /**
+     * Read from {@code source}, buffer of this wrapper is reused.
+     */
+    public void reset(ByteSource source) {
+        this.source = source;
+        stream = null;
+        buffer = ownBuffer();
+        pos = 0;
+        dropped = 0;
+        currentSize = 0;
+        mark = -1;
+    }
+
+    /**
+     * Read bytes from range of {@code bytes} without copying.
+     */
+    public void reset(byte[] bytes, int offset, int length) {
+        source = null;
+        stream = null;
+        buffer = bytes;
+        pos = offset;
+        dropped = -offset;
+        currentSize = offset + length;
+        mark = -1;
+    }
+
+    /**
+     * Drop input, so it isn't kept by reused wrapper.
+     */
+    void detach() {
+        source = null;
+        stream = null;
+        buffer = ownBuffer;
+        pos = 0;
+        dropped = 0;
+        currentSize = 0;
+        mark = -1;
+    }
+
+    /**
+     * @return current size of own buffer, 0 if it isn't created.
+     */
+    int capacity() {
+        return ownBuffer == null ? 0 : ownBuffer.length;
+    }
+
+    private byte[] ownBuffer() {
+        if (ownBuffer == null) {
+            ownBuffer = new byte[bufferSize];
+        }
+        return ownBuffer;
+    }
+
+    /**
+     * Read remaining bytes of {@code byteBuffer}. Heap buffers are read without copying.
+     */
+    public static Utf8Wrapper of(ByteBuffer byteBuffer) {
+        var wrapper = new Utf8Wrapper(BUFFER_SIZE);
+        wrapper.reset(byteBuffer);
+        return wrapper;
+    }
+
+    /**
+     * Read next byte.
+     *
+     * @return Single byte (0-255), or -1 if the stream reached his end.
+     * @throws IOException Cannot fill buffer from source.
+     */
+    @Override
+    public int next() throws IOException {
+        if (isEmpty()) {
+            return TERMINATION_SYMBOL;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    /**
+     * @return Last byte read, or -1 if the end of the stream is reached.
+     */
+    @Override
+    public int peek() {
+        if (pos - 1 >= currentSize) {
+            return TERMINATION_SYMBOL;
+        }
+        return buffer[Math.max(pos - 1, 0)] & 0xFF;
+    }
+
+    /**
+     * Return position on previous position
+     */
+    @Override
+    public void back() {
+        pos = Math.max(--pos, 0);
+    }
+
+    /**
+     * Check if source is empty.
+     *
+     * @return True if empty, false otherwise
+     * @throws IOException Cannot fill buffer from source.
+     */
+    @Override
+    public boolean isEmpty() throws IOException {
+        if (pos < currentSize) {
+            return false;
+        }
+
+        updateBuffer();
+        return pos >= currentSize;
+    }
+
+    @Override
+    public void mark() {
+        mark = pos;
+    }
+
+    @Override
+    public void unmark() {
+        mark = -1;
+    }
+
+    @Override
+    public int markPosition() {
+        return mark;
+    }
+
+    @Override
+    public int position() {
+        return pos;
+    }
+
+    @Override
+    public long offset() {
+        return dropped + pos;
+    }
+
+    @Override
+    public String text(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String symbol(SymbolTable symbols, int start, int end) {
+        return symbols.lookup(buffer, start, end);
+    }
+
+    private void updateBuffer() throws IOException {
+        if (source == null && stream == null) {
+            // wrapped array is whole input
+            return;
+        }
+
+        // keep marked text and last read byte, so back() and peek() work after update
+        int keepFrom = mark >= 0 ? mark : Math.max(currentSize - 1, 0);
+        int kept = currentSize - keepFrom;
+        if (kept == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            ownBuffer = buffer;
+        }
+        System.arraycopy(buffer, keepFrom, buffer, 0, kept);
+        if (mark >= 0) {
+            mark -= keepFrom;
+        }
+        pos -= keepFrom;
+        dropped += keepFrom;
+        currentSize = kept;
+
+        int responseLength = stream != null
+                ? stream.read(buffer, kept, buffer.length - kept)
+                : source.read(buffer, kept, buffer.length - kept);
+        if (responseLength == -1) {
+            return;
+        }
+        currentSize += responseLength;
+    }
+}
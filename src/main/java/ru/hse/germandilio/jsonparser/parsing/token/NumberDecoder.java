@@ -0,0 +1,259 @@
+package ru.hse.germandilio.jsonparser.parsing.token;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Conversion of json numbers to {@code Integer}, {@code Long}, {@code BigInteger},
+ * {@code Double} or {@code BigDecimal}. Large values are never converted to double silently.
+ * Doubles are converted from digits without text, text is parsed by JDK only for numbers
+ * with more than 18 significant digits and for rare ambiguous results.
+ */
+public final class NumberDecoder {
+    /**
+     * Count of decimal digits, which always fit in long.
+     */
+    public static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Largest integer, which is exactly represented by double.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * Powers of ten, which are exactly represented by double.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long[] LONG_POWERS_OF_TEN = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+            10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L
+    };
+
+    /**
+     * Range of powers of ten in table of Eisel-Lemire algorithm.
+     */
+    private static final int MIN_TABLE_EXPONENT = -348;
+    private static final int MAX_TABLE_EXPONENT = 347;
+
+    /**
+     * High and low 64 bits of 128-bit mantissa of each power of ten from MIN_TABLE_EXPONENT, rounded down.
+     * Mantissa is normalized, so its highest bit is set. It's the same as mantissa of power of five,
+     * they differ only by power of two.
+     */
+    private static final long[] POWER_HIGH = new long[MAX_TABLE_EXPONENT - MIN_TABLE_EXPONENT + 1];
+    private static final long[] POWER_LOW = new long[MAX_TABLE_EXPONENT - MIN_TABLE_EXPONENT + 1];
+
+    static {
+        for (int exponent = MIN_TABLE_EXPONENT; exponent <= MAX_TABLE_EXPONENT; exponent++) {
+            BigInteger power = BigInteger.TEN.pow(Math.abs(exponent));
+            BigInteger mantissa;
+            if (exponent >= 0) {
+                int shift = power.bitLength() - 128;
+                mantissa = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            } else {
+                // 2^k / 10^-exponent with 128 bits in quotient
+                mantissa = BigInteger.ONE.shiftLeft(127 + power.bitLength()).divide(power);
+            }
+            POWER_HIGH[exponent - MIN_TABLE_EXPONENT] = mantissa.shiftRight(64).longValue();
+            POWER_LOW[exponent - MIN_TABLE_EXPONENT] = mantissa.longValue();
+        }
+    }
+
+    private NumberDecoder() {
+    }
+
+    /**
+     * Define type of integer: int, if it's in range of int, otherwise long.
+     */
+    public static Number integral(long value) {
+        if (value < Integer.MAX_VALUE && value > Integer.MIN_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    /**
+     * Correctly rounded conversion of {@code significand * 10^exponent} to double without text of number.
+     * If both are small enough to be represented by double without rounding, value is computed by
+     * one multiplication or division (Clinger's fast path). Otherwise, it's computed by Eisel-Lemire algorithm.
+     *
+     * @param negative sign of number.
+     * @param significand decimal digits of number without dot, non-negative.
+     * @param exponent power of ten.
+     * @return value, or NaN if result is ambiguous, subnormal or out of range, and number should be parsed exactly.
+     */
+    public static double fastDouble(boolean negative, long significand, int exponent) {
+        if (significand > MAX_EXACT_DOUBLE) {
+            return eiselLemire(negative, significand, exponent);
+        }
+
+        double value;
+        if (significand == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent <= 22) {
+            value = significand * EXACT_POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && exponent >= -22) {
+            value = significand / EXACT_POWERS_OF_TEN[-exponent];
+        } else if (exponent > 22 && exponent <= 22 + 15) {
+            // move part of exponent to significand, while it's still exact
+            long power = LONG_POWERS_OF_TEN[exponent - 22];
+            if (significand > MAX_EXACT_DOUBLE / power) {
+                return eiselLemire(negative, significand, exponent);
+            }
+            value = (significand * power) * EXACT_POWERS_OF_TEN[22];
+        } else {
+            return eiselLemire(negative, significand, exponent);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Eisel-Lemire algorithm: significand is multiplied by 128-bit mantissa of power of ten, 54 highest bits of
+     * product are enough to round result, unless product is too close to half-way between two doubles.
+     *
+     * @param significand positive significand.
+     * @return value, or NaN if it can't be determined by product.
+     */
+    private static double eiselLemire(boolean negative, long significand, int exponent) {
+        if (significand <= 0 || exponent < MIN_TABLE_EXPONENT || exponent > MAX_TABLE_EXPONENT) {
+            return Double.NaN;
+        }
+
+        // normalize significand, so its highest bit is set
+        int zeros = Long.numberOfLeadingZeros(significand);
+        long normalized = significand << zeros;
+        // floor(exponent * log2(10)) + 64 + bias of exponent of double
+        long exponent2 = ((217706L * exponent) >> 16) + 64 + 1023 - zeros;
+
+        int index = exponent - MIN_TABLE_EXPONENT;
+        long high = unsignedMultiplyHigh(normalized, POWER_HIGH[index]);
+        long low = normalized * POWER_HIGH[index];
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + normalized, normalized) < 0) {
+            // lower bits can change rounding, so low half of mantissa of power is taken into account
+            long nextHigh = unsignedMultiplyHigh(normalized, POWER_LOW[index]);
+            long nextLow = normalized * POWER_LOW[index];
+            long mergedHigh = high;
+            long mergedLow = low + nextHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) {
+                ++mergedHigh;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1
+                    && Long.compareUnsigned(nextLow + normalized, normalized) < 0) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        // 54 highest bits of product
+        long highestBit = high >>> 63;
+        long mantissa = high >>> (highestBit + 9);
+        exponent2 -= 1 ^ highestBit;
+
+        if (low == 0 && (high & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            // half-way between two doubles, product isn't exact enough to round to even
+            return Double.NaN;
+        }
+
+        // round to 53 bits
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >>> 53 != 0) {
+            mantissa >>>= 1;
+            ++exponent2;
+        }
+        if (exponent2 <= 0 || exponent2 >= 0x7FF) {
+            // subnormal, infinity or zero
+            return Double.NaN;
+        }
+
+        long bits = exponent2 << 52 | mantissa & 0x000FFFFFFFFFFFFFL;
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + (x >> 63 & y) + (y >> 63 & x);
+    }
+
+    /**
+     * Convert text of valid json number in single pass.
+     *
+     * @param text json number.
+     * @param useBigDecimal return {@code BigDecimal} instead of {@code Double} for fraction and exponent.
+     * @return {@code Integer}, {@code Long}, {@code BigInteger}, {@code Double} or {@code BigDecimal}.
+     */
+    public static Number decode(String text, boolean useBigDecimal) {
+        boolean negative = text.charAt(0) == '-';
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean fraction = false;
+
+        int i = negative ? 1 : 0;
+        for (; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '.') {
+                fraction = true;
+            } else if (ch == 'e' || ch == 'E') {
+                break;
+            } else if (significand == 0 && ch == '0') {
+                exponent -= fraction ? 1 : 0;
+            } else if (digits < MAX_LONG_DIGITS) {
+                significand = significand * 10 + (ch - '0');
+                ++digits;
+                exponent -= fraction ? 1 : 0;
+            } else {
+                truncated = true;
+                exponent += fraction ? 0 : 1;
+            }
+        }
+
+        boolean integral = !fraction && i == text.length();
+        if (integral) {
+            return truncated ? bigIntegral(text) : integral(negative ? -significand : significand);
+        }
+        if (useBigDecimal) {
+            return new BigDecimal(text);
+        }
+        if (!truncated) {
+            if (i < text.length()) {
+                exponent += parseExponent(text, i + 1);
+            }
+            double value = fastDouble(negative, significand, exponent);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.valueOf(text);
+    }
+
+    /**
+     * Convert integer, which has more digits than always fit in long.
+     *
+     * @return {@code Long} if it fits in long, otherwise {@code BigInteger}.
+     */
+    public static Number bigIntegral(String text) {
+        var value = new BigInteger(text);
+        if (value.bitLength() < Long.SIZE) {
+            return integral(value.longValue());
+        }
+        return value;
+    }
+
+    private static int parseExponent(String text, int from) {
+        boolean negative = text.charAt(from) == '-';
+        int i = text.charAt(from) == '-' || text.charAt(from) == '+' ? from + 1 : from;
+
+        int exponent = 0;
+        for (; i < text.length(); i++) {
+            // bigger exponents are out of range of double anyway
+            exponent = Math.min(exponent * 10 + (text.charAt(i) - '0'), 100_000);
+        }
+        return negative ? -exponent : exponent;
+    }
+}
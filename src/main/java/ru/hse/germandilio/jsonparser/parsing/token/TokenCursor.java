@@ -0,0 +1,42 @@
+package ru.hse.germandilio.jsonparser.parsing.token;
+
+import java.io.IOException;
+
+/**
+ * Source of tokens, which exposes only current token instead of creating {@code Token} objects.
+ */
+public interface TokenCursor {
+    /**
+     * Move to next token.
+     *
+     * @return type of next token, or null if there are no more tokens.
+     * @throws IOException Cannot read next token from source.
+     */
+    TokenType advance() throws IOException;
+
+    /**
+     * Text of current token. For strings and numbers text is created only on this call.
+     * Valid until next {@code advance} call.
+     *
+     * @return text of current token, null for END_DOCUMENT.
+     */
+    String getText();
+
+    /**
+     * Value of current NUMBER token.
+     *
+     * @param useBigDecimal return {@code BigDecimal} instead of {@code Double} for fraction and exponent.
+     * @return {@code Integer}, {@code Long}, {@code BigInteger}, {@code Double} or {@code BigDecimal}.
+     */
+    Number getNumber(boolean useBigDecimal);
+
+    /**
+     * Text of current STRING token, which is key of object.
+     * Cursor may return the same {@code String} instance for equal keys.
+     *
+     * @return text of current token.
+     */
+    default String getName() {
+        return getText();
+    }
+}
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
-public class TokenSequence implements Iterable<Token> {
+public class TokenSequence implements Iterable<Token>, TokenSource, TokenCursor {
     private final List<Token> tokens = new ArrayList<>();
 
     private int pos;
@@ -30,6 +30,7 @@ public class TokenSequence implements Iterable<Token> {
         return pos < tokens.size();
     }
 
+    @Override
     public Token next() {
         if (pos >= tokens.size()) {
             return null;
@@ -37,6 +38,25 @@ public class TokenSequence implements Iterable<Token> {
         return tokens.get(pos++);
     }
 
+    @Override
+    public TokenType advance() {
+        Token token = next();
+        return token == null ? null : token.getType();
+    }
+
+    @Override
+    public String getText() {
+        if (pos == 0) {
+            return null;
+        }
+        return tokens.get(pos - 1).getValue();
+    }
+
+    @Override
+    public Number getNumber(boolean useBigDecimal) {
+        return NumberDecoder.decode(getText(), useBigDecimal);
+    }
+
     public Token peek() {
         if (pos >= tokens.size()) {
             return null;
@@ -0,0 +1,13 @@
+package ru.hse.germandilio.jsonparser.parsing.token;
+
+import java.io.IOException;
+
+public interface TokenSource {
+    /**
+     * Read next token.
+     *
+     * @return next {@code Token}, or null if there are no more tokens.
+     * @throws IOException Cannot read next token from source.
+     */
+    Token next() throws IOException;
+}
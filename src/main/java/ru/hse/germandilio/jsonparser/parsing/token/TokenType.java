@@ -12,7 +12,11 @@ public enum TokenType {
     STRING(256),
     BOOLEAN(512),
     START_DOCUMENT(1024),
-    END_DOCUMENT(2048);
+    END_DOCUMENT(2048),
+    /**
+     * Key of object member. Isn't produced by lexer, only by {@code JsonReader}.
+     */
+    NAME(4096);
 
     private final int code;
 
@@ -1,110 +1,79 @@
 package ru.hse.germandilio.jsonparser.utils;
 
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.metrics.ParseMetrics;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
 import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
+/**
+ * Conversion of json to {@code String}. Each call uses its own {@code JsonWriter},
+ * so conversion is thread-safe and reentrant.
+ */
 public class JsonDisplayUtils {
-    private static final String NESTING_INDENT = "    ";
-
-    private static final char OBJECT_START = '{';
-    private static final char OBJECT_END = '}';
-    private static final char ARRAY_START = '[';
-    private static final char ARRAY_END = ']';
-
-    private static int callDepth = 0;
-
     public static String convertToString(JsonObject object) {
-        StringBuilder sb = new StringBuilder();
-        startObject(sb, OBJECT_START);
-
-        var pairs = object.getAllEntries();
-        for (int i = 0; i < pairs.size(); i++) {
-            var pair = pairs.get(i);
-            printKey(sb, pair);
-
-            var value = pair.getValue();
-            if (value instanceof JsonObject) {
-                sb.append('\n');
-                sb.append(convertToString(object.getJsonObject(pair.getKey())));
-            } else if (value instanceof JsonArray) {
-                sb.append('\n');
-                sb.append(convertToString(object.getJsonArray(pair.getKey())));
-            } else if (value instanceof String) {
-                sb.append('"');
-                sb.append(value);
-                sb.append('"');
-            } else {
-                // number, null, boolean
-                sb.append(value);
-            }
-
-            if (i < pairs.size() - 1) {
-                sb.append(',');
-            }
-        }
-
-        endObject(sb, OBJECT_END);
-        return sb.toString();
+        return convert(object, false);
     }
 
     public static String convertToString(JsonArray array) {
-        StringBuilder sb = new StringBuilder();
-        startObject(sb, ARRAY_START);
+        return convert(array, false);
+    }
 
-        for (int i = 0; i < array.size(); i++) {
-            var object = array.get(i);
-            sb.append('\n');
+    /**
+     * @return json without line breaks and indents.
+     */
+    public static String convertToCompactString(JsonObject object) {
+        return convert(object, true);
+    }
 
-            if (object instanceof JsonObject) {
-                sb.append(convertToString(array.getJsonObject(i)));
-            } else if (object instanceof JsonArray) {
-                sb.append(convertToString(array.getJsonArray(i)));
-            } else if (object instanceof String) {
-                shift(sb);
-                sb.append('"');
-                sb.append(object);
-                sb.append('"');
-            } else {
-                // number, null, boolean
-                shift(sb);
-                sb.append(object);
-            }
+    /**
+     * @return json without line breaks and indents.
+     */
+    public static String convertToCompactString(JsonArray array) {
+        return convert(array, true);
+    }
 
-            if (i < array.size() - 1) {
-                sb.append(',');
-            }
+    private static String convert(Object node, boolean compact) {
+        ParseMetrics.Probe probe = ParseMetrics.startSerialization();
+        var output = new StringBuilderWriter();
+        var writer = new JsonWriter(output);
+        writer.setCompact(compact);
+        try {
+            writer.write(node).flush();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot convert json to string", e);
         }
-
-        endObject(sb, ARRAY_END);
-        return sb.toString();
+        String result = output.toString();
+        if (probe != null) {
+            probe.serialized(result.length(), writer.getValueCount(), writer.getMaxDepth());
+        }
+        return result;
     }
 
-    private static void printKey(StringBuilder sb, Map.Entry<String, Object> pair) {
-        sb.append('\n');
-        shift(sb);
-        sb.append('"');
-        sb.append(pair.getKey());
-        sb.append('"');
-        sb.append(':');
-        sb.append(' ');
-    }
+    /**
+     * Unsynchronized alternative of {@code StringWriter}.
+     */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder sb = new StringBuilder();
 
-    private static void shift(StringBuilder sb) {
-        sb.append(NESTING_INDENT.repeat(Math.max(0, callDepth)));
-    }
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            sb.append(buffer, offset, length);
+        }
 
-    private static void startObject(StringBuilder sb, char symbol) {
-        shift(sb);
-        sb.append(symbol);
-        ++callDepth;
-    }
+        @Override
+        public void flush() {
+        }
 
-    private static void endObject(StringBuilder sb, char symbol) {
-        sb.append('\n');
-        --callDepth;
-        shift(sb);
-        sb.append(symbol);
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
     }
 }
@@ -0,0 +1,525 @@
+package ru.hse.germandilio.jsonparser.utils;
+
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writer of json tokens to {@code Writer}, {@code OutputStream} or {@code ByteBuffer}.
+ * Tokens are written to one reusable buffer, which is flushed to output when it's full,
+ * so extra memory doesn't depend on size of document. Byte outputs get UTF-8 without intermediate chars.
+ * Pretty layout puts each value on its own line with indent of 4 spaces per level of nesting,
+ * compact layout has no whitespace.
+ * Text of strings is written as is: parser keeps escape sequences in strings.
+ * Writer has no shared state, so separate writers can be used by different threads at once.
+ */
+public class JsonWriter implements Flushable, Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_DEPTH = 32;
+    private static final int INDENT_SIZE = 4;
+
+    /**
+     * Line break followed by indents, longer indents are written by several parts.
+     */
+    private static final String NEW_LINE = "\n" + " ".repeat(INDENT_SIZE * 16);
+
+    private final Writer writer;
+    private final OutputStream stream;
+    private final ByteBuffer target;
+
+    // only one of buffers is used: chars for writer, bytes for stream and byte buffer
+    private final char[] chars;
+    private final byte[] bytes;
+    private int count;
+    private final char[] digits = new char[19];
+
+    /**
+     * true for object, false for array on each level of nesting.
+     */
+    private boolean[] contexts = new boolean[INITIAL_DEPTH];
+    private boolean[] empty = new boolean[INITIAL_DEPTH];
+    private int depth;
+    private boolean afterName;
+    private boolean rootWritten;
+
+    // counters for metrics
+    private long valueCount;
+    private int maxDepth;
+    private boolean compact;
+
+    public JsonWriter(Writer writer) {
+        this.writer = writer;
+        stream = null;
+        target = null;
+        chars = new char[BUFFER_SIZE];
+        bytes = null;
+    }
+
+    /**
+     * Write UTF-8 bytes to {@code stream}.
+     */
+    public JsonWriter(OutputStream stream) {
+        writer = null;
+        this.stream = stream;
+        target = null;
+        chars = null;
+        bytes = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Write UTF-8 bytes to remaining space of {@code target}, starting from its position.
+     */
+    public JsonWriter(ByteBuffer target) {
+        writer = null;
+        stream = null;
+        this.target = target;
+        chars = null;
+        bytes = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * @param compact write json without line breaks and indents.
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Write {@code JsonObject}, {@code JsonArray} or single value with all nested values.
+     *
+     * @param node value to write.
+     * @return this writer.
+     * @throws IOException Cannot write to output.
+     */
+    public JsonWriter write(Object node) throws IOException {
+        if (node instanceof JsonObject object) {
+            beginObject();
+            for (int i = 0; i < object.size(); i++) {
+                name(object.getKey(i));
+                write(object.getValue(i));
+            }
+            return endObject();
+        }
+        if (node instanceof JsonArray array) {
+            beginArray();
+            for (int i = 0; i < array.size(); i++) {
+                write(array.get(i));
+            }
+            return endArray();
+        }
+        if (node instanceof String string) {
+            return value(string);
+        }
+        if (node instanceof Number number) {
+            return value(number);
+        }
+        if (node instanceof Boolean bool) {
+            return value(bool.booleanValue());
+        }
+        if (node == null) {
+            return nullValue();
+        }
+        beforeValue(false);
+        appendText(node.toString());
+        return this;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue(true);
+        append('{');
+        push(true);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close(true, '}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue(true);
+        append('[');
+        push(false);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(false, ']');
+    }
+
+    /**
+     * Write key of next value in object.
+     *
+     * @param name key.
+     * @return this writer.
+     * @throws IOException Cannot write to output.
+     */
+    public JsonWriter name(String name) throws IOException {
+        if (depth == 0 || !contexts[depth - 1] || afterName) {
+            throw new SerializationException("Name is allowed only in object before value");
+        }
+        if (!empty[depth - 1]) {
+            append(',');
+        }
+        empty[depth - 1] = false;
+
+        newLine();
+        append('"');
+        appendText(name);
+        append('"');
+        append(':');
+        if (!compact) {
+            append(' ');
+        }
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Write key, which isn't taken from json: quotes, backslashes and control characters are escaped.
+     *
+     * @param name key.
+     * @return this writer.
+     * @throws IOException Cannot write to output.
+     */
+    public JsonWriter escapedName(String name) throws IOException {
+        int i = 0;
+        while (i < name.length() && !needsEscape(name.charAt(i))) {
+            ++i;
+        }
+        if (i == name.length()) {
+            return name(name);
+        }
+        var escaped = new StringBuilder(name.length() + 8);
+        for (i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (needsEscape(ch)) {
+                escaped.append(escape(ch));
+            } else {
+                escaped.append(ch);
+            }
+        }
+        return name(escaped.toString());
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue(false);
+        append('"');
+        appendText(value);
+        append('"');
+        return this;
+    }
+
+    /**
+     * Write string, which isn't taken from json: quotes, backslashes and control characters are escaped.
+     *
+     * @param value text of string.
+     * @return this writer.
+     * @throws IOException Cannot write to output.
+     */
+    public JsonWriter escapedValue(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue(false);
+        append('"');
+        appendEscaped(value);
+        append('"');
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue(false);
+        appendLong(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        beforeValue(false);
+        appendText(Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        }
+        beforeValue(false);
+        appendText(value.toString());
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue(false);
+        appendText(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue(false);
+        appendText("null");
+        return this;
+    }
+
+    /**
+     * Write buffered text to output and flush output.
+     *
+     * @throws IOException Cannot write to output.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        if (writer != null) {
+            writer.flush();
+        } else if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    /**
+     * Flush buffered text and close output. Byte buffer is only flushed.
+     *
+     * @throws IOException Cannot write to output.
+     */
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        if (writer != null) {
+            writer.close();
+        } else if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @return count of written values with containers.
+     */
+    long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * @return max depth of nesting of written containers.
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    private void beforeValue(boolean container) throws IOException {
+        ++valueCount;
+        if (depth == 0) {
+            if (rootWritten) {
+                throw new SerializationException("Document has only one root value");
+            }
+            rootWritten = true;
+            return;
+        }
+
+        if (contexts[depth - 1]) {
+            if (!afterName) {
+                throw new SerializationException("Value in object should follow name");
+            }
+            afterName = false;
+            if (container) {
+                newLine();
+            }
+            return;
+        }
+
+        if (!empty[depth - 1]) {
+            append(',');
+        }
+        empty[depth - 1] = false;
+        newLine();
+    }
+
+    private void push(boolean object) {
+        if (depth == contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth * 2);
+            empty = Arrays.copyOf(empty, depth * 2);
+        }
+        contexts[depth] = object;
+        empty[depth] = true;
+        ++depth;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private JsonWriter close(boolean object, char symbol) throws IOException {
+        if (depth == 0 || contexts[depth - 1] != object || afterName) {
+            throw new SerializationException("Nothing to close by " + symbol);
+        }
+        --depth;
+        newLine();
+        append(symbol);
+        return this;
+    }
+
+    /**
+     * Line break and indent of current level of nesting.
+     */
+    private void newLine() throws IOException {
+        if (compact) {
+            return;
+        }
+        int length = 1 + depth * INDENT_SIZE;
+        appendText(NEW_LINE, 0, Math.min(length, NEW_LINE.length()));
+        for (length -= NEW_LINE.length(); length > 0; length -= NEW_LINE.length() - 1) {
+            appendText(NEW_LINE, 1, Math.min(length + 1, NEW_LINE.length()));
+        }
+    }
+
+    private void append(char symbol) throws IOException {
+        if (chars != null) {
+            if (count == chars.length) {
+                flushBuffer();
+            }
+            chars[count++] = symbol;
+        } else {
+            if (count == bytes.length) {
+                flushBuffer();
+            }
+            bytes[count++] = (byte) symbol;
+        }
+    }
+
+    private void appendText(String text) throws IOException {
+        appendText(text, 0, text.length());
+    }
+
+    private void appendEscaped(String text) throws IOException {
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (needsEscape(ch)) {
+                appendText(text, from, i);
+                appendText(escape(ch));
+                from = i + 1;
+            }
+        }
+        appendText(text, from, text.length());
+    }
+
+    private static boolean needsEscape(char ch) {
+        return ch < 0x20 || ch == '"' || ch == '\\';
+    }
+
+    private static String escape(char ch) {
+        return switch (ch) {
+            case '"' -> "\\\"";
+            case '\\' -> "\\\\";
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '\t' -> "\\t";
+            case '\b' -> "\\b";
+            case '\f' -> "\\f";
+            default -> String.format("\\u%04x", (int) ch);
+        };
+    }
+
+    private void appendText(String text, int start, int end) throws IOException {
+        if (chars != null) {
+            int from = start;
+            while (from < end) {
+                if (count == chars.length) {
+                    flushBuffer();
+                }
+                int length = Math.min(end - from, chars.length - count);
+                text.getChars(from, from + length, chars, count);
+                count += length;
+                from += length;
+            }
+            return;
+        }
+
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                if (count == bytes.length) {
+                    flushBuffer();
+                }
+                bytes[count++] = (byte) ch;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < end
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                appendCodePoint(Character.toCodePoint(ch, text.charAt(++i)));
+            } else {
+                // unpaired surrogate is replaced, as String.getBytes does
+                appendCodePoint(Character.isSurrogate(ch) ? '?' : ch);
+            }
+        }
+    }
+
+    private void appendCodePoint(int codePoint) throws IOException {
+        if (count + 4 > bytes.length) {
+            flushBuffer();
+        }
+        if (codePoint < 0x80) {
+            bytes[count++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            bytes[count++] = (byte) (0xC0 | codePoint >> 6);
+            bytes[count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            bytes[count++] = (byte) (0xE0 | codePoint >> 12);
+            bytes[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            bytes[count++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            bytes[count++] = (byte) (0xF0 | codePoint >> 18);
+            bytes[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            bytes[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            bytes[count++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+    }
+
+    private void appendLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            appendText(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+
+        // digits are written from the end
+        int from = digits.length;
+        do {
+            digits[--from] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        for (int i = from; i < digits.length; i++) {
+            append(digits[i]);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (writer != null) {
+            writer.write(chars, 0, count);
+        } else if (stream != null) {
+            stream.write(bytes, 0, count);
+        } else {
+            try {
+                target.put(bytes, 0, count);
+            } catch (BufferOverflowException e) {
+                throw new SerializationException("Not enough space in byte buffer", e);
+            }
+        }
+        count = 0;
+    }
+}
@@ -0,0 +1,168 @@
+package ru.hse.germandilio.jsonparser;
+
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Generator of random json for differential tests. Documents have whitespace between tokens,
+ * strings with escape sequences, structural characters and non-ASCII text, numbers of all forms.
+ * Long strings and runs of whitespace move tokens across blocks of {@code StructuralIndex}.
+ */
+public final class RandomJson {
+    private static final String[] TEXT = {
+            "a", "key", "value", " ", "{", "}", "[", "]", ":", ",", "é", "Привет", "😀",
+            "\\\"", "\\\\", "\\/", "\\b", "\\f", "\\n", "\\r", "\\t", "\\u00e9", "\\uD83D\\uDE00"
+    };
+    private static final String[] NUMBERS = {
+            "0", "-0", "0.0", "-0.0", "1", "-1", "2147483647", "-2147483648", "2147483648",
+            "9223372036854775807", "-9223372036854775808", "9223372036854775808", "123456789012345678901234567890",
+            "0.1", "1e22", "1e23", "1E-22", "1.7976931348623157e308", "4.9e-324", "1e400", "1e-400",
+            "9007199254740993", "9007199254740993.0", "123456789012345678.5", "1.5e+10", "-2.25E-5"
+    };
+    private static final String[] WHITESPACE = {"", "", "", " ", "\n", "\t", "\r\n", "  "};
+    private static final String MUTATIONS = "{}[]:,\"\\ 1-.etn\n";
+
+    private final Random random;
+
+    public RandomJson(long seed) {
+        random = new Random(seed);
+    }
+
+    public Random random() {
+        return random;
+    }
+
+    /**
+     * @return object or array with nested values.
+     */
+    public String document() {
+        var sb = new StringBuilder();
+        appendSpace(sb);
+        appendContainer(sb, 0, random.nextBoolean());
+        appendSpace(sb);
+        return sb.toString();
+    }
+
+    /**
+     * @return json string with quotes.
+     */
+    public String string() {
+        var sb = new StringBuilder("\"");
+        // long strings cross blocks of 64 bytes
+        int pieces = random.nextInt(8) == 0 ? 20 + random.nextInt(60) : random.nextInt(6);
+        for (int i = 0; i < pieces; i++) {
+            if (random.nextInt(10) == 0) {
+                // run of escaped backslashes before escaped or closing quote
+                sb.append("\\\\".repeat(1 + random.nextInt(4)));
+            }
+            sb.append(TEXT[random.nextInt(TEXT.length)]);
+        }
+        return sb.append('"').toString();
+    }
+
+    public String number() {
+        return switch (random.nextInt(6)) {
+            case 0 -> NUMBERS[random.nextInt(NUMBERS.length)];
+            case 1 -> Integer.toString(random.nextInt());
+            case 2 -> Long.toString(random.nextLong());
+            case 3 -> Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+            case 4 -> (random.nextBoolean() ? "-" : "") + random.nextInt(1000) + "." + random.nextInt(1_000_000);
+            default -> random.nextInt(1000) + "e" + (random.nextInt(700) - 350);
+        };
+    }
+
+    /**
+     * @return {@code json} with 1-3 code points inserted, deleted or replaced.
+     */
+    public String mutate(String json) {
+        var sb = new StringBuilder(json);
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count && sb.length() > 0; i++) {
+            int position = random.nextInt(sb.length());
+            if (Character.isLowSurrogate(sb.charAt(position))) {
+                // surrogate pair isn't split, so text stays the same in UTF-8
+                --position;
+            }
+            int end = position + Character.charCount(sb.codePointAt(position));
+            String character = String.valueOf(MUTATIONS.charAt(random.nextInt(MUTATIONS.length())));
+            switch (random.nextInt(3)) {
+                case 0 -> sb.insert(position, character);
+                case 1 -> sb.delete(position, end);
+                default -> sb.replace(position, end, character);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Compare trees of values: order of keys, classes and values of scalars.
+     */
+    public static void assertSameTree(Object expected, Object actual, String message) {
+        if (expected instanceof JsonObject object) {
+            JsonObject other = assertInstanceOf(JsonObject.class, actual, message);
+            assertEquals(object.size(), other.size(), message);
+            for (int i = 0; i < object.size(); i++) {
+                assertEquals(object.getKey(i), other.getKey(i), message);
+                assertSameTree(object.getValue(i), other.getValue(i), message);
+            }
+        } else if (expected instanceof JsonArray array) {
+            JsonArray other = assertInstanceOf(JsonArray.class, actual, message);
+            assertEquals(array.size(), other.size(), message);
+            for (int i = 0; i < array.size(); i++) {
+                assertSameTree(array.get(i), other.get(i), message);
+            }
+        } else if (expected == null) {
+            assertEquals(null, actual, message);
+        } else {
+            assertInstanceOf(expected.getClass(), actual, message);
+            assertEquals(expected, actual, message);
+        }
+    }
+
+    private void appendValue(StringBuilder sb, int depth) {
+        int kind = random.nextInt(depth > 4 ? 4 : 6);
+        switch (kind) {
+            case 0 -> sb.append(string());
+            case 1 -> sb.append(number());
+            case 2 -> sb.append(random.nextBoolean() ? "true" : "false");
+            case 3 -> sb.append("null");
+            default -> appendContainer(sb, depth + 1, kind == 4);
+        }
+    }
+
+    private void appendContainer(StringBuilder sb, int depth, boolean object) {
+        sb.append(object ? '{' : '[');
+        int size = random.nextInt(6);
+        if (size == 0) {
+            appendSpace(sb);
+        }
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendSpace(sb);
+            if (object) {
+                sb.append(string());
+                appendSpace(sb);
+                sb.append(':');
+                appendSpace(sb);
+            }
+            appendValue(sb, depth);
+            appendSpace(sb);
+        }
+        sb.append(object ? '}' : ']');
+    }
+
+    private void appendSpace(StringBuilder sb) {
+        if (random.nextInt(50) == 0) {
+            sb.append(" ".repeat(random.nextInt(70)));
+        } else {
+            sb.append(WHITESPACE[random.nextInt(WHITESPACE.length)]);
+        }
+    }
+}
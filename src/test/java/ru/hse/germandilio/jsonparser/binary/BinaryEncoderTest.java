@@ -0,0 +1,168 @@
+package ru.hse.germandilio.jsonparser.binary;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Documents are encoded and decoded back, decoded tree and view of each value should match parsed tree.
+ */
+class BinaryEncoderTest {
+    @Test
+    void roundTripOfRandomDocuments() throws Exception {
+        var random = new RandomJson(12);
+        var output = new ByteArrayOutputStream();
+        // encoder is reused for all documents
+        var encoder = new BinaryEncoder(output);
+        for (int i = 0; i < 3000; i++) {
+            String json = random.document();
+            Object tree = JsonParser.fromJSON(json, i % 2 == 0);
+            byte[] bytes = BinaryEncoder.toBytes(tree);
+            RandomJson.assertSameTree(tree, BinaryValue.of(bytes).toValue(), json);
+
+            output.reset();
+            encoder.encode(tree).flush();
+            assertArrayEquals(bytes, output.toByteArray(), json);
+        }
+    }
+
+    @Test
+    void viewMatchesTree() throws Exception {
+        var random = new RandomJson(13);
+        for (int i = 0; i < 1000; i++) {
+            String json = random.document();
+            Object tree = JsonParser.fromJSON(json, i % 2 == 0);
+            assertView(tree, BinaryValue.of(BinaryEncoder.toBytes(tree)), json);
+        }
+    }
+
+    @Test
+    void scalarsRoundTrip() {
+        Object[] values = {
+                null, true, false, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+                0.0, -0.0, Double.MAX_VALUE, Double.MIN_VALUE, new BigInteger("-123456789012345678901234567890"),
+                new BigDecimal("1.5E-400"), new BigDecimal("-12345678901234567890.123456789"), "", "Привет, 😀"
+        };
+        for (Object value : values) {
+            Object decoded = BinaryValue.of(BinaryEncoder.toBytes(value)).toValue();
+            RandomJson.assertSameTree(value, decoded, String.valueOf(value));
+        }
+    }
+
+    @Test
+    void documentInMiddleOfBuffer() throws Exception {
+        Object tree = JsonParser.fromJSON("{\"a\":[1,2.5,\"x\"],\"b\":{\"c\":null}}");
+        byte[] bytes = BinaryEncoder.toBytes(tree);
+        var buffer = ByteBuffer.allocate(bytes.length + 10);
+        buffer.position(5);
+        buffer.put(bytes).position(5);
+        RandomJson.assertSameTree(tree, BinaryValue.of(buffer).toValue(), "offset 5");
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    void invalidHeaderFails() {
+        assertThrows(JSONParseException.class, () -> BinaryValue.of(new byte[]{'J'}));
+        assertThrows(JSONParseException.class, () -> BinaryValue.of("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void truncatedDocumentFails() throws Exception {
+        var random = new RandomJson(23);
+        for (int i = 0; i < 200; i++) {
+            byte[] bytes = BinaryEncoder.toBytes(JsonParser.fromJSON(random.document()));
+            for (int length = 0; length < bytes.length; length++) {
+                var prefix = ByteBuffer.wrap(bytes, 0, length);
+                assertThrows(JSONParseException.class, () -> BinaryValue.of(prefix).toValue(), "length " + length);
+            }
+        }
+    }
+
+    @Test
+    void deepDocumentIsDecoded() {
+        int depth = 200_000;
+        BinaryValue view = BinaryValue.of(nestedArrays(depth));
+        Object value = view.toValue();
+        for (int i = 0; i < depth; i++) {
+            var array = (JsonArray) value;
+            assertEquals(i < depth - 1 ? 1 : 0, array.size());
+            value = i < depth - 1 ? array.get(0) : null;
+        }
+        assertEquals(1, view.size());
+        assertEquals(1, view.get(0).size());
+    }
+
+    /**
+     * Document with {@code depth} nested arrays, written from the innermost array, because encoder
+     * writes containers by recursion.
+     */
+    private static byte[] nestedArrays(int depth) {
+        var bytes = new byte[depth * 8 + 8];
+        int start = bytes.length;
+        for (int i = 0; i < depth; i++) {
+            // count of elements, size of content and tag
+            int content = bytes.length - start;
+            bytes[--start] = (byte) (i == 0 ? 0 : 1);
+            int size = content + 1;
+            int sizeLength = 1;
+            while ((size >>> (7 * sizeLength)) != 0) {
+                sizeLength++;
+            }
+            start -= sizeLength;
+            for (int j = 0; j < sizeLength; j++) {
+                bytes[start + j] = (byte) ((size >>> (7 * j)) & 0x7F | (j < sizeLength - 1 ? 0x80 : 0));
+            }
+            bytes[--start] = 10;
+        }
+        // magic bytes, version and empty table of keys
+        bytes[--start] = 0;
+        bytes[--start] = 1;
+        bytes[--start] = 'B';
+        bytes[--start] = 'J';
+        return Arrays.copyOfRange(bytes, start, bytes.length);
+    }
+
+    private static void assertView(Object expected, BinaryValue view, String message) {
+        if (expected instanceof JsonObject object) {
+            assertTrue(view.isObject(), message);
+            assertEquals(object.size(), view.size(), message);
+            for (int i = 0; i < object.size(); i++) {
+                String key = object.getKey(i);
+                assertEquals(key, view.getKey(i), message);
+                assertView(object.getValue(i), view.getValue(i), message);
+                assertView(object.getValue(i), view.get(key), message);
+            }
+            assertNull(view.get("missing key"), message);
+        } else if (expected instanceof JsonArray array) {
+            assertTrue(view.isArray(), message);
+            assertEquals(array.size(), view.size(), message);
+            for (int i = 0; i < array.size(); i++) {
+                assertView(array.get(i), view.get(i), message);
+            }
+        } else if (expected instanceof String string) {
+            assertEquals(string, view.asString(), message);
+        } else if (expected instanceof Number number) {
+            RandomJson.assertSameTree(number, view.asNumber(), message);
+        } else if (expected instanceof Boolean bool) {
+            assertEquals(bool, view.asBoolean(), message);
+        } else {
+            assertTrue(view.isNull(), message);
+        }
+    }
+}
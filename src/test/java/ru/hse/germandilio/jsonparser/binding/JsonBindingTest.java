@@ -0,0 +1,145 @@
+package ru.hse.germandilio.jsonparser.binding;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.parser.GrammarAnalizer;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Typed values are written and read back, skipped and untyped values are compared with parsing to tree.
+ */
+class JsonBindingTest {
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public record Item(String name, int count, long id, double score, boolean flag, Color color,
+                       List<String> tags, Map<String, Integer> counts, Item child) {
+    }
+
+    public record Person(String name, int age) {
+    }
+
+    @Test
+    void randomValuesRoundTrip() throws Exception {
+        var random = new Random(14);
+        for (int i = 0; i < 3000; i++) {
+            Item item = item(random, 0);
+            for (boolean compact : new boolean[]{false, true}) {
+                String json = JsonParser.toJson(item, compact);
+                // output is valid json for parser too
+                JsonParser.fromJSON(json);
+                assertEquals(item, JsonParser.fromJSON(json, Item.class), json);
+            }
+        }
+    }
+
+    @Test
+    void escapeSequencesAreDecoded() throws Exception {
+        Person person = JsonParser.fromJSON("{\"n\\u0061me\":\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\uD83D\\uDE00\","
+                + "\"age\":3}", Person.class);
+        assertEquals(new Person("a\"\\/\b\f\n\r\té\uD83D\uDE00", 3), person);
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON("{\"name\":\"\\x\",\"age\":3}", Person.class));
+    }
+
+    /**
+     * Value of unknown property is skipped, but its grammar is checked as by parser of tree.
+     */
+    @Test
+    void skippedValuesMatchGrammar() {
+        var random = new RandomJson(15);
+        for (int i = 0; i < 5000; i++) {
+            String value = random.document();
+            if (i % 2 == 0) {
+                value = random.mutate(value);
+            }
+            String json = "{\"name\":\"x\",\"unknown\":" + value + ",\"age\":3}";
+            boolean tree = succeeds(() -> JsonParser.fromJSON(json));
+            boolean typed = succeeds(() -> JsonParser.fromJSON(json, Person.class));
+            assertEquals(tree, typed, json);
+        }
+    }
+
+    @Test
+    void missingValuesFail() {
+        for (String json : new String[]{"{\"name\":}", "{\"name\":\"x\",\"age\":,}", "{\"name\":\"x\",\"age\":]}"}) {
+            assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json, Person.class), json);
+            assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json, Object.class), json);
+        }
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON("[1,]", int[].class));
+    }
+
+    @Test
+    void untypedValuesMatchTree() throws Exception {
+        var random = new RandomJson(16);
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            RandomJson.assertSameTree(JsonParser.fromJSON(json), JsonParser.fromJSON(json, Object.class), json);
+        }
+    }
+
+    @Test
+    void deepNestingFails() {
+        int depth = GrammarAnalizer.DEFAULT_MAX_DEPTH + 1;
+        String json = "[".repeat(depth) + "]".repeat(depth);
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json, List.class));
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json, Object.class));
+        String skipped = "{\"name\":\"x\",\"unknown\":" + json + ",\"age\":3}";
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(skipped, Person.class));
+
+        String allowed = "[".repeat(depth - 1) + "]".repeat(depth - 1);
+        assertTrue(succeeds(() -> JsonParser.fromJSON(allowed, List.class)));
+    }
+
+    private static Item item(Random random, int depth) {
+        List<String> tags = new ArrayList<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            tags.add(text(random));
+            counts.put(text(random), random.nextInt());
+        }
+        Color[] colors = Color.values();
+        return new Item(text(random), random.nextInt(), random.nextLong(),
+                random.nextDouble() * Math.pow(10, random.nextInt(600) - 300), random.nextBoolean(),
+                random.nextInt(4) == 0 ? null : colors[random.nextInt(colors.length)], tags, counts,
+                depth < 3 && random.nextBoolean() ? item(random, depth + 1) : null);
+    }
+
+    /**
+     * @return text with quotes, backslashes, control characters and characters out of BMP.
+     */
+    private static String text(Random random) {
+        var sb = new StringBuilder();
+        for (int i = random.nextInt(12); i > 0; i--) {
+            switch (random.nextInt(6)) {
+                case 0 -> sb.append((char) random.nextInt(0x20));
+                case 1 -> sb.append(random.nextBoolean() ? '"' : '\\');
+                case 2 -> sb.appendCodePoint(0x10000 + random.nextInt(0x10000));
+                case 3 -> sb.append((char) (0x80 + random.nextInt(0x700)));
+                default -> sb.append((char) (0x20 + random.nextInt(0x5F)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean succeeds(Callable<Object> parse) {
+        try {
+            parse.call();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.hse.germandilio.jsonparser.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+import ru.hse.germandilio.jsonparser.parsing.parser.LexicalAnalyzer;
+import ru.hse.germandilio.jsonparser.parsing.parser.Utf8Wrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measurements received by listener and recorded by JFR are compared with known documents.
+ */
+class ParseMetricsTest {
+    private static final String DOCUMENT = "{\"name\": \"тест\", \"values\": [1, 2.5, {\"a\": null}], \"empty\": {}}";
+
+    private final List<long[]> parsed = new ArrayList<>();
+    private final List<long[]> lexed = new ArrayList<>();
+    private final List<long[]> serialized = new ArrayList<>();
+
+    @AfterEach
+    void removeListener() {
+        ParseMetrics.setListener(null);
+    }
+
+    @Test
+    void parsingIsReported() throws Exception {
+        listen();
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        JsonParser.fromJSON(DOCUMENT);
+        JsonParser.fromJSON(new StringReader(DOCUMENT));
+        JsonParser.fromJSON(bytes);
+        JsonParser.fromJSON(new ByteArrayInputStream(bytes));
+
+        assertEquals(4, parsed.size());
+        // text input is counted in chars, UTF-8 input in bytes
+        long[] expected = {DOCUMENT.length(), 24, 8, 3};
+        long[] expectedBytes = {bytes.length, 24, 8, 3};
+        assertArrayEquals(expected, parsed.get(0));
+        assertArrayEquals(expected, parsed.get(1));
+        assertArrayEquals(expectedBytes, parsed.get(2));
+        assertArrayEquals(expectedBytes, parsed.get(3));
+    }
+
+    @Test
+    void lexingAndSerializationAreReported() throws Exception {
+        listen();
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        new LexicalAnalyzer(new Utf8Wrapper(bytes)).convertToTokens();
+        assertEquals(1, lexed.size());
+        // lexer counts end of document too
+        assertArrayEquals(new long[]{bytes.length, 25}, lexed.get(0));
+
+        String json = JsonParser.toJson((JsonObject) JsonParser.fromJSON(DOCUMENT), true);
+        assertEquals(1, serialized.size());
+        assertArrayEquals(new long[]{json.length(), 8, 3}, serialized.get(0));
+    }
+
+    @Test
+    void failuresArentReported() {
+        listen();
+        assertThrows(Exception.class, () -> JsonParser.fromJSON("{\"a\": [1, 2}"));
+        assertThrows(Exception.class, () -> new LexicalAnalyzer(new Utf8Wrapper(new byte[]{'[', 't'}))
+                .convertToTokens());
+        assertTrue(parsed.isEmpty());
+        assertTrue(lexed.isEmpty());
+    }
+
+    @Test
+    void eventsAreRecorded(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("ru.hse.germandilio.jsonparser.Parsing").withoutThreshold();
+            recording.enable("ru.hse.germandilio.jsonparser.Serialization").withoutThreshold();
+            recording.start();
+            JsonParser.toJson((JsonObject) JsonParser.fromJSON(DOCUMENT));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent parsing = find(events, "ru.hse.germandilio.jsonparser.Parsing");
+        assertEquals(DOCUMENT.length(), parsing.getLong("bytes"));
+        assertEquals(24, parsing.getLong("tokens"));
+        assertEquals(8, parsing.getLong("elements"));
+        assertEquals(3, parsing.getInt("depth"));
+        RecordedEvent serialization = find(events, "ru.hse.germandilio.jsonparser.Serialization");
+        assertEquals(8, serialization.getLong("elements"));
+        assertEquals(3, serialization.getInt("depth"));
+    }
+
+    private void listen() {
+        Thread thread = Thread.currentThread();
+        ParseMetrics.setListener(new ParseMetricsListener() {
+            @Override
+            public void onLexing(long bytes, long tokens, long nanos) {
+                if (Thread.currentThread() == thread) {
+                    lexed.add(new long[]{bytes, tokens});
+                }
+            }
+
+            @Override
+            public void onParsing(long bytes, long tokens, long elements, int depth, long nanos) {
+                if (Thread.currentThread() == thread) {
+                    parsed.add(new long[]{bytes, tokens, elements, depth});
+                }
+            }
+
+            @Override
+            public void onSerialization(long chars, long elements, int depth, long nanos) {
+                if (Thread.currentThread() == thread) {
+                    serialized.add(new long[]{chars, elements, depth});
+                }
+            }
+        });
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        long thread = Thread.currentThread().getId();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name) && event.getThread().getJavaThreadId() == thread) {
+                return event;
+            }
+        }
+        throw new AssertionError("No event " + name);
+    }
+}
@@ -0,0 +1,129 @@
+package ru.hse.germandilio.jsonparser.parsing.model;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Array with primitive storage is compared with list of boxed elements.
+ */
+class JsonArrayTest {
+    @Test
+    void elementsMatchList() {
+        var random = new Random(8);
+        for (int i = 0; i < 5000; i++) {
+            var array = new JsonArray();
+            List<Object> expected = new ArrayList<>();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                Object element = element(random, i % 4);
+                array.add(element);
+                expected.add(element);
+            }
+            assertMatches(expected, array);
+        }
+    }
+
+    @Test
+    void storageIsWidened() {
+        var array = new JsonArray();
+        array.add(1);
+        array.add(2L << 40);
+        array.add(0.5);
+        array.add(-3);
+        assertEquals(Integer.valueOf(1), array.get(0));
+        assertEquals(Long.valueOf(2L << 40), array.get(1));
+        assertEquals(0.5, array.get(2));
+        assertEquals(Integer.valueOf(-3), array.get(3));
+        assertArrayEquals(new double[]{1, 2L << 40, 0.5, -3}, array.toDoubleArray());
+        assertArrayEquals(new long[]{1, 2L << 40, 0, -3}, array.toLongArray());
+    }
+
+    @Test
+    void longsNotExactInDoubleAreKept() {
+        var array = new JsonArray();
+        array.add(Long.MAX_VALUE);
+        array.add(1.5);
+        assertEquals(Long.MAX_VALUE, array.get(0));
+        assertEquals(Long.MAX_VALUE, array.getLong(0));
+        assertEquals(1.5, array.getDouble(1));
+    }
+
+    @Test
+    void nonNumbersFail() {
+        var array = new JsonArray();
+        array.add(1);
+        array.add("x");
+        assertEquals(1, array.getInt(0));
+        assertThrows(JSONTypeException.class, () -> array.getInt(1));
+        assertThrows(JSONTypeException.class, array::toIntArray);
+    }
+
+    @Test
+    void indexOutOfBounds() {
+        var array = new JsonArray();
+        array.add(1);
+        array.add(2);
+        // primitive storage has spare capacity
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.getInt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> new JsonArray().get(0));
+    }
+
+    private static void assertMatches(List<Object> expected, JsonArray array) {
+        assertEquals(expected.size(), array.size());
+        boolean numbers = true;
+        for (int i = 0; i < expected.size(); i++) {
+            Object element = expected.get(i);
+            assertEquals(element, array.get(i), expected.toString());
+            if (element instanceof Number number) {
+                assertEquals(number.longValue(), array.getLong(i), expected.toString());
+                assertEquals(number.doubleValue(), array.getDouble(i), expected.toString());
+            } else {
+                numbers = false;
+            }
+        }
+
+        int index = 0;
+        for (Object element : array) {
+            assertEquals(expected.get(index++), element);
+        }
+        assertEquals(expected.size(), index);
+
+        if (numbers) {
+            double[] doubles = array.toDoubleArray();
+            for (int i = 0; i < doubles.length; i++) {
+                assertEquals(((Number) expected.get(i)).doubleValue(), doubles[i]);
+            }
+        }
+    }
+
+    /**
+     * @param mode 0 - ints, 1 - ints and longs, 2 - numbers, 3 - any elements.
+     */
+    private static Object element(Random random, int mode) {
+        int kind = random.nextInt(20);
+        if (mode == 0 || kind < 10) {
+            return random.nextInt(1000) - 500;
+        }
+        if (mode == 1 || kind < 14) {
+            return random.nextBoolean() ? random.nextLong() | (1L << 40) : (long) random.nextInt(1 << 20) << 32;
+        }
+        if (mode == 2 || kind < 17) {
+            return random.nextBoolean() ? random.nextDouble() * 1000 : (double) random.nextInt(100);
+        }
+        return switch (kind) {
+            case 17 -> "s" + random.nextInt(10);
+            case 18 -> BigInteger.ONE.shiftLeft(70);
+            default -> null;
+        };
+    }
+}
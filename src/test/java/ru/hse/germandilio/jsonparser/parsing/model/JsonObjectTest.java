@@ -0,0 +1,93 @@
+package ru.hse.germandilio.jsonparser.parsing.model;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Object is compared with {@code LinkedHashMap}, objects larger than linear search limit use index.
+ */
+class JsonObjectTest {
+    @Test
+    void entriesMatchMap() {
+        var random = new Random(9);
+        for (int i = 0; i < 2000; i++) {
+            var object = new JsonObject();
+            Map<String, Object> expected = new LinkedHashMap<>();
+            int keys = 1 + random.nextInt(i % 2 == 0 ? 10 : 200);
+            int puts = random.nextInt(keys * 2);
+            for (int j = 0; j < puts; j++) {
+                String key = "k" + random.nextInt(keys);
+                Object value = random.nextInt(3) == 0 ? null : j;
+                object.put(key, value);
+                expected.put(key, value);
+            }
+            assertMatches(expected, object);
+            for (int j = 0; j < keys; j++) {
+                String key = "k" + j;
+                assertEquals(expected.containsKey(key), object.containsKey(key), key);
+                assertEquals(expected.get(key), object.get(key), key);
+            }
+            assertFalse(object.containsKey("missing"));
+        }
+    }
+
+    @Test
+    void entriesWriteThrough() {
+        var object = new JsonObject();
+        object.put("a", 1);
+        object.put("b", 2);
+        object.getAllEntries().get(1).setValue(3);
+        assertEquals(3, object.get("b"));
+        assertEquals(3, object.getValue(1));
+    }
+
+    @Test
+    void keysKeepInsertionOrder() throws Exception {
+        var object = assertInstanceOf(JsonObject.class,
+                JsonParser.fromJSON("{\"z\": 1, \"a\": 2, \"m\": 3, \"a\": 4}"));
+        assertEquals(3, object.size());
+        assertEquals(List.of("z", "a", "m"), keys(object));
+        assertEquals(4, object.get("a"));
+        String text = object.toString();
+        assertTrue(text.indexOf("\"z\"") < text.indexOf("\"a\""), text);
+        assertTrue(text.indexOf("\"a\"") < text.indexOf("\"m\""), text);
+    }
+
+    @Test
+    void accessFails() {
+        var object = new JsonObject();
+        object.put("a", 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> object.getKey(1));
+        assertThrows(IllegalArgumentException.class, () -> object.getJsonObject("b"));
+        assertThrows(JSONTypeException.class, () -> object.getJsonArray("a"));
+    }
+
+    private static void assertMatches(Map<String, Object> expected, JsonObject object) {
+        assertEquals(expected.size(), object.size());
+        assertEquals(new ArrayList<>(expected.keySet()), keys(object));
+        int position = 0;
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), object.getValue(position++));
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), object.getAllEntries());
+    }
+
+    private static List<String> keys(JsonObject object) {
+        List<String> keys = new ArrayList<>();
+        object.forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+}
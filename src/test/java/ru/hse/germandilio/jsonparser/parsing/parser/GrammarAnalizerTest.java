@@ -0,0 +1,82 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Single-pass parsing, which pulls tokens from lexer, is compared with parsing of stored sequence of tokens.
+ */
+class GrammarAnalizerTest {
+    @Test
+    void singlePassMatchesTokenSequence() {
+        var random = new RandomJson(1);
+        for (int i = 0; i < 5000; i++) {
+            String json = random.document();
+            if (i % 2 == 0) {
+                json = random.mutate(json);
+            }
+            Object expected = parseSequence(json);
+            Object actual = parseSinglePass(json);
+            // the first error can differ, as sequence is built before grammar is checked
+            if (expected instanceof Exception || actual instanceof Exception) {
+                assertEquals(expected instanceof Exception, actual instanceof Exception, json);
+            } else {
+                RandomJson.assertSameTree(expected, actual, json);
+            }
+        }
+    }
+
+    @Test
+    void nestedValues() throws Exception {
+        var object = assertInstanceOf(JsonObject.class,
+                JsonParser.fromJSON("{\"a\": [1, \"x\", true, null, {\"b\": []}], \"c\": {}}"));
+        JsonArray array = object.getJsonArray("a");
+        assertEquals(5, array.size());
+        assertEquals("x", array.get(1));
+        assertEquals(Boolean.TRUE, array.get(2));
+        assertEquals(null, array.get(3));
+        assertEquals(0, array.getJsonObject(4).getJsonArray("b").size());
+        assertEquals(0, object.getJsonObject("c").getAllEntries().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}xyz", "[1] [2]", "{} {}", "[]]", "{\"a\":1}}", "[] null"})
+    void textAfterRootFails(String json) {
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json));
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(new StringReader(json)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[1,]", "{\"a\"}", "{\"a\":}", "[1 2]", "{,}", "[", "{\"a\":true", "\"a\""})
+    void invalidGrammarFails(String json) {
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json));
+    }
+
+    private static Object parseSequence(String json) {
+        try {
+            var tokens = new LexicalAnalyzer(new ReaderWrapper(new StringReader(json))).convertToTokens();
+            return new GrammarAnalizer().parse(tokens);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static Object parseSinglePass(String json) {
+        try {
+            return JsonParser.fromJSON(json);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cached trees are compared with parser, limits of cache are checked by counters.
+ */
+class JsonParseCacheTest {
+    @Test
+    void cachedTreesMatchParser() throws Exception {
+        var random = new RandomJson(24);
+        var cache = new JsonParseCache(10_000, 1L << 30);
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            documents.add(random.document());
+        }
+        for (int round = 0; round < 2; round++) {
+            for (String json : documents) {
+                byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+                Object expected = JsonParser.fromJSON(json);
+                RandomJson.assertSameTree(expected, cache.parse(json), json);
+                RandomJson.assertSameTree(expected, cache.parse(bytes), json);
+            }
+        }
+        // random documents can repeat, so only total of counters is exact
+        assertEquals(4 * documents.size(), cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getHitCount() >= 2 * documents.size());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(cache.getMissCount(), cache.size());
+    }
+
+    @Test
+    void changedBytesArentCached() throws Exception {
+        var cache = new JsonParseCache(10, 1 << 20);
+        byte[] bytes = "[1]".getBytes(StandardCharsets.UTF_8);
+        Object first = cache.parse(bytes);
+        assertSame(first, cache.parse(bytes.clone()));
+        bytes[1] = '2';
+        assertEquals(2, ((JsonArray) cache.parse(bytes)).get(0));
+        assertEquals(1, ((JsonArray) cache.parse("[1]".getBytes(StandardCharsets.UTF_8))).get(0));
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() throws Exception {
+        var cache = new JsonParseCache(5, 1 << 20);
+        Object[] trees = new Object[5];
+        for (int i = 0; i < 5; i++) {
+            trees[i] = cache.parse("[" + i + "]");
+        }
+        assertEquals(5, cache.size());
+        assertSame(trees[0], cache.parse("[0]"));
+
+        cache.parse("[5]");
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(5, cache.size());
+        assertSame(trees[0], cache.parse("[0]"));
+        assertNotSame(trees[1], cache.parse("[1]"));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    void retainedBytesAreLimited() throws Exception {
+        var random = new RandomJson(25);
+        long maxBytes = 64 << 10;
+        var cache = new JsonParseCache(100_000, maxBytes);
+        for (int i = 0; i < 2000; i++) {
+            cache.parse(random.document());
+            assertTrue(cache.getEstimatedBytes() <= maxBytes);
+        }
+        assertTrue(cache.getEvictionCount() > 0);
+
+        String large = "[\"" + "x".repeat((int) maxBytes) + "\"]";
+        Object tree = cache.parse(large);
+        assertNotSame(tree, cache.parse(large));
+        assertThrows(IllegalArgumentException.class, () -> new JsonParseCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new JsonParseCache(1, 0));
+    }
+
+    @Test
+    void cachedTreesAreReadOnly() throws Exception {
+        var cache = new JsonParseCache(10, 1 << 20);
+        var object = (JsonObject) cache.parse("{\"a\": {\"b\": 1}, \"c\": [[2], {\"d\": 3}]}");
+        assertTrue(object.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> object.put("e", 4));
+        assertThrows(UnsupportedOperationException.class, () -> object.getJsonObject("a").put("b", 2));
+        assertThrows(UnsupportedOperationException.class, () -> object.getAllEntries().get(0).setValue(null));
+
+        JsonArray array = object.getJsonArray("c");
+        assertThrows(UnsupportedOperationException.class, () -> array.add(5));
+        assertThrows(UnsupportedOperationException.class, () -> array.getJsonArray(0).add(5));
+        assertThrows(UnsupportedOperationException.class, () -> array.getJsonObject(1).put("d", 5));
+        var iterator = array.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    void concurrentParses() throws Exception {
+        var random = new RandomJson(26);
+        List<String> documents = new ArrayList<>();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String json = random.document();
+            documents.add(json);
+            expected.add(JsonParser.fromJSON(json));
+        }
+
+        // cache is smaller than set of documents, so entries are evicted while they are read
+        var cache = new JsonParseCache(200, 1L << 30);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int round = 0; round < 20; round++) {
+                for (String json : documents) {
+                    results.add(executor.submit(() -> cache.parse(json)));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                int index = i % documents.size();
+                RandomJson.assertSameTree(expected.get(index), results.get(i).get(), documents.get(index));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 200);
+    }
+}
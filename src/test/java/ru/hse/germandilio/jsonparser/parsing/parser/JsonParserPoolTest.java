@@ -0,0 +1,121 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reused parsers and parsers of pool are compared with new parser for each input.
+ */
+class JsonParserPoolTest {
+    @Test
+    void reusedParserMatchesNewParser() throws Exception {
+        var random = new RandomJson(21);
+        var parser = new JsonParser(16);
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            Object expected = new GrammarAnalizer().parse(new LexicalAnalyzer(new Utf8Wrapper(bytes)));
+
+            RandomJson.assertSameTree(expected, parser.parse(json), json);
+            RandomJson.assertSameTree(expected, parser.parse(new StringReader(json)), json);
+            RandomJson.assertSameTree(expected, parser.parse(bytes), json);
+            RandomJson.assertSameTree(expected, parser.parse(new ByteArrayInputStream(bytes)), json);
+
+            var buffer = ByteBuffer.allocate(bytes.length + 2);
+            buffer.put((byte) ' ').put(bytes).flip().position(1);
+            RandomJson.assertSameTree(expected, parser.parse(buffer), json);
+            assertEquals(1, buffer.position());
+        }
+    }
+
+    @Test
+    void parserIsReusedAfterLongToken() throws Exception {
+        var parser = new JsonParser(16);
+        String value = "x".repeat(100_000);
+        String json = "[\"" + value + "\", 1]";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(value, ((JsonArray) parser.parse(json)).get(0));
+            assertEquals(value, ((JsonArray) parser.parse(json.getBytes(StandardCharsets.UTF_8))).get(0));
+            assertEquals(1, ((JsonObject) parser.parse("{\"a\": 1}")).get("a"));
+            assertEquals(1, ((JsonObject) parser.parse("{\"a\": 1}".getBytes(StandardCharsets.UTF_8))).get("a"));
+        }
+        assertThrows(Exception.class, () -> parser.parse("[1,]"));
+        assertEquals(2, ((JsonArray) parser.parse("[1, 2]")).get(1));
+    }
+
+    @Test
+    void settingsAreApplied(@TempDir Path directory) throws Exception {
+        var parser = new JsonParser();
+        parser.setUseBigDecimal(true);
+        assertEquals(new BigDecimal("1.5"), ((JsonArray) parser.parse("[1.5]")).get(0));
+
+        var symbols = new SymbolTable();
+        parser.setSymbolTable(symbols);
+        var first = (JsonObject) parser.parse("{\"key\": 1}");
+        var second = (JsonObject) parser.parse("{\"key\": 2}".getBytes(StandardCharsets.UTF_8));
+        assertSame(first.getKey(0), second.getKey(0));
+
+        Path file = directory.resolve("object.json");
+        Files.writeString(file, "{\"key\": [true]}", StandardCharsets.UTF_8);
+        var fromFile = (JsonObject) parser.parse(file);
+        assertSame(first.getKey(0), fromFile.getKey(0));
+        assertEquals(true, ((JsonObject) new JsonParserPool().parse(file)).getJsonArray("key").get(0));
+
+        assertThrows(IllegalArgumentException.class, () -> new JsonParser(0));
+        assertThrows(IllegalArgumentException.class, () -> new JsonParserPool(0, JsonParser::new));
+    }
+
+    @Test
+    void concurrentParsesByPool() throws Exception {
+        var random = new RandomJson(22);
+        List<String> documents = new ArrayList<>();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String json = random.document();
+            documents.add(json);
+            expected.add(JsonParser.fromJSON(json));
+        }
+
+        var pool = new JsonParserPool(2, () -> new JsonParser(16));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < documents.size(); i++) {
+                    String json = documents.get(i);
+                    results.add(executor.submit(() -> switch (json.length() % 3) {
+                        case 0 -> pool.parse(json);
+                        case 1 -> pool.parse(json.getBytes(StandardCharsets.UTF_8));
+                        default -> pool.parse(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+                    }));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                int index = i % documents.size();
+                RandomJson.assertSameTree(expected.get(index), results.get(i).get(), documents.get(index));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
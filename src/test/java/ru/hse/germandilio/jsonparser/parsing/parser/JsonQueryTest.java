@@ -0,0 +1,106 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Selected values are compared with values of parsed tree. Whole input is checked by grammar,
+ * so selection fails for the same documents as parser.
+ */
+class JsonQueryTest {
+    private static final String DOCUMENT = "{\"meta\": {\"id\": 7, \"a/b\": \"slash\", \"m~n\": true},"
+            + " \"items\": [{\"price\": 1.5}, {\"name\": \"x\"}, {\"price\": 3}], \"0\": \"zero\"}";
+
+    @Test
+    void pointers() throws Exception {
+        assertEquals(7, JsonQuery.pointer("/meta/id").selectFirst(DOCUMENT));
+        assertEquals("slash", JsonQuery.pointer("/meta/a~1b").selectFirst(DOCUMENT));
+        assertEquals(true, JsonQuery.pointer("/meta/m~0n").selectFirst(DOCUMENT));
+        assertEquals(3, JsonQuery.pointer("/items/2/price").selectFirst(DOCUMENT));
+        assertEquals("zero", JsonQuery.pointer("/0").selectFirst(DOCUMENT));
+        assertNull(JsonQuery.pointer("/items/5").selectFirst(DOCUMENT));
+        RandomJson.assertSameTree(JsonParser.fromJSON(DOCUMENT), JsonQuery.pointer("").selectFirst(DOCUMENT), "");
+        assertThrows(IllegalArgumentException.class, () -> JsonQuery.pointer("meta"));
+    }
+
+    @Test
+    void paths() throws Exception {
+        assertEquals(List.of(1.5, 3), JsonQuery.path("$.items[*].price").select(DOCUMENT));
+        assertEquals(List.of("x"), JsonQuery.path("$['items'][1].name").select(DOCUMENT));
+        assertEquals(List.of(7, "slash", true), JsonQuery.path("$.meta.*").select(DOCUMENT));
+        var item = assertInstanceOf(JsonObject.class, JsonQuery.path("$.items[0]").selectFirst(DOCUMENT));
+        assertEquals(1.5, item.get("price"));
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        assertEquals(List.of(1.5, 3), JsonQuery.path("$.items[*].price").select(bytes));
+        for (String path : new String[]{"meta", "$.", "$[", "$[01]", "$[x]", "$x"}) {
+            assertThrows(IllegalArgumentException.class, () -> JsonQuery.path(path), path);
+        }
+    }
+
+    @Test
+    void duplicateKeysAreSelected() throws Exception {
+        String json = "{\"a\": 1, \"b\": {\"a\": 2}, \"a\": 3}";
+        assertEquals(List.of(1, 3), JsonQuery.pointer("/a").select(json));
+        assertEquals(1, JsonQuery.pointer("/a").selectFirst(json));
+    }
+
+    @Test
+    void elementsMatchTree() throws Exception {
+        var random = new RandomJson(19);
+        for (int i = 0; i < 3000; i++) {
+            String json = random.document();
+            Object tree = JsonParser.fromJSON(json);
+            if (!(tree instanceof JsonArray array)) {
+                // keys can repeat in random objects, so only elements of arrays are compared with tree
+                continue;
+            }
+            List<Object> elements = JsonQuery.path("$[*]").select(json);
+            assertEquals(array.size(), elements.size(), json);
+            for (int j = 0; j < array.size(); j++) {
+                RandomJson.assertSameTree(array.get(j), elements.get(j), json);
+                RandomJson.assertSameTree(array.get(j), JsonQuery.pointer("/" + j).selectFirst(json), json);
+            }
+        }
+    }
+
+    @Test
+    void failuresMatchParser() {
+        var random = new RandomJson(20);
+        var query = JsonQuery.path("$.missing[*]");
+        for (int i = 0; i < 5000; i++) {
+            String json = random.mutate(random.document());
+            boolean parsed = succeeds(() -> JsonParser.fromJSON(json));
+            assertEquals(parsed, succeeds(() -> query.select(json)), json);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"a\": [1,]}", "{\"b\": {\"x\"}, \"a\": 1}", "{\"b\": [1 2], \"a\": 1}", "{\"a\": 1}}",
+            "{\"a\": 1, \"b\": tru}", "{\"a\" 1}"})
+    void malformedDocumentsFail(String json) {
+        assertThrows(JSONParseException.class, () -> JsonQuery.pointer("/a").select(json), json);
+    }
+
+    private static boolean succeeds(Executable action) {
+        try {
+            action.execute();
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.exceptions.JSONTypeException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.token.NumberDecoder;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Events of reader are checked on small documents, trees built from events are compared with parser.
+ */
+class JsonReaderTest {
+    @Test
+    void eventsOfDocument() throws IOException {
+        var reader = new JsonReader(new StringReader("{\"a\": [1, \"x\", true, null], \"b\": {}}"));
+        List<TokenType> events = new ArrayList<>();
+        TokenType type;
+        while ((type = reader.nextToken()) != TokenType.END_DOCUMENT) {
+            events.add(type);
+        }
+        assertEquals(List.of(TokenType.START_OBJECT, TokenType.NAME, TokenType.START_ARRAY, TokenType.NUMBER,
+                TokenType.STRING, TokenType.BOOLEAN, TokenType.NULL, TokenType.END_ARRAY, TokenType.NAME,
+                TokenType.START_OBJECT, TokenType.END_OBJECT, TokenType.END_OBJECT), events);
+    }
+
+    @Test
+    void typedValues() throws IOException {
+        var reader = new JsonReader(new StringReader("{\"id\": 7, \"big\": 5000000000, \"x\": 1.5, \"ok\": false,"
+                + " \"name\": \"n\", \"none\": null}"));
+        assertEquals(TokenType.START_OBJECT, reader.nextToken());
+        assertEquals(1, reader.getDepth());
+        assertEquals("id", reader.nextName());
+        assertEquals(TokenType.NUMBER, reader.peek());
+        assertEquals(TokenType.NAME, reader.currentToken());
+        assertEquals(7, reader.nextInt());
+        assertEquals("big", reader.nextName());
+        assertThrows(JSONTypeException.class, reader::nextInt);
+        assertEquals("x", reader.nextName());
+        assertEquals(1.5, reader.nextDouble());
+        assertEquals("ok", reader.nextName());
+        assertEquals(false, reader.nextBoolean());
+        assertEquals("name", reader.nextName());
+        assertEquals("n", reader.nextString());
+        assertEquals("none", reader.nextName());
+        reader.nextNull();
+        assertEquals(TokenType.END_OBJECT, reader.nextToken());
+        assertEquals(0, reader.getDepth());
+        assertEquals(TokenType.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    void skipAndReadValues() throws IOException {
+        var reader = new JsonReader(new StringReader("[{\"a\": [1, {\"b\": 2}]}, [3], {\"c\": [4]}, 5]"));
+        assertEquals(TokenType.START_ARRAY, reader.nextToken());
+        reader.skipValue();
+        reader.skipValue();
+        var object = assertInstanceOf(JsonObject.class, reader.readValue());
+        assertEquals(4, object.getJsonArray("c").get(0));
+        assertEquals(1, reader.getDepth());
+        assertEquals(5, reader.readValue());
+        assertEquals(TokenType.END_ARRAY, reader.nextToken());
+        assertEquals(TokenType.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    void nameIsSkippedWithValue() throws IOException {
+        var reader = new JsonReader(new StringReader("{\"a\": {\"x\": [1]}, \"b\": 2}"));
+        reader.nextToken();
+        reader.skipValue();
+        assertEquals("b", reader.nextName());
+        assertEquals(2, reader.nextInt());
+    }
+
+    @Test
+    void invalidSequenceFails() {
+        for (String json : new String[]{"[1,]", "{\"a\" 1}", "[1 2]", "{\"a\":1,}", "[]]", "{} {}", "\"a\""}) {
+            assertThrows(JSONParseException.class, () -> readAll(json), json);
+        }
+    }
+
+    @Test
+    void eventsMatchParser() throws IOException {
+        var random = new RandomJson(2);
+        int checked = 0;
+        for (int i = 0; i < 3000; i++) {
+            String json = random.document();
+            Object expected;
+            try {
+                expected = JsonParser.fromJSON(json);
+            } catch (Exception e) {
+                // numbers, which aren't supported by parser
+                continue;
+            }
+            var reader = new JsonReader(new StringReader(json));
+            RandomJson.assertSameTree(expected, build(reader, reader.nextToken()), json);
+            assertEquals(TokenType.END_DOCUMENT, reader.nextToken(), json);
+            ++checked;
+        }
+        assertTrue(checked > 1000);
+    }
+
+    private static void readAll(String json) throws IOException {
+        var reader = new JsonReader(new StringReader(json));
+        while (reader.nextToken() != TokenType.END_DOCUMENT) {
+            // only events are checked
+        }
+    }
+
+    /**
+     * Build value from events, {@code type} is already taken.
+     */
+    private static Object build(JsonReader reader, TokenType type) throws IOException {
+        switch (type) {
+            case START_OBJECT -> {
+                JsonObject object = new JsonObject();
+                while ((type = reader.nextToken()) != TokenType.END_OBJECT) {
+                    assertEquals(TokenType.NAME, type);
+                    String name = reader.getText();
+                    object.put(name, build(reader, reader.nextToken()));
+                }
+                return object;
+            }
+            case START_ARRAY -> {
+                JsonArray array = new JsonArray();
+                while ((type = reader.nextToken()) != TokenType.END_ARRAY) {
+                    array.add(build(reader, type));
+                }
+                return array;
+            }
+            case NUMBER -> {
+                return NumberDecoder.decode(reader.getText(), false);
+            }
+            case BOOLEAN -> {
+                return Boolean.valueOf(reader.getText());
+            }
+            case STRING -> {
+                return reader.getText();
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.token.Token;
+import ru.hse.germandilio.jsonparser.parsing.token.TokenType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cursor of lexer is compared with tokens, which are created by {@code next}.
+ */
+class LexicalAnalyzerTest {
+    @Test
+    void cursorMatchesTokens() {
+        var random = new RandomJson(5);
+        int lexed = 0;
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            List<Object> tokens = tokens(new LexicalAnalyzer(new ReaderWrapper(new StringReader(json))));
+            // cursor over bytes sees the same tokens as lexer over characters
+            List<Object> cursor = cursor(new LexicalAnalyzer(new Utf8Wrapper(json.getBytes(StandardCharsets.UTF_8))));
+            assertEquals(tokens, cursor, json);
+            if (!(tokens.get(tokens.size() - 1) instanceof Exception)) {
+                ++lexed;
+            }
+        }
+        assertTrue(lexed > 1000);
+    }
+
+    @Test
+    void textOfTokens() throws IOException {
+        var cursor = new LexicalAnalyzer(new ReaderWrapper(new StringReader(
+                "{\"a\\\"b\" : [-1.5e3, true, false, null]}")));
+        assertEquals(TokenType.START_OBJECT, cursor.advance());
+        assertEquals("{", cursor.getText());
+        assertEquals(TokenType.STRING, cursor.advance());
+        assertEquals("a\\\"b", cursor.getText());
+        assertEquals(TokenType.SEPARATOR_COLON, cursor.advance());
+        assertEquals(TokenType.START_ARRAY, cursor.advance());
+        assertEquals(TokenType.NUMBER, cursor.advance());
+        assertEquals("-1.5e3", cursor.getText());
+        assertEquals(TokenType.SEPARATOR_COMMA, cursor.advance());
+        assertEquals(TokenType.BOOLEAN, cursor.advance());
+        assertEquals("true", cursor.getText());
+        cursor.advance();
+        assertEquals(TokenType.BOOLEAN, cursor.advance());
+        assertEquals("false", cursor.getText());
+        cursor.advance();
+        assertEquals(TokenType.NULL, cursor.advance());
+        assertEquals("null", cursor.getText());
+        assertEquals(TokenType.END_ARRAY, cursor.advance());
+        assertEquals(TokenType.END_OBJECT, cursor.advance());
+        assertEquals(TokenType.END_DOCUMENT, cursor.advance());
+        assertNull(cursor.getText());
+    }
+
+    @Test
+    void tokensWithoutTextAreShared() throws IOException {
+        var first = new LexicalAnalyzer(new ReaderWrapper(new StringReader("[true, null, {}]")));
+        var second = new LexicalAnalyzer(new ReaderWrapper(new StringReader("[true, null, {}]")));
+        for (int i = 0; i < 8; i++) {
+            assertSame(first.next(), second.next());
+        }
+    }
+
+    /**
+     * @return type and text of each token, class of exception at the end if lexer fails.
+     */
+    private static List<Object> tokens(LexicalAnalyzer lexer) {
+        List<Object> tokens = new ArrayList<>();
+        try {
+            Token token;
+            do {
+                token = lexer.next();
+                tokens.add(token.getType());
+                tokens.add(token.getValue());
+            } while (token.getType() != TokenType.END_DOCUMENT);
+        } catch (Exception e) {
+            tokens.add(e.getClass());
+        }
+        return tokens;
+    }
+
+    private static List<Object> cursor(LexicalAnalyzer lexer) {
+        List<Object> tokens = new ArrayList<>();
+        try {
+            TokenType type;
+            do {
+                type = lexer.advance();
+                assertEquals(type, lexer.getType());
+                tokens.add(type);
+                tokens.add(lexer.getText());
+            } while (type != TokenType.END_DOCUMENT);
+        } catch (Exception e) {
+            tokens.add(e.getClass());
+        }
+        return tokens;
+    }
+}
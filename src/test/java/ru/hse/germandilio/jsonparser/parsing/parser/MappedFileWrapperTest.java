@@ -0,0 +1,73 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Files are parsed through small windows, so tokens cross borders of windows.
+ */
+class MappedFileWrapperTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void windowsMatchString() throws Exception {
+        var random = new RandomJson(4);
+        Path file = directory.resolve("document.json");
+        for (int i = 0; i < 500; i++) {
+            String json = "[" + random.document() + "," + random.document() + "]";
+            Object expected;
+            try {
+                expected = JsonParser.fromJSON(json);
+            } catch (Exception e) {
+                continue;
+            }
+            Files.writeString(file, json, StandardCharsets.UTF_8);
+            RandomJson.assertSameTree(expected, JsonParser.fromFile(file), json);
+            for (int windowSize : new int[]{2048, 2049, 4096}) {
+                RandomJson.assertSameTree(expected, parse(file, windowSize), json);
+            }
+        }
+    }
+
+    @Test
+    void tinyWindows() throws Exception {
+        Path file = directory.resolve("numbers.json");
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i > 0 ? ", " : "").append(i * 7).append(", \"s").append(i).append('"');
+        }
+        Files.writeString(file, sb.append(']').toString(), StandardCharsets.UTF_8);
+        for (int windowSize = 8; windowSize < 20; windowSize++) {
+            var array = assertInstanceOf(JsonArray.class, parse(file, windowSize));
+            assertEquals(2000, array.size());
+            assertEquals(999 * 7, array.get(1998));
+            assertEquals("s999", array.get(1999));
+        }
+    }
+
+    @Test
+    void tokenLongerThanWindowFails() throws IOException {
+        Path file = directory.resolve("long.json");
+        Files.writeString(file, "[\"" + "x".repeat(100) + "\"]", StandardCharsets.UTF_8);
+        assertThrows(JSONParseException.class, () -> parse(file, 32));
+    }
+
+    private static Object parse(Path file, int windowSize) throws IOException {
+        try (var input = new MappedFileWrapper(file, windowSize)) {
+            return new GrammarAnalizer().parse(new LexicalAnalyzer(input));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Max depth is checked by each way of parsing: json of max depth is parsed, one level deeper fails.
+ */
+class MaxDepthTest {
+    private static final int MAX_DEPTH = 10;
+
+    @Test
+    void defaultDepth() {
+        int depth = GrammarAnalizer.DEFAULT_MAX_DEPTH;
+        assertDoesNotThrow(() -> JsonParser.fromJSON(arrays(depth)));
+        assertDoesNotThrow(() -> JsonParser.fromJSON(objects(depth)));
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(arrays(depth + 1)));
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(objects(depth + 1)));
+        // deep input fails by depth, not by size of thread stack
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(arrays(1_000_000)));
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(bytes(arrays(1_000_000)), Object.class));
+    }
+
+    @Test
+    void grammar() {
+        check(json -> {
+            var grammar = new GrammarAnalizer();
+            grammar.setMaxDepth(MAX_DEPTH);
+            return grammar.parse(new LexicalAnalyzer(new Utf8Wrapper(bytes(json))));
+        });
+        assertThrows(IllegalArgumentException.class, () -> new GrammarAnalizer().setMaxDepth(0));
+    }
+
+    @Test
+    void jsonParser() {
+        var parser = new JsonParser();
+        parser.setMaxDepth(MAX_DEPTH);
+        check(parser::parse);
+        check(json -> parser.parse(new StringReader(json)));
+        check(json -> parser.parse(bytes(json)));
+        check(json -> parser.parse(new ByteArrayInputStream(bytes(json))));
+        check(json -> parser.parse(json, Object.class));
+        check(json -> parser.parse(bytes(json), Object.class));
+        // depth is kept when grammar is replaced
+        parser.setUseBigDecimal(true);
+        check(parser::parse);
+    }
+
+    @Test
+    void structuralParser() {
+        for (boolean lazy : new boolean[]{false, true}) {
+            var parser = new StructuralParser();
+            parser.setLazy(lazy);
+            parser.setMaxDepth(MAX_DEPTH);
+            check(json -> parser.parse(bytes(json)));
+        }
+    }
+
+    @Test
+    void nonBlockingParser() {
+        var parser = new NonBlockingParser();
+        parser.setMaxDepth(MAX_DEPTH);
+        check(json -> {
+            parser.reset();
+            byte[] bytes = bytes(json);
+            parser.feed(bytes, 0, bytes.length);
+            return parser.endOfInput();
+        });
+    }
+
+    @Test
+    void reader() {
+        check(json -> {
+            var reader = new JsonReader(new StringReader("[" + json + "]"));
+            // array around value is counted too
+            reader.setMaxDepth(MAX_DEPTH + 1);
+            reader.nextToken();
+            return reader.readValue();
+        });
+    }
+
+    @Test
+    void query() {
+        var query = JsonQuery.path("$[0]");
+        query.setMaxDepth(MAX_DEPTH);
+        check(json -> query.select(json));
+    }
+
+    @Test
+    void ndjsonParser() {
+        var parser = new NdjsonParser();
+        parser.setMaxDepth(MAX_DEPTH);
+        check(json -> {
+            try (Stream<Object> records = parser.stream(new ByteArrayInputStream(bytes("1\n" + json + "\n")))) {
+                return records.collect(Collectors.toList());
+            }
+        });
+    }
+
+    @Test
+    void parallelArrayParser() {
+        var parser = new ParallelArrayParser();
+        // root is always array, elements are split to tasks
+        parser.setMaxDepth(MAX_DEPTH + 1);
+        check(json -> parser.parse(bytes("[1, " + json + "]")));
+    }
+
+    private interface Parse {
+        Object parse(String json) throws Exception;
+    }
+
+    private static void check(Parse parse) {
+        for (String json : new String[]{arrays(MAX_DEPTH), objects(MAX_DEPTH)}) {
+            assertDoesNotThrow((ThrowingSupplier<Object>) () -> parse.parse(json), json);
+        }
+        for (String json : new String[]{arrays(MAX_DEPTH + 1), objects(MAX_DEPTH + 1), arrays(100_000)}) {
+            assertThrows(JSONParseException.class, () -> parse.parse(json), json);
+        }
+    }
+
+    private static String arrays(int depth) {
+        return "[".repeat(depth) + "]".repeat(depth);
+    }
+
+    private static String objects(int depth) {
+        return "{\"a\": ".repeat(depth - 1) + "{}" + "}".repeat(depth - 1);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
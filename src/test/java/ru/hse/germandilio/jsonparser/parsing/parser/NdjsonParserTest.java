@@ -0,0 +1,111 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records read in caller thread and by chunks in pool are compared with parsing of each line.
+ */
+class NdjsonParserTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void recordsMatchLines() throws Exception {
+        var random = new RandomJson(18);
+        List<Object> expected = new ArrayList<>();
+        var sb = new StringBuilder();
+        // input is larger than several chunks of pool
+        while (sb.length() < (3 << 20)) {
+            String line = random.document().replace('\n', ' ').replace('\r', ' ');
+            expected.add(JsonParser.fromJSON(line));
+            sb.append(line).append(random.random().nextInt(5) == 0 ? "\r\n" : "\n");
+            if (random.random().nextInt(20) == 0) {
+                sb.append("  \n");
+            }
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        assertSameRecords(expected, read(new NdjsonParser(), bytes));
+        var pooled = new NdjsonParser();
+        pooled.setPool(POOL);
+        assertSameRecords(expected, read(pooled, bytes));
+
+        List<Object> batched = new ArrayList<>();
+        pooled.forEachBatch(new ByteArrayInputStream(bytes), 100, batch -> {
+            assertTrue(batch.size() == 100 || batched.size() + batch.size() == expected.size());
+            batched.addAll(batch);
+        });
+        assertSameRecords(expected, batched);
+    }
+
+    @Test
+    void scalarRecords(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("records.ndjson");
+        Files.writeString(file, "1\n\"a\"\nnull\n\ntrue\n[]\n-2.5", StandardCharsets.UTF_8);
+        for (ForkJoinPool pool : new ForkJoinPool[]{null, POOL}) {
+            var parser = new NdjsonParser();
+            parser.setPool(pool);
+            try (Stream<Object> records = parser.stream(file)) {
+                List<Object> list = records.collect(Collectors.toList());
+                assertEquals(6, list.size());
+                assertEquals(Arrays.asList(1, "a", null, true), list.subList(0, 4));
+                assertEquals(-2.5, list.get(5));
+            }
+            List<Object> batched = new ArrayList<>();
+            parser.forEachBatch(file, 4, batched::addAll);
+            assertNull(batched.get(2));
+            assertEquals(6, batched.size());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1 2\n", "{\"a\":\n1}\n", "[1,\n2]", "{}\n{\n", "{}}\n", "\"a\n\""})
+    void invalidLinesFail(String ndjson) {
+        byte[] bytes = ndjson.getBytes(StandardCharsets.UTF_8);
+        for (ForkJoinPool pool : new ForkJoinPool[]{null, POOL}) {
+            var parser = new NdjsonParser();
+            parser.setPool(pool);
+            assertThrows(Exception.class, () -> read(parser, bytes), ndjson);
+            assertThrows(Exception.class, () -> parser.forEachBatch(new ByteArrayInputStream(bytes), 10, batch -> {
+            }), ndjson);
+        }
+    }
+
+    private static List<Object> read(NdjsonParser parser, byte[] bytes) {
+        try (Stream<Object> records = parser.stream(new ByteArrayInputStream(bytes))) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    private static void assertSameRecords(List<Object> expected, List<Object> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            RandomJson.assertSameTree(expected.get(i), actual.get(i), "record " + i);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Input is split to chunks at every position, so each state of lexer is carried between chunks:
+ * inside of string, escape sequence, {@code \\u} sequence, number and keyword.
+ * Results are compared with {@code GrammarAnalizer} over {@code LexicalAnalyzer}.
+ */
+class NonBlockingParserTest {
+    @Test
+    void everySplitMatchesGrammar() throws Exception {
+        var random = new RandomJson(6);
+        var parser = new NonBlockingParser();
+        for (int i = 0; i < 300; i++) {
+            String json = random.document();
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            Object expected = new JsonParser().parse(json);
+            for (int split = 0; split <= bytes.length; split++) {
+                parser.reset();
+                parser.feed(bytes, 0, split);
+                parser.feed(bytes, split, bytes.length - split);
+                RandomJson.assertSameTree(expected, parser.endOfInput(), json + " split at " + split);
+            }
+        }
+    }
+
+    @Test
+    void randomChunksMatchGrammar() throws Exception {
+        var random = new RandomJson(7);
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            var parser = new NonBlockingParser();
+            parser.setUseBigDecimal(i % 2 == 0);
+            var grammar = new JsonParser();
+            grammar.setUseBigDecimal(i % 2 == 0);
+            feed(parser, bytes, random.random(), i % 3 == 0);
+            RandomJson.assertSameTree(grammar.parse(json), parser.endOfInput(), json);
+        }
+    }
+
+    @Test
+    void invalidDocumentsMatchGrammar() {
+        var random = new RandomJson(8);
+        var parser = new NonBlockingParser();
+        for (int i = 0; i < 5000; i++) {
+            String json = random.mutate(random.document());
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            Object expected;
+            try {
+                expected = new JsonParser().parse(json);
+            } catch (Exception e) {
+                parser.reset();
+                assertThrows(JSONParseException.class, () -> {
+                    feed(parser, bytes, random.random(), false);
+                    parser.endOfInput();
+                }, json);
+                continue;
+            }
+            parser.reset();
+            feed(parser, bytes, random.random(), false);
+            RandomJson.assertSameTree(expected, parser.endOfInput(), json);
+        }
+    }
+
+    @Test
+    void eventsOfListener() {
+        List<String> events = new ArrayList<>();
+        var parser = new NonBlockingParser((type, value) -> events.add(type + (value != null ? "=" + value : "")));
+        byte[] bytes = "{\"a\":[1,\"x\\ny\",true,null],\"b\":{}}".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            parser.feed(bytes, i, 1);
+        }
+        assertTrue(parser.isComplete());
+        parser.endOfInput();
+        assertEquals(List.of("START_OBJECT", "NAME=a", "START_ARRAY", "NUMBER=1", "STRING=x\\ny", "BOOLEAN=true",
+                "NULL", "END_ARRAY", "NAME=b", "START_OBJECT", "END_OBJECT", "END_OBJECT", "END_DOCUMENT"), events);
+    }
+
+    @Test
+    void incompleteDocumentFails() {
+        byte[] bytes = "{\"a\":[1,2".getBytes(StandardCharsets.UTF_8);
+        var parser = new NonBlockingParser();
+        assertFalse(parser.feed(bytes, 0, bytes.length));
+        assertThrows(JSONParseException.class, parser::endOfInput);
+
+        parser.reset();
+        byte[] number = "[12".getBytes(StandardCharsets.UTF_8);
+        parser.feed(number, 0, number.length);
+        assertThrows(JSONParseException.class, parser::endOfInput);
+    }
+
+    /**
+     * Feed {@code bytes} by chunks of 1-16 bytes, from heap or direct buffers.
+     */
+    private static void feed(NonBlockingParser parser, byte[] bytes, Random random, boolean direct) {
+        int position = 0;
+        while (position < bytes.length) {
+            int length = Math.min(bytes.length - position, 1 + random.nextInt(16));
+            if (direct) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+                buffer.put(bytes, position, length).flip();
+                parser.feed(buffer);
+            } else {
+                parser.feed(bytes, position, length);
+            }
+            position += length;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * State machine of numbers is compared with grammar of RFC 8259 on every short sequence of number characters.
+ */
+class NumberScannerTest {
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][-+]?[0-9]+)?");
+    private static final String ALPHABET = "-+0.e1E";
+
+    @Test
+    void scannerMatchesGrammar() {
+        var scanner = new NumberScanner();
+        int checked = 0;
+        for (int length = 1; length <= 6; length++) {
+            int[] digits = new int[length];
+            do {
+                var number = new StringBuilder();
+                for (int digit : digits) {
+                    number.append(ALPHABET.charAt(digit));
+                }
+                String text = number.toString();
+
+                scanner.reset();
+                boolean complete = scan(scanner, text);
+                assertEquals(NUMBER.matcher(text).matches(), complete, text);
+                if (complete) {
+                    assertEquals(text.contains(".") || text.contains("e") || text.contains("E"),
+                            scanner.isDecimal(), text);
+                }
+                ++checked;
+            } while (next(digits));
+        }
+        assertTrue(checked > 100_000);
+    }
+
+    @Test
+    void characterClasses() {
+        for (int ch = 0; ch < 128; ch++) {
+            assertEquals(" \t\n\r".indexOf(ch) >= 0, CharacterTable.is(ch, CharacterTable.WHITESPACE));
+            assertEquals("{}[]:,".indexOf(ch) >= 0, CharacterTable.is(ch, CharacterTable.STRUCTURAL));
+            assertEquals("{}[]:,".indexOf(ch) >= 0, CharacterTable.structuralToken(ch) != null);
+            assertEquals(ch < 0x20 || ch == '"' || ch == '\\', CharacterTable.is(ch, CharacterTable.STRING_SPECIAL));
+            assertEquals(Character.digit(ch, 16) >= 0, CharacterTable.is(ch, CharacterTable.HEX_DIGIT));
+        }
+        assertFalse(CharacterTable.is(-1, CharacterTable.WHITESPACE | CharacterTable.STRUCTURAL));
+        assertFalse(CharacterTable.is(0xE9, CharacterTable.NUMBER_BODY));
+    }
+
+    @Test
+    void validNumbers() throws Exception {
+        var array = assertInstanceOf(JsonArray.class, JsonParser.fromJSON("[0, -0, 12, 1.5, 1e5, 1E+5, -2.25E-5]"));
+        assertEquals(7, array.size());
+        assertEquals(1.5, ((Number) array.get(3)).doubleValue());
+        assertEquals(-2.25E-5, ((Number) array.get(6)).doubleValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[01]", "[+1]", "[1.]", "[.5]", "[-]", "[1e]", "[1e+]", "[1.e5]", "[--1]", "[1-2]",
+            "[1.5.5]", "[1ee5]"})
+    void invalidNumbersFail(String json) {
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[\"a\tb\"]", "[\"a\nb\"]", "[\"\\u12\"]", "[\"\\u12G4\"]", "[\"\\x\"]"})
+    void invalidStringsFail(String json) {
+        assertThrows(JSONParseException.class, () -> JsonParser.fromJSON(json));
+    }
+
+    @Test
+    void escapedSolidus() throws Exception {
+        var array = assertInstanceOf(JsonArray.class, JsonParser.fromJSON("[\"a\\/b\", \"\\u00e9\"]"));
+        assertEquals(2, array.size());
+    }
+
+    private static boolean scan(NumberScanner scanner, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (scanner.accept(text.charAt(i)) == NumberScanner.ERROR) {
+                return false;
+            }
+        }
+        return scanner.isComplete();
+    }
+
+    private static boolean next(int[] digits) {
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (++digits[i] < ALPHABET.length()) {
+                return true;
+            }
+            digits[i] = 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Arrays parsed by tasks of pool are compared with single-pass parsing.
+ */
+class ParallelArrayParserTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void elementsMatchParser() throws Exception {
+        var random = new RandomJson(17);
+        for (int i = 0; i < 20; i++) {
+            // large arrays are split to several tasks
+            int count = i % 2 == 0 ? random.random().nextInt(5) : 500 + random.random().nextInt(1000);
+            var sb = new StringBuilder("[");
+            for (int j = 0; j < count; j++) {
+                sb.append(j > 0 ? ",\n" : "").append(random.document());
+                if (j % 7 == 0) {
+                    sb.append(", ").append(random.number()).append(", \"a,]\\\"\"");
+                }
+            }
+            String json = sb.append(" ]").toString();
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+            Object expected = JsonParser.fromJSON(json);
+            RandomJson.assertSameTree(expected, new ParallelArrayParser(POOL).parse(bytes), "array " + i);
+            RandomJson.assertSameTree(expected, sequential().parse(bytes), "array " + i);
+
+            var withSymbols = new ParallelArrayParser(POOL);
+            withSymbols.setSymbolTable(new SymbolTable());
+            RandomJson.assertSameTree(expected, withSymbols.parse(bytes), "array " + i);
+        }
+    }
+
+    @Test
+    void fileIsParsed(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("array.json");
+        Files.writeString(file, "[1, {\"a\": [2.5]}, \"x\"]", StandardCharsets.UTF_8);
+        JsonArray array = new ParallelArrayParser(POOL).parse(file);
+        assertEquals(3, array.size());
+        assertEquals(2.5, array.getJsonObject(1).getJsonArray("a").get(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "[1,]", "[,1]", "[1 2]", "[1] 2", "[{\"a\":}]", "[\"a]", "[[1]", "1"})
+    void invalidArraysFail(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThrows(Exception.class, () -> new ParallelArrayParser(POOL).parse(bytes));
+        assertThrows(Exception.class, () -> sequential().parse(bytes));
+    }
+
+    private static ParallelArrayParser sequential() {
+        return new ParallelArrayParser(new ForkJoinPool(1));
+    }
+}
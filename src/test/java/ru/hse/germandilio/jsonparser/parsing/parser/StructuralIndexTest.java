@@ -0,0 +1,125 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.JSONParseException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Index built by blocks is compared with positions found by scan of bytes one by one:
+ * escaped characters carried between blocks, strings found by prefix xor and starts of scalars.
+ */
+class StructuralIndexTest {
+    @Test
+    void positionsMatchScanByBytes() {
+        var random = new RandomJson(1);
+        for (int i = 0; i < 3000; i++) {
+            byte[] json = random.document().getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(scan(json, 0, json.length), positions(json, 0, json.length),
+                    new String(json, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void positionsInRangeOfLargerArray() {
+        var random = new RandomJson(2);
+        for (int i = 0; i < 1000; i++) {
+            byte[] json = random.document().getBytes(StandardCharsets.UTF_8);
+            int offset = random.random().nextInt(70);
+            byte[] bytes = new byte[offset + json.length + random.random().nextInt(70)];
+            // bytes around range aren't json
+            Arrays.fill(bytes, (byte) '"');
+            System.arraycopy(json, 0, bytes, offset, json.length);
+            assertArrayEquals(scan(bytes, offset, json.length), positions(bytes, offset, json.length),
+                    new String(json, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void escapesAtBoundariesOfBlocks() {
+        for (int padding = 0; padding < 140; padding++) {
+            for (int backslashes = 0; backslashes < 8; backslashes++) {
+                // odd count of backslashes escapes quote, even count ends string
+                String text = "\\".repeat(backslashes) + (backslashes % 2 == 0 ? "" : "\"");
+                String json = "[" + " ".repeat(padding) + "\"" + text + "\",1,\"\\\\\",{\"a\":\"}\"}]";
+                byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+                assertArrayEquals(scan(bytes, 0, bytes.length), positions(bytes, 0, bytes.length), json);
+            }
+        }
+    }
+
+    @Test
+    void structuralCharactersInLongStrings() {
+        String json = "[\"" + "{[:,]}\\\"".repeat(100) + "\",2]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(new int[]{0, 1, json.length() - 4, json.length() - 3, json.length() - 2, json.length() - 1},
+                positions(bytes, 0, bytes.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[\"abc]", "[\"a\\\"]", "[\"a\tb\"]", "[\"a\nb\"]", "[\"\\x\"]", "[\"\\u12\"]", "[\"\\u12G4\"]",
+            "[\"\\", "[\"\\u"
+    })
+    void invalidStringsFail(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThrows(JSONParseException.class, () -> StructuralIndex.build(bytes, 0, bytes.length));
+        // long input, where string is in middle of block
+        byte[] padded = (" ".repeat(100) + json).getBytes(StandardCharsets.UTF_8);
+        assertThrows(JSONParseException.class, () -> StructuralIndex.build(padded, 0, padded.length));
+    }
+
+    private static int[] positions(byte[] bytes, int offset, int length) {
+        var index = StructuralIndex.build(bytes, offset, length);
+        int[] positions = new int[index.count()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = index.position(i);
+        }
+        return positions;
+    }
+
+    /**
+     * Positions of structural characters outside strings, quotes and starts of scalars, byte by byte.
+     */
+    private static int[] scan(byte[] bytes, int offset, int length) {
+        int[] positions = new int[length];
+        int count = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        boolean inScalar = false;
+        for (int i = offset; i < offset + length; i++) {
+            byte character = bytes[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (character == '\\') {
+                    escaped = true;
+                } else if (character == '"') {
+                    positions[count++] = i;
+                    inString = false;
+                }
+            } else if (character == '"') {
+                positions[count++] = i;
+                inString = true;
+                inScalar = false;
+            } else if (character == '{' || character == '}' || character == '[' || character == ']'
+                    || character == ':' || character == ',') {
+                positions[count++] = i;
+                inScalar = false;
+            } else if (character == ' ' || character == '\n' || character == '\r' || character == '\t') {
+                inScalar = false;
+            } else if (!inScalar) {
+                positions[count++] = i;
+                inScalar = true;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+}
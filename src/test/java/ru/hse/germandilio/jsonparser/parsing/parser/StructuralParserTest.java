@@ -0,0 +1,141 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Results of {@code StructuralParser} are compared with {@code GrammarAnalizer} over {@code LexicalAnalyzer}:
+ * the same tree for valid json, failure for invalid one. Lazy parser checks whole input in {@code parse},
+ * so it fails for the same json, even if invalid values are never loaded.
+ */
+class StructuralParserTest {
+    private static final Object FAILED = new Object();
+
+    @Test
+    void validDocumentsMatchGrammar() throws Exception {
+        var random = new RandomJson(3);
+        for (int i = 0; i < 3000; i++) {
+            String json = random.document();
+            assertSameOutcome(json, i % 2 == 0);
+        }
+    }
+
+    @Test
+    void invalidDocumentsMatchGrammar() throws Exception {
+        var random = new RandomJson(4);
+        for (int i = 0; i < 5000; i++) {
+            assertSameOutcome(random.mutate(random.document()), false);
+        }
+    }
+
+    @Test
+    void rangeOfLargerArray() throws Exception {
+        var random = new RandomJson(5);
+        for (int i = 0; i < 500; i++) {
+            String json = random.document();
+            byte[] bytes = ("[1,\"" + json + "]").getBytes(StandardCharsets.UTF_8);
+            int offset = 4;
+            int length = json.getBytes(StandardCharsets.UTF_8).length;
+            RandomJson.assertSameTree(JsonParser.fromJSON(json), new StructuralParser().parse(bytes, offset, length),
+                    json);
+        }
+    }
+
+    @Test
+    void textAfterRootFails() {
+        for (String json : new String[]{"{}x", "[1] [2]", "{}}", "[1],"}) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            assertThrows(Exception.class, () -> new StructuralParser().parse(bytes), json);
+            assertThrows(Exception.class, () -> JsonParser.fromJSONLazy(bytes), json);
+        }
+    }
+
+    @Test
+    void invalidValuesFailInLazyParse() {
+        // container replaced by duplicate key is never loaded
+        for (String json : new String[]{"{\"a\": [tru], \"a\": 1}", "[1, {\"b\": 01}]", "{\"a\": [1.]}"}) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            assertThrows(Exception.class, () -> JsonParser.fromJSONLazy(bytes), json);
+        }
+    }
+
+    @Test
+    void sharedLazyTree() throws Exception {
+        String json = new RandomJson(6).document();
+        Object expected = JsonParser.fromJSON(json);
+        Object lazy = JsonParser.fromJSONLazy(json.getBytes(StandardCharsets.UTF_8));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> loads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                loads.add(executor.submit(() -> load(lazy)));
+            }
+            for (Future<Object> load : loads) {
+                RandomJson.assertSameTree(expected, load.get(), json);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertSameOutcome(String json, boolean useBigDecimal) throws Exception {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Object expected = outcome(() -> JsonParser.fromJSON(json, useBigDecimal));
+
+        var structural = new StructuralParser();
+        structural.setUseBigDecimal(useBigDecimal);
+        Object actual = outcome(() -> structural.parse(bytes));
+        if (expected == FAILED || actual == FAILED) {
+            assertSame(expected, actual, (expected == FAILED ? "Expected failure: " : "Unexpected failure: ") + json);
+        } else {
+            RandomJson.assertSameTree(expected, actual, json);
+        }
+
+        var lazy = new StructuralParser();
+        lazy.setUseBigDecimal(useBigDecimal);
+        lazy.setLazy(true);
+        Object parsed = outcome(() -> lazy.parse(bytes));
+        if (expected == FAILED || parsed == FAILED) {
+            assertSame(expected, parsed, (expected == FAILED ? "Expected failure: " : "Unexpected failure: ") + json);
+        } else {
+            RandomJson.assertSameTree(expected, load(parsed), json);
+        }
+    }
+
+    /**
+     * Load all containers of lazy document.
+     */
+    private static Object load(Object value) {
+        if (value instanceof JsonObject object) {
+            for (int i = 0; i < object.size(); i++) {
+                load(object.getValue(i));
+            }
+        } else if (value instanceof JsonArray array) {
+            for (Object element : array) {
+                load(element);
+            }
+        }
+        return value;
+    }
+
+    private static Object outcome(Callable<Object> parse) {
+        try {
+            return parse.call();
+        } catch (Exception e) {
+            return FAILED;
+        }
+    }
+}
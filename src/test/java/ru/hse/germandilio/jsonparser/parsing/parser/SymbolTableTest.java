@@ -0,0 +1,83 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Keys taken from symbol table are compared with keys created for each parse.
+ */
+class SymbolTableTest {
+    @Test
+    void keysMatchParser() throws Exception {
+        var random = new RandomJson(12);
+        // small table, so keys are replaced on collision
+        var symbols = new SymbolTable(16);
+        int checked = 0;
+        for (int i = 0; i < 3000; i++) {
+            String json = random.document();
+            Object expected;
+            try {
+                expected = JsonParser.fromJSON(json);
+            } catch (Exception e) {
+                continue;
+            }
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            RandomJson.assertSameTree(expected, JsonParser.fromJSON(new StringReader(json), symbols), json);
+            RandomJson.assertSameTree(expected, JsonParser.fromJSON(new ByteArrayInputStream(bytes), symbols), json);
+            ++checked;
+        }
+        assertEquals(3000, checked, "random documents are valid");
+    }
+
+    @Test
+    void repeatedKeysAreShared() throws Exception {
+        var symbols = new SymbolTable();
+        String json = "[{\"name\": 1, \"ключ\": 2}, {\"name\": 3, \"ключ\": 4}]";
+        var array = assertInstanceOf(JsonArray.class, JsonParser.fromJSON(new StringReader(json), symbols));
+        assertSame(array.getJsonObject(0).getKey(0), array.getJsonObject(1).getKey(0));
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        var other = assertInstanceOf(JsonArray.class, JsonParser.fromJSON(new ByteArrayInputStream(bytes), symbols));
+        JsonObject object = other.getJsonObject(1);
+        // both readers find the same symbol, non-ASCII keys are decoded, but not stored
+        assertSame(array.getJsonObject(0).getKey(0), object.getKey(0));
+        assertEquals("ключ", object.getKey(1));
+    }
+
+    @Test
+    void lookupMatchesString() {
+        var random = new Random(13);
+        var symbols = new SymbolTable(4);
+        for (int i = 0; i < 20_000; i++) {
+            String key = key(random);
+            byte[] utf8 = ("  " + key + " ").getBytes(StandardCharsets.UTF_8);
+            int end = utf8.length - 1;
+            char[] chars = ("  " + key + " ").toCharArray();
+            assertEquals(key, symbols.lookup(chars, 2, chars.length - 1));
+            assertEquals(key, symbols.lookup(utf8, 2, end));
+            assertEquals(key, symbols.lookup(ByteBuffer.wrap(utf8), 2, end));
+            assertEquals(key, symbols.lookup(ByteBuffer.allocateDirect(utf8.length).put(utf8), 2, end));
+        }
+    }
+
+    private static String key(Random random) {
+        int length = random.nextInt(10) == 0 ? 60 + random.nextInt(10) : random.nextInt(6);
+        var sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(20) == 0 ? 'ж' : (char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+}
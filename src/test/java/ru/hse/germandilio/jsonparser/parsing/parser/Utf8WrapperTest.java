@@ -0,0 +1,107 @@
+package ru.hse.germandilio.jsonparser.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing of UTF-8 bytes from all sources is compared with parsing of the same text as {@code String}.
+ */
+class Utf8WrapperTest {
+    @Test
+    void bytesMatchString() {
+        var random = new RandomJson(3);
+        int parsed = 0;
+        for (int i = 0; i < 3000; i++) {
+            String document = random.document();
+            String json = i % 3 == 0 ? random.mutate(document) : document;
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            Object expected = parse(() -> JsonParser.fromJSON(json));
+            assertSame(expected, parse(() -> JsonParser.fromJSON(bytes)), json);
+            assertSame(expected, parse(() -> JsonParser.fromJSON(new ByteArrayInputStream(bytes))), json);
+            // stream returns few bytes for each read, so buffer is refilled inside of tokens
+            assertSame(expected, parse(() -> JsonParser.fromJSON(new SlowStream(bytes, random.random()))), json);
+            assertSame(expected, parse(() -> JsonParser.fromJSON(ByteBuffer.wrap(bytes))), json);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            assertSame(expected, parse(() -> JsonParser.fromJSON(direct)), json);
+            if (!(expected instanceof Exception)) {
+                ++parsed;
+            }
+        }
+        assertTrue(parsed > 1000);
+    }
+
+    @Test
+    void stringsAreDecoded() throws Exception {
+        String json = "{\"Привет\": \"é😀 \\\"q\\\" \\\\\", \"a\": [\"\\u00e9\"]}";
+        var object = assertInstanceOf(JsonObject.class, JsonParser.fromJSON(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("é😀 \\\"q\\\" \\\\", object.get("Привет"));
+        JsonArray array = object.getJsonArray("a");
+        assertEquals("\\u00e9", array.get(0));
+    }
+
+    @Test
+    void positionOfBufferIsKept() throws Exception {
+        byte[] bytes = "  [1, 2]".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+        var array = assertInstanceOf(JsonArray.class, JsonParser.fromJSON(buffer));
+        assertEquals(2, array.size());
+        assertEquals(2, buffer.position());
+    }
+
+    private static void assertSame(Object expected, Object actual, String message) {
+        if (expected instanceof Exception || actual instanceof Exception) {
+            assertEquals(expected instanceof Exception, actual instanceof Exception, message);
+        } else {
+            RandomJson.assertSameTree(expected, actual, message);
+        }
+    }
+
+    private static Object parse(Callable<Object> parse) {
+        try {
+            return parse.call();
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static final class SlowStream extends InputStream {
+        private final byte[] bytes;
+        private final Random random;
+        private int position;
+
+        private SlowStream(byte[] bytes, Random random) {
+            this.bytes = bytes;
+            this.random = random;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == bytes.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, 1 + random.nextInt(7)), bytes.length - position);
+            System.arraycopy(bytes, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.hse.germandilio.jsonparser.parsing.token;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.parser.GrammarAnalizer;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+import ru.hse.germandilio.jsonparser.parsing.parser.LexicalAnalyzer;
+import ru.hse.germandilio.jsonparser.parsing.parser.Utf8Wrapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fast conversion of numbers is compared with exact conversion by {@code BigDecimal} and {@code Double.valueOf}.
+ */
+class NumberDecoderTest {
+    @Test
+    void fastDoubleIsExact() {
+        var random = new Random(9);
+        int fast = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long significand = random.nextInt(4) == 0
+                    ? random.nextLong() & ((1L << 53) - 1)
+                    : random.nextInt(1_000_000);
+            int exponent = random.nextInt(80) - 40;
+            boolean negative = random.nextBoolean();
+            double value = NumberDecoder.fastDouble(negative, significand, exponent);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            ++fast;
+            double expected = new BigDecimal(BigInteger.valueOf(significand), -exponent).doubleValue();
+            assertEquals(negative ? -expected : expected, value, significand + "e" + exponent);
+        }
+        // most of generated numbers are in range of fast path
+        assertTrue(fast > 50_000);
+    }
+
+    @Test
+    void decodeMatchesExactConversion() {
+        var random = new RandomJson(10);
+        for (int i = 0; i < 100_000; i++) {
+            assertDecoded(random.number());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "-0", "0.0", "-0.0", "1e0", "2147483646", "-2147483647", "2147483647", "9223372036854775807",
+            "-9223372036854775808", "9223372036854775808", "999999999999999999", "1000000000000000000",
+            "9007199254740993", "9007199254740993.0", "0.30000000000000004", "1e22", "1e23", "1e37", "1e38",
+            "8.98846567431158e307", "2.2250738585072014E-308", "4.9e-324", "1e-400", "1e400", "123456789e-30",
+            "0.000000000000000000000000000001", "100000000000000000000000000000000000000e-20"
+    })
+    void edgeNumbers(String text) {
+        assertDecoded(text);
+    }
+
+    /**
+     * Lexers convert numbers while they are read, result should be the same as of {@code decode}.
+     */
+    @Test
+    void lexersMatchDecoder() throws Exception {
+        var random = new RandomJson(11);
+        for (int i = 0; i < 20_000; i++) {
+            String text = random.number();
+            byte[] bytes = ("[" + text + "]").getBytes(StandardCharsets.UTF_8);
+            for (boolean useBigDecimal : new boolean[]{false, true}) {
+                Number expected = NumberDecoder.decode(text, useBigDecimal);
+                var grammar = new GrammarAnalizer(useBigDecimal);
+                Object[] arrays = {
+                        JsonParser.fromJSON("[" + text + "]", useBigDecimal),
+                        grammar.parse(new LexicalAnalyzer(new Utf8Wrapper(bytes)))
+                };
+                for (Object array : arrays) {
+                    RandomJson.assertSameTree(expected, ((JsonArray) array).get(0), text);
+                }
+            }
+        }
+    }
+
+    private static void assertDecoded(String text) {
+        Number value = NumberDecoder.decode(text, false);
+        boolean integral = text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0;
+        if (integral) {
+            assertEquals(new BigInteger(text), new BigInteger(value.toString()), text);
+            if (value instanceof BigInteger) {
+                assertTrue(((BigInteger) value).bitLength() >= Long.SIZE, text);
+            }
+        } else {
+            assertInstanceOf(Double.class, value, text);
+            assertEquals(Double.valueOf(text), value, text);
+            assertEquals(new BigDecimal(text), NumberDecoder.decode(text, true), text);
+        }
+    }
+}
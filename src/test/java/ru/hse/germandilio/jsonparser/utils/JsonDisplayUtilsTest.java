@@ -0,0 +1,82 @@
+package ru.hse.germandilio.jsonparser.utils;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Pretty and compact layouts, conversions from several threads.
+ */
+class JsonDisplayUtilsTest {
+    @Test
+    void prettyLayout() throws Exception {
+        var object = (JsonObject) JsonParser.fromJSON("{\"a\": [1, \"x\", {}], \"b\": {\"c\": null}}");
+        String expected = "{\n    \"a\": \n    [\n        1,\n        \"x\",\n        {\n        }\n    ],\n"
+                + "    \"b\": \n    {\n        \"c\": null\n    }\n}";
+        assertEquals(expected, JsonParser.toJson(object));
+        assertEquals("{\"a\":[1,\"x\",{}],\"b\":{\"c\":null}}", JsonParser.toJson(object, true));
+    }
+
+    @Test
+    void compactIsParsedBack() throws Exception {
+        var random = new RandomJson(15);
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            Object node = JsonParser.fromJSON(json);
+            String compact = convert(node, true);
+            assertFalse(compact.contains("\n"), compact);
+            if (compact.contains("Infinity")) {
+                // numbers out of range of double are written as Infinity, so they can't be parsed back
+                continue;
+            }
+            RandomJson.assertSameTree(node, JsonParser.fromJSON(compact), json);
+            RandomJson.assertSameTree(node, JsonParser.fromJSON(convert(node, false)), json);
+        }
+    }
+
+    @Test
+    void concurrentConversions() throws Exception {
+        var random = new RandomJson(16);
+        List<Object> nodes = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Object node = JsonParser.fromJSON(random.document());
+            nodes.add(node);
+            expected.add(convert(node, i % 2 == 0));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < nodes.size(); i++) {
+                    Object node = nodes.get(i);
+                    boolean compact = i % 2 == 0;
+                    results.add(executor.submit(() -> convert(node, compact)));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expected.get(i % nodes.size()), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String convert(Object node, boolean compact) {
+        return node instanceof JsonObject object
+                ? JsonParser.toJson(object, compact)
+                : JsonParser.toJson((JsonArray) node, compact);
+    }
+}
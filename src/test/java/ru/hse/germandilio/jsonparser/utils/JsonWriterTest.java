@@ -0,0 +1,80 @@
+package ru.hse.germandilio.jsonparser.utils;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.germandilio.jsonparser.RandomJson;
+import ru.hse.germandilio.jsonparser.exceptions.SerializationException;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonArray;
+import ru.hse.germandilio.jsonparser.parsing.model.JsonObject;
+import ru.hse.germandilio.jsonparser.parsing.parser.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Output of writer is compared with {@code JsonDisplayUtils} for each kind of output.
+ */
+class JsonWriterTest {
+    @Test
+    void outputMatchesDisplayUtils() throws Exception {
+        var random = new RandomJson(14);
+        for (int i = 0; i < 2000; i++) {
+            String json = random.document();
+            Object node = JsonParser.fromJSON(json);
+            String expected = node instanceof JsonObject object
+                    ? JsonDisplayUtils.convertToString(object)
+                    : JsonDisplayUtils.convertToString((JsonArray) node);
+
+            var writer = new StringWriter();
+            try (var output = new JsonWriter(writer)) {
+                output.write(node);
+            }
+            assertEquals(expected, writer.toString(), json);
+
+            var stream = new ByteArrayOutputStream();
+            try (var output = new JsonWriter(stream)) {
+                output.write(node);
+            }
+            assertEquals(expected, stream.toString(StandardCharsets.UTF_8), json);
+
+            var buffer = ByteBuffer.allocate(expected.length() * 4 + 16);
+            buffer.put((byte) ' ');
+            try (var output = new JsonWriter(buffer)) {
+                output.write(node);
+            }
+            assertEquals(" " + expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void tokensAreParsedBack() throws Exception {
+        var writer = new StringWriter();
+        try (var output = new JsonWriter(writer)) {
+            output.beginObject()
+                    .name("name").value("тест")
+                    .name("values").beginArray().value(Long.MIN_VALUE).value(1.5).value(true).nullValue().endArray()
+                    .name("empty").beginObject().endObject()
+                    .endObject();
+        }
+        var object = (JsonObject) JsonParser.fromJSON(writer.toString());
+        assertEquals("тест", object.get("name"));
+        assertEquals(Long.MIN_VALUE, object.getJsonArray("values").get(0));
+        assertEquals(1.5, object.getJsonArray("values").get(1));
+        assertEquals(0, object.getJsonObject("empty").size());
+        assertEquals(writer.toString(), JsonDisplayUtils.convertToString(object));
+    }
+
+    @Test
+    void invalidSequenceFails() throws Exception {
+        try (var output = new JsonWriter(new StringWriter())) {
+            assertThrows(SerializationException.class, () -> output.name("a"));
+            output.beginArray();
+            assertThrows(SerializationException.class, () -> output.name("a"));
+            output.endArray();
+        }
+    }
+}